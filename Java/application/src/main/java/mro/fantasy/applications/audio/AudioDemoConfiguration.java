@@ -3,7 +3,7 @@ package mro.fantasy.applications.audio;
 import mro.fantasy.game.communication.impl.AudioResource;
 import mro.fantasy.game.communication.impl.AudioResourceBundle;
 import mro.fantasy.game.communication.impl.AudioResourceMP3FileResolver;
-import mro.fantasy.game.resources.impl.ClasspathResourceBundleProvider;
+import mro.fantasy.game.resources.impl.IndexedResourceBundleProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
 
@@ -11,8 +11,10 @@ import org.springframework.context.annotation.Bean;
 public class AudioDemoConfiguration {
 
     @Bean
-    public ClasspathResourceBundleProvider<AudioResource, AudioResourceBundle> getAudioResourceProvider() {
-        return new ClasspathResourceBundleProvider<AudioResource, AudioResourceBundle>("mp3",
+    public IndexedResourceBundleProvider<AudioResource, AudioResourceBundle> getAudioResourceProvider() {
+        return new IndexedResourceBundleProvider<AudioResource, AudioResourceBundle>("mp3",
+                (bundle) -> new AudioResourceBundle(bundle,
+                        new AudioResourceMP3FileResolver.ClasspathMP3FileResolver("/mp3/data/" + AudioResourceBundle.normalizeBundleName(bundle.getFilename()))),
                 (res) -> new AudioResourceBundle(res,
                         new AudioResourceMP3FileResolver.ClasspathMP3FileResolver("/mp3/data/" + AudioResourceBundle.normalizeBundleName(res.getFilename()))));
     }
@@ -6,7 +6,7 @@ import mro.fantasy.game.communication.impl.AudioResourceMP3FileResolver;
 import mro.fantasy.game.plan.Plan;
 import mro.fantasy.game.plan.TileTemplate;
 import mro.fantasy.game.resources.ResourceBundle;
-import mro.fantasy.game.resources.impl.ClasspathResourceBundleProvider;
+import mro.fantasy.game.resources.impl.IndexedResourceBundleProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
 
@@ -14,20 +14,22 @@ import org.springframework.context.annotation.Bean;
 public class ControllerDemoConfiguration {
 
     @Bean
-    public ClasspathResourceBundleProvider<AudioResource, AudioResourceBundle> getAudioResourceProvider() {
-        return new ClasspathResourceBundleProvider<AudioResource, AudioResourceBundle>("mp3",
+    public IndexedResourceBundleProvider<AudioResource, AudioResourceBundle> getAudioResourceProvider() {
+        return new IndexedResourceBundleProvider<AudioResource, AudioResourceBundle>("mp3",
+                (bundle) -> new AudioResourceBundle(bundle,
+                        new AudioResourceMP3FileResolver.ClasspathMP3FileResolver("/mp3/data/" + AudioResourceBundle.normalizeBundleName(bundle.getFilename()))),
                 (res) -> new AudioResourceBundle(res,
                         new AudioResourceMP3FileResolver.ClasspathMP3FileResolver("/mp3/data/" + AudioResourceBundle.normalizeBundleName(res.getFilename()))));
     }
 
     @Bean
-    public ClasspathResourceBundleProvider<TileTemplate, ResourceBundle<TileTemplate>> getTileProvider() {
-        return ClasspathResourceBundleProvider.forDefaultResourceBundle("tiles");
+    public IndexedResourceBundleProvider<TileTemplate, ResourceBundle<TileTemplate>> getTileProvider() {
+        return IndexedResourceBundleProvider.forDefaultResourceBundle("tiles");
     }
 
     @Bean
-    public ClasspathResourceBundleProvider<Plan, ResourceBundle<Plan>> getPlanProvider() {
-        return ClasspathResourceBundleProvider.forDefaultResourceBundle("plan");
+    public IndexedResourceBundleProvider<Plan, ResourceBundle<Plan>> getPlanProvider() {
+        return IndexedResourceBundleProvider.forDefaultResourceBundle("plan");
     }
 
 }
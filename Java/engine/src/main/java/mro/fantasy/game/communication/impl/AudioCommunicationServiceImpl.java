@@ -55,8 +55,14 @@ public class AudioCommunicationServiceImpl implements AudioCommunicationService
 
     /**
      * Map with all available audio resources from the {@link #resourceProvider} list. During the initialization this map is filled with data to access audio resources efficient.
+     * The map is never modified but replaced if a bundle is reloaded, i.e. the playback is never blocked by a reload.
      */
-    private Map<ResourceKey, AudioResource> resourceMap;
+    private volatile Map<ResourceKey, AudioResource> resourceMap;
+
+    /**
+     * If the service was registered as listener at the providers.
+     */
+    private boolean observed;
 
     /**
      * Indicator if the {@link #loadResources()} method of this class was executed once. If not an exception is thrown.
@@ -74,17 +80,18 @@ public class AudioCommunicationServiceImpl implements AudioCommunicationService
 
         this.resourceProvider.forEach(p -> p.loadResources());
 
+        if (!observed) {
+            this.resourceProvider.forEach(p -> p.addBundleListener(this::reload));
+            observed = true;
+        }
+
         resourceMap = resourceProvider.stream()                                         // iterate over all resource provider
                 .map(ResourceBundleProvider::getResourceBundles)                        // fetch all available audio resource bundles from that provider
                 .flatMap(Collection::stream)                                            // ...convert to a new stream...
                 .map(ResourceBundle::getAll)                                            // fetch all audio resources from the bundle
                 .flatMap(Collection::stream)                                            // ...convert to a new stream...
                 .collect(Collectors.toMap(                                              // add a new map entry with a ResourceKey type and the audio resource to
-                        res -> new ResourceKey(                                         // the resource map to allow efficient access to single audio resources
-                                res.getBundle().getName(),
-                                res.getKey(),
-                                res.getBundle().getLocale()
-                        ), res -> res));
+                        AudioCommunicationServiceImpl::toKey, res -> res));              // the resource map to allow efficient access to single audio resources
 
         LOG.debug("Created new AudioCommunicationService with ::= [{}] audio resources", resourceMap.size());
 
@@ -96,6 +103,53 @@ public class AudioCommunicationServiceImpl implements AudioCommunicationService
 
     }
 
+    /**
+     * Returns the action that replaces the audio resources of a bundle that was changed by a provider after the resources were loaded. The audio resources of the new bundle were
+     * already loaded when the bundle was created, i.e. there is nothing to check.
+     *
+     * @param oldBundle the bundle that is replaced or {@code null} if the bundle was added
+     * @param newBundle the new bundle or {@code null} if the bundle was removed
+     *
+     * @return the action that replaces the audio resources
+     */
+    private Runnable reload(AudioResourceBundle oldBundle, AudioResourceBundle newBundle) {
+        return () -> replace(oldBundle, newBundle);
+    }
+
+    /**
+     * Replaces the audio resources of a bundle, i.e. a new resource map is created, which replaces the current one.
+     *
+     * @param oldBundle the bundle that is replaced or {@code null} if the bundle was added
+     * @param newBundle the new bundle or {@code null} if the bundle was removed
+     */
+    private synchronized void replace(AudioResourceBundle oldBundle, AudioResourceBundle newBundle) {
+        Map<ResourceKey, AudioResource> updated = resourceMap == null ? new HashMap<>() : new HashMap<>(resourceMap);
+
+        if (oldBundle != null) {
+            oldBundle.getAll().forEach(res -> updated.remove(toKey(res)));
+        }
+
+        if (newBundle != null) {
+            newBundle.getAll().forEach(res -> updated.put(toKey(res), res));
+        }
+
+        this.resourceMap = updated;                                        // never modified again, i.e. readers see the old or the new map
+        this.initialized = !updated.isEmpty();
+
+        LOG.info("Reloaded audio bundle ::= [{}] with ::= [{}] audio resources", newBundle != null ? newBundle.getName() : oldBundle.getName(), updated.size());
+    }
+
+    /**
+     * Creates the key of an audio resource.
+     *
+     * @param res the audio resource
+     *
+     * @return the key
+     */
+    private static ResourceKey toKey(AudioResource res) {
+        return new ResourceKey(res.getBundle().getName(), res.getKey(), res.getBundle().getLocale());
+    }
+
     /**
      * Method to check if the resources were loaded by calling the {@link #loadResources()} method
      *
@@ -139,21 +193,23 @@ public class AudioCommunicationServiceImpl implements AudioCommunicationService
         ValidationUtils.requireNonNull(key, "The key bundeName cannot be null");
         ValidationUtils.requireNonNull(locale, "The locale bundeName cannot be null");
 
+        Map<ResourceKey, AudioResource> resources = resourceMap;           // use the same map for all lookups even if a bundle is reloaded meanwhile
+
         ResourceKey resourceKey = new ResourceKey(bundleName, key, locale);
-        ValidationUtils.requireTrue(resourceMap.containsKey(resourceKey),          // validate the existence of the basic resource
+        ValidationUtils.requireTrue(resources.containsKey(resourceKey),          // validate the existence of the basic resource
                 "Cannot find an audio resource that matches bundle name ::= [" + bundleName + "], key ::= [" + key + "], locale ::= [" + locale.getLanguage() + "]");
 
         Arrays.stream(variables).forEach(variable ->                                          // validate every variable if present
                                                  ValidationUtils.requireTrue(
-                                                         resourceMap.containsKey(new ResourceKey(variable.getAudioBundle(), variable.getAudioKey(), locale)),
+                                                         resources.containsKey(new ResourceKey(variable.getAudioBundle(), variable.getAudioKey(), locale)),
                                                          "Cannot find an audio resource that matches bundle name ::= [" + variable.getAudioBundle() + "], key ::= [" + variable.getAudioKey() + "], " +
                                                                  "locale ::= [" + locale.getLanguage() + "]"));
 
         playAudio(
-                resourceMap.get(resourceKey),
+                resources.get(resourceKey),
                 sync,
                 Arrays.stream(variables).map(
-                        variable -> resourceMap.get(new ResourceKey(variable.getAudioBundle(), variable.getAudioKey(), locale))).toArray(AudioResource[]::new));
+                        variable -> resources.get(new ResourceKey(variable.getAudioBundle(), variable.getAudioKey(), locale))).toArray(AudioResource[]::new));
 
     }
 
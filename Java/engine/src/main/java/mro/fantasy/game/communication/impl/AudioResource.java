@@ -51,9 +51,14 @@ public class AudioResource implements GameResource {
     private final String ssml;
 
     /**
-     * The hashed text.
+     * The hashed text, calculated with the first call of {@link #getHash()} since it is only needed to detect modified resources.
      */
-    private final String hash;
+    private String hash;
+
+    /**
+     * The SSML as passed to the constructor if the &lt;speak&gt; tags were added during the normalization, {@code null} otherwise. The hash is calculated from the passed SSML.
+     */
+    private final String unwrappedSSML;
 
     /**
      * The hash from the resource bundle.
@@ -74,7 +79,7 @@ public class AudioResource implements GameResource {
         this.bundle = null;
         this.key = null;
         this.ssml = null;
-        this.hash = null;
+        this.unwrappedSSML = null;
         this.bundleHash = null;
         this.mp3StreamFunction = null;
     }
@@ -107,16 +112,20 @@ public class AudioResource implements GameResource {
 
         String tmpSSML = ssml.stripTrailing().stripLeading().replaceAll(" +", " ");           // normalize the SSML here. This is needed for the operations in the split method.
 
+        boolean wrapped = false;
+
         if (!tmpSSML.startsWith(SPEAK_OPEN)) {                           // to be valid from AWS perspective every SSML text needs to start with the <speak> tag
             tmpSSML = SPEAK_OPEN + tmpSSML;
+            wrapped = true;
         }
 
         if (!tmpSSML.endsWith(SPEAK_CLOSE)) {                            // and is closed.
             tmpSSML += SPEAK_CLOSE;
+            wrapped = true;
         }
 
         this.ssml = tmpSSML;
-        this.hash = Hash.hash(ssml, "[\\s\\t(\\r?\\n)]+");
+        this.unwrappedSSML = wrapped ? ssml : null;                      // otherwise only whitespaces were changed, which are ignored by the hash
     }
 
     @Override
@@ -216,7 +225,20 @@ public class AudioResource implements GameResource {
      * @return {@code false} if the text of this resource is the same, {@code false} otherwise
      */
     public boolean isModified() {
-        return !hash.equals(bundleHash);
+        return !getHash().equals(bundleHash);
+    }
+
+    /**
+     * Returns the hash of the SSML without whitespaces. The hash is calculated with the first call, since hashing every resource during the startup is expensive and the hash is
+     * only needed to detect modified resources and to write the bundle.
+     *
+     * @return the hash
+     */
+    private String getHash() {
+        if (hash == null) {                                              // concurrent calls calculate the same value
+            hash = Hash.hash(unwrappedSSML != null ? unwrappedSSML : ssml, "[\\s\\t(\\r?\\n)]+");
+        }
+        return hash;
     }
 
     // endregion
@@ -319,7 +341,7 @@ public class AudioResource implements GameResource {
     public Map<String, Object> toYAMLMap() {
         var resource = new LinkedHashMap<String, Object>(); // use a linked hashmap here to preserve the order of the attributes as defined in the example
         resource.put("key", this.key);
-        resource.put("hash", this.hash);
+        resource.put("hash", getHash());
         resource.put("ssml", this.ssml);
 
         return resource;
@@ -331,7 +353,7 @@ public class AudioResource implements GameResource {
                        "bundle=" + bundle +
                        ", key='" + key + '\'' +
                        ", ssml='" + (ssml != null ? ssml.replace("\n", "") + '\'' : null) +
-                       ", hash='" + hash + '\'' +
+                       ", hash='" + (ssml != null ? getHash() : null) + '\'' +
                        ", bundleHash='" + bundleHash + '\'' +
                        '}';
     }
@@ -2,7 +2,8 @@ package mro.fantasy.game.communication.impl;
 
 import mro.fantasy.game.communication.AudioCommunicationService;
 import mro.fantasy.game.resources.ResourceBundle;
-import mro.fantasy.game.utils.ValidationUtils;
+import mro.fantasy.game.resources.impl.ResourceIndex;
+import mro.fantasy.game.utils.YAMLStreamReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
@@ -153,15 +154,10 @@ public class AudioResourceBundle implements ResourceBundle<AudioResource> {
     public AudioResourceBundle(Resource res, AudioResourceMP3FileResolver resolver) {
         Objects.requireNonNull(res, "The resource dataInputStream cannot be null.");
 
-        if (resolver == null) {
-            LOG.warn("MP3 stream function is null, set default implementation which will throw an exception. This should only be used in conjunction with a SpeechSynthesizer");
-            this.mp3StreamFunction = EMPTY_RESOLVER;
-        } else {
-            this.mp3StreamFunction = resolver;
-        }
+        this.mp3StreamFunction = resolverOrDefault(resolver);
 
-        try {
-            loadData(res.getInputStream(), null);
+        try (InputStream dataInputStream = res.getInputStream()) {
+            loadData(c -> YAMLStreamReader.read(dataInputStream, STR_RESOURCES, c), null);
         } catch (IOException e) {
             LOG.warn("Cannot load resource bundle from resource ::= [{}]: ", resources, e);
         }
@@ -183,15 +179,45 @@ public class AudioResourceBundle implements ResourceBundle<AudioResource> {
 
         Objects.requireNonNull(dataInputStream, "The resource dataInputStream cannot be null.");
 
-        if (resolver == null) {
-            LOG.warn("MP3 stream function is null, set default implementation which will throw an exception. This should only be used in conjunction with a SpeechSynthesizer");
-            this.mp3StreamFunction = EMPTY_RESOLVER;
-        } else {
-            this.mp3StreamFunction = resolver;
+        this.mp3StreamFunction = resolverOrDefault(resolver);
+
+        try (dataInputStream) {
+            loadData(c -> YAMLStreamReader.read(dataInputStream, STR_RESOURCES, c), null);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot parse the passed input stream:", e);
         }
 
-        loadData(dataInputStream, null);
+    }
+
+    /**
+     * Creates a new resource bundle from the passed bundle of the {@link ResourceIndex}, i.e. the data of the bundle was already parsed and validated when the index was created.
+     *
+     * @param bundle   the bundle of the index
+     * @param resolver the resolver function to load the MP3 input stream that belongs to the resource
+     *
+     * @throws IllegalArgumentException in case the bundle is invalid.
+     */
+    public AudioResourceBundle(ResourceIndex.Bundle bundle, AudioResourceMP3FileResolver resolver) {
+        Objects.requireNonNull(bundle, "The bundle cannot be null.");
 
+        this.mp3StreamFunction = resolverOrDefault(resolver);
+
+        loadData(bundle::read, null);
+    }
+
+    /**
+     * Returns the passed resolver or a default implementation that logs a warning if no resolver was passed.
+     *
+     * @param resolver the resolver, may be {@code null}
+     *
+     * @return the resolver
+     */
+    private static AudioResourceMP3FileResolver resolverOrDefault(AudioResourceMP3FileResolver resolver) {
+        if (resolver == null) {
+            LOG.warn("MP3 stream function is null, set default implementation which will throw an exception. This should only be used in conjunction with a SpeechSynthesizer");
+            return EMPTY_RESOLVER;
+        }
+        return resolver;
     }
 
     @Override
@@ -200,31 +226,25 @@ public class AudioResourceBundle implements ResourceBundle<AudioResource> {
     }
 
     /**
-     * Loads the audio resource information from the YAML stream.
+     * Loads the audio resource information from the YAML stream or the resource index.
      *
-     * @param dataInputStream    the stream with the YAML data to construct the {@link AudioResource}s
+     * @param source             function that passes the YAML map of every resource to the consumer and returns the remaining YAML map of the bundle, see {@link
+     *                           YAMLStreamReader#read(InputStream, String, Consumer)}
      * @param bundleNameCallback callback triggered when the bundle name was resolved. Necessary workaround to generate the default {@link
      *                           AudioResourceMP3FileResolver.ClasspathMP3FileResolver} which depends on the bundle name to resolve MP3 files.
      */
-    private void loadData(InputStream dataInputStream, Consumer<String> bundleNameCallback) {
+    private void loadData(Function<Consumer<Map<String, Object>>, Map<String, Object>> source, Consumer<String> bundleNameCallback) {
         try {
-            Yaml yaml = new Yaml(); // not thread-safe !
-            Map<String, Object> yamlData = yaml.load(dataInputStream);
-
-            ValidationUtils.requireNonNull(yamlData.get(STR_RESOURCES), "There are no resources available");
+            List<AudioResource> orderedResourceList = new ArrayList<>();
 
+            Map<String, Object> yamlData = source.apply(
+                    r -> orderedResourceList.add(AudioResource.fromYAMLMap(this, r, mp3StreamFunction)));   // every entry is converted as soon as it was parsed
 
             this.bundleName = Optional.ofNullable(yamlData.get("bundleName")).orElseThrow(() -> new IllegalArgumentException("The bundleName field is missing.")).toString();
             this.locale = new Locale(Optional.ofNullable(yamlData.get("locale")).orElseThrow(() -> new IllegalArgumentException("The locale field is invalid.")).toString());
 
             Optional.ofNullable(bundleNameCallback).ifPresent(c -> c.accept(bundleName)); // if a callback was passed, trigger it here
 
-            var orderedResourceList =
-                    ((List<Map<String, Object>>) yamlData.get(STR_RESOURCES))                          // load the data from the yaml file
-                            .stream()                                                                // process them as stream and
-                            .map(r -> AudioResource.fromYAMLMap(this, r, mp3StreamFunction))   // and create a HashMap with the resource key as key and the resource as value
-                            .toList();
-
             this.orderedResourceKeys = orderedResourceList
                     .stream()
                     .map(AudioResource::getKey)                     // simply take the key to add it to the list
@@ -236,9 +256,6 @@ public class AudioResourceBundle implements ResourceBundle<AudioResource> {
 
             LOG.info("Loaded communication resource bundle ::= [{}] with locale ::= [{}] and ::= [{}] entries", bundleName, locale, resources.size());
 
-            dataInputStream.close();
-
-
             this.resources.values().forEach(r -> LOG.info("    - {} [{}]", String.format("%-30s", r.getGameId()), mp3StreamFunction.getStreamInfo(r)));
 
         } catch (IllegalArgumentException e) {
@@ -3,11 +3,11 @@ package mro.fantasy.game.devices.events;
 import com.google.common.io.BaseEncoding;
 import mro.fantasy.game.devices.impl.AbstractMessage;
 import mro.fantasy.game.devices.impl.DeviceType;
-import mro.fantasy.game.utils.Condition;
 import mro.fantasy.game.utils.ValidationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
@@ -65,15 +65,11 @@ public class DeviceMessage extends AbstractMessage {
 
         // the next part can only retrieve the data, additional validation must be done by the event handler.
 
-        Condition.of(datagram.length > 8).ifTrue(() -> this.data = Arrays.copyOfRange(datagram, 8, datagram.length));  // data
-
-        this.deviceId = BaseEncoding.base16().encode(Arrays.copyOfRange(datagram, 0, 6));
-
+        this.deviceId = BaseEncoding.base16().encode(datagram, 0, 6);                                                       // deviceId
         this.deviceType = DeviceType.fromInteger(datagram[6]);                                                              // deviceType
         this.eventId = Byte.toUnsignedInt(datagram[7]);                                                                     // eventId
         this.raw = datagram;
-        this.data = new byte[raw.length - 8];
-        System.arraycopy(raw, 8, this.data, 0, raw.length - 8);                                         // data
+        this.data = Arrays.copyOfRange(raw, 8, raw.length);                                                                 // data
 
         LOG.trace("[{}] - created device data package of size ::= [{}]", deviceId, raw.length);
 
@@ -90,6 +86,26 @@ public class DeviceMessage extends AbstractMessage {
         return new DeviceMessage(datagram);
     }
 
+    /**
+     * Creates a new message from the bytes between the position and the limit of the passed buffer, e.g. a pooled direct buffer of a
+     * {@link java.nio.channels.DatagramChannel}. The bytes are copied once into an array with the capacity of the buffer, i.e. like the array of a
+     * {@link java.net.DatagramPacket} the data is padded with zeros up to the size of the receive buffer and the buffer can be reused after the method returns.
+     *
+     * @param buffer the buffer with the raw data
+     *
+     * @return the new message
+     *
+     * @throws IllegalArgumentException if the data cannot be parsed
+     */
+    public static DeviceMessage parse(ByteBuffer buffer) {
+        ValidationUtils.requireNonNull(buffer, "The buffer cannot be null");
+
+        byte[] datagram = new byte[buffer.capacity()];                      // the event handlers read fixed offsets of the padded data
+        buffer.get(datagram, 0, buffer.remaining());
+
+        return new DeviceMessage(datagram);
+    }
+
     // /**
     //  * Creates a data package from the given arguments.
     //  *
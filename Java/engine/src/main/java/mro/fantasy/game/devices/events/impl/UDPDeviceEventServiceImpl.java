@@ -11,14 +11,25 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * Implementation of the event service which listens on a UDP port to receive events from the devices of the game. The service has access to all device event handlers, converts all
  * incoming datagram packages to {@link DeviceMessage}s and offer them to the {@link DeviceEventHandler#handle(DeviceMessage)} method.
+ * <p>
+ * In the NIO mode the packages are received with a {@link DatagramChannel} into a pool of direct buffers, which are reused for the following packages, instead of allocating a new
+ * buffer and packet for every package.
  *
  * @author Michael Rodenbuecher
  * @since 2022-08-13
@@ -36,6 +47,17 @@ public class UDPDeviceEventServiceImpl extends ServiceThread implements DeviceEv
      */
     private DatagramSocket socket;
 
+    /**
+     * Channel to receive data from the devices in the NIO mode, {@code null} if the {@link #socket} is used.
+     */
+    private DatagramChannel channel;
+
+    /**
+     * Direct buffers to receive data with the {@link #channel}. A buffer is taken from the pool for every datagram and returned after the message was parsed, if the pool is
+     * empty because all buffers are in use a new buffer is created.
+     */
+    private BlockingQueue<ByteBuffer> bufferPool;
+
     /**
      * Event handler which are interested in incoming events from devices.
      */
@@ -64,7 +86,14 @@ public class UDPDeviceEventServiceImpl extends ServiceThread implements DeviceEv
             LOG.info("");
 
             LOG.debug("Try to open UDP event listener on  ::= [{}:{}]", networkConfiguration.getAdapterIPAddress(), networkConfiguration.getEventUDPPort());
-            socket = new DatagramSocket(networkConfiguration.getEventUDPPort(), networkConfiguration.getAdapterINetAddress());
+            if (networkConfiguration.isEventUDPNIO()) {
+                openChannel();
+            } else {
+                socket = new DatagramSocket(networkConfiguration.getEventUDPPort(), networkConfiguration.getAdapterINetAddress());
+                if (networkConfiguration.getEventUDPReceiveBufferBytes() > 0) {
+                    socket.setReceiveBufferSize(networkConfiguration.getEventUDPReceiveBufferBytes());
+                }
+            }
             super.setName("DEVICES");
             super.setLogger(LOG);
             super.start();
@@ -82,11 +111,44 @@ public class UDPDeviceEventServiceImpl extends ServiceThread implements DeviceEv
         this.eventHandler.add(eventHandler);
     }
 
+    /**
+     * Opens the channel of the NIO mode and creates the pool of direct buffers.
+     *
+     * @throws IOException if the channel cannot be opened
+     */
+    private void openChannel() throws IOException {
+        channel = DatagramChannel.open();
+        if (networkConfiguration.getEventUDPReceiveBufferBytes() > 0) {
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, networkConfiguration.getEventUDPReceiveBufferBytes());
+        }
+        channel.bind(new InetSocketAddress(networkConfiguration.getAdapterINetAddress(), networkConfiguration.getEventUDPPort()));
+
+        bufferPool = new ArrayBlockingQueue<>(networkConfiguration.getEventUDPBufferPoolSize());
+        for (int i = 0; i < networkConfiguration.getEventUDPBufferPoolSize(); i++) {
+            bufferPool.add(ByteBuffer.allocateDirect(networkConfiguration.getEventUDPBufferBytes()));
+        }
+
+        LOG.debug("Opened UDP channel with ::= [{}] direct buffers of ::= [{}] bytes", bufferPool.size(), networkConfiguration.getEventUDPBufferBytes());
+    }
+
     /**
      * Opens a UDP socket connection and listen for incoming datagram packets from devices which are connected to the game server.
      */
     @Override
     public void work() throws Exception {
+        if (channel != null) {
+            receiveFromChannel();
+        } else {
+            receiveFromSocket();
+        }
+    }
+
+    /**
+     * Receives a single datagram packet from the {@link #socket}.
+     *
+     * @throws IOException if the packet cannot be received
+     */
+    private void receiveFromSocket() throws IOException {
 
         byte[] buf = new byte[networkConfiguration.getEventUDPBufferBytes()];
         DatagramPacket packet = new DatagramPacket(buf, buf.length);
@@ -98,10 +160,7 @@ public class UDPDeviceEventServiceImpl extends ServiceThread implements DeviceEv
 
         executor.execute(() -> {
             try {
-                DeviceMessage dataPackage = DeviceMessage.parse(packet.getData());
-                LOG.debug("[{}] - Received device event ::= [{}]", dataPackage.getDeviceId(), dataPackage.toDetailedString());
-
-                eventHandler.forEach(handler -> handler.handle(dataPackage));    // offer the event to all registered event handler.
+                handle(DeviceMessage.parse(packet.getData()));
             } catch (Exception e) {
                 LOG.debug("Error during processing of UDP event: ", e);
             }
@@ -109,4 +168,71 @@ public class UDPDeviceEventServiceImpl extends ServiceThread implements DeviceEv
 
     }
 
+    /**
+     * Receives a single datagram packet from the {@link #channel} into a pooled direct buffer. The buffer is returned to the pool as soon as the message was parsed, i.e. before
+     * the event handlers are called.
+     *
+     * @throws IOException if the packet cannot be received
+     */
+    private void receiveFromChannel() throws IOException {
+
+        ByteBuffer pooled = bufferPool.poll();
+        ByteBuffer buffer = pooled != null ? pooled : ByteBuffer.allocateDirect(networkConfiguration.getEventUDPBufferBytes());   // all buffers are in use by slow handlers
+
+        boolean submitted = false;
+        try {
+            buffer.clear();
+            SocketAddress sender = channel.receive(buffer);
+            buffer.flip();
+
+            LOG.trace("Received UDP packet of length ::= [{}] from ::= [{}]", buffer.remaining(), sender);
+
+            // pass the incoming data to a new thread to process it there and free up the channel for the next event.
+
+            executor.execute(() -> process(buffer));
+            submitted = true;
+        } finally {
+            if (!submitted) {
+                bufferPool.offer(buffer);                                   // a failed receive or a rejected task never returns the buffer
+            }
+        }
+
+    }
+
+    /**
+     * Parses a message from a pooled buffer and offers it to the event handler. The buffer is returned to the pool as soon as the message was parsed.
+     *
+     * @param buffer the buffer with the received packet
+     */
+    private void process(ByteBuffer buffer) {
+        DeviceMessage dataPackage;
+        try {
+            dataPackage = DeviceMessage.parse(buffer);
+        } catch (Exception e) {
+            LOG.debug("Error during processing of UDP event: ", e);
+            return;
+        } finally {
+            bufferPool.offer(buffer);                                       // a buffer that was created additionally is dropped if the pool is full
+        }
+
+        try {
+            handle(dataPackage);
+        } catch (Exception e) {
+            LOG.debug("Error during processing of UDP event: ", e);
+        }
+    }
+
+    /**
+     * Offers the message to all registered event handler.
+     *
+     * @param dataPackage the message
+     */
+    private void handle(DeviceMessage dataPackage) {
+        if (LOG.isDebugEnabled()) {                                         // the detailed string is only created if it is logged
+            LOG.debug("[{}] - Received device event ::= [{}]", dataPackage.getDeviceId(), dataPackage.toDetailedString());
+        }
+
+        eventHandler.forEach(handler -> handler.handle(dataPackage));    // offer the event to all registered event handler.
+    }
+
 }
@@ -9,12 +9,18 @@ import mro.fantasy.game.plan.impl.PlanImpl;
 import mro.fantasy.game.plan.impl.TileTemplateImpl;
 import mro.fantasy.game.resources.GameResource;
 import mro.fantasy.game.resources.ResourceLibrary;
+import mro.fantasy.game.utils.ParallelUtils;
+import mro.fantasy.game.utils.ValidationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -46,6 +52,22 @@ public class GameLibrary {
         READY
     }
 
+    /**
+     * A step of the initialization of the library.
+     *
+     * @param name the name of the step for the log
+     * @param task the task that initializes a library
+     */
+    private record Phase(String name, Runnable task) {}
+
+    /**
+     * Immutable index of the game resources of all libraries.
+     *
+     * @param resources the resources by their ID, without the resources of libraries that {@link ResourceLibrary#createsResourcesOnDemand() create them on demand}
+     * @param owners    the library of every resource by the ID of the resource
+     */
+    private record Index(Map<String, GameResource> resources, Map<String, ResourceLibrary<?>> owners) {}
+
     /**
      * Indicator if the {@link #loadResources()} method of this class was executed once. If not an exception is thrown.
      */
@@ -80,6 +102,26 @@ public class GameLibrary {
     @Autowired
     private Collection<ResourceLibrary> libraries;
 
+    /**
+     * If the libraries which do not depend on each other are initialized concurrently.
+     */
+    @Value("${game.resources.parallel.enabled:true}")
+    private boolean parallel = true;
+
+    /**
+     * If the game library was registered as reload listener at the libraries.
+     */
+    private boolean observed;
+
+    /**
+     * Immutable index with every resource by the {@link GameResource#getGameId()} of the resource. Resources of a library that creates them on demand like the lazy
+     * {@link PlanLibrary} are not part of the index but requested from their library. The index is replaced after the tiles were loaded, after all libraries were loaded and after
+     * a bundle was reloaded, i.e. it is never modified but only exchanged.
+     *
+     * @see #buildIndex()
+     */
+    private volatile Index index;
+
     /**
      * Returns the library with the {@link TileTemplate}s to create a {@link Plan}.
      *
@@ -102,7 +144,8 @@ public class GameLibrary {
 
     /**
      * Calls the {@link ResourceLibrary#loadResources(Function)} method for every library to load all needed data. Some of the libraries depend on each other so that this method is
-     * responsible for the order.
+     * responsible for the order: the plans resolve their tiles with {@link #getById(String)}, i.e. the tile library is always loaded first. Afterwards the plan and the audio
+     * library are loaded concurrently if the parallel loading is enabled.
      */
     public void loadResources() {
         state = State.INITIALIZING;
@@ -113,26 +156,123 @@ public class GameLibrary {
         LOG.info("---------------------------------------------------------------------------------");
         LOG.info("");
 
-        LOG.info("..... Tile Library ......");
-        tileLibrary.loadResources(data -> new TileTemplateImpl(this, data));
-        LOG.info("");
+        long start = System.currentTimeMillis();
 
-        LOG.info("..... Plan Library ......");
-        planLibrary.loadResources(data -> new PlanImpl(this, data));
-        LOG.info("");
+        long tiles = run(new Phase("Tile Library", () -> tileLibrary.loadResources(data -> new TileTemplateImpl(this, data))));
+        buildIndex();                                                       // the plans resolve their templates with a single lookup in the index
 
-        LOG.info("..... Audio Library .....");
-        audioCommunicationService.loadResources();
-        LOG.info("");
+        List<Phase> independent = List.of(
+                new Phase("Plan Library", () -> planLibrary.loadResources(data -> new PlanImpl(this, data))),
+                new Phase("Audio Library", audioCommunicationService::loadResources));
+
+        List<Long> durations = ParallelUtils.map("library", independent, this::run, parallel ? independent.size() : 1);
+        buildIndex();
+
+        if (!observed) {                                                    // keep the index up to date if a bundle is reloaded during the content development
+            libraries.forEach(lib -> lib.addReloadListener(() -> reindex(lib)));
+            observed = true;
+        }
 
-        LOG.info("Game Library was successfully initialized...");
+        LOG.info("Game Library was successfully initialized in ::= [{}] ms (tiles ::= [{}] ms, plans ::= [{}] ms, audio ::= [{}] ms)...", System.currentTimeMillis() - start,
+                tiles, durations.get(0), durations.get(1));
         state = State.READY;
 
     }
 
     /**
-     * Returns the game resource with the passed ID. This method checks all available {@link ResourceLibrary}s for the given resource and tries to cast the result to the requested
-     * type.
+     * Executes a step of the initialization.
+     *
+     * @param phase the step
+     *
+     * @return the duration in milliseconds
+     */
+    private long run(Phase phase) {
+        LOG.info("..... {} ......", phase.name());
+
+        long start = System.currentTimeMillis();
+        phase.task().run();
+        long duration = System.currentTimeMillis() - start;
+
+        LOG.info("..... {} loaded in ::= [{}] ms", phase.name(), duration);
+        LOG.info("");
+
+        return duration;
+    }
+
+    /**
+     * Creates the index with the resources of all libraries which are loaded at the moment.
+     *
+     * @throws IllegalStateException if two libraries contain a resource with the same ID
+     */
+    private void buildIndex() {
+        Map<String, GameResource> resources = new HashMap<>();
+        Map<String, ResourceLibrary<?>> owners = new HashMap<>();
+
+        for (ResourceLibrary<?> lib : libraries) {
+            for (String id : lib.getIds()) {                                // the IDs do not create the resources of a lazy library
+                ResourceLibrary<?> owner = owners.putIfAbsent(id, lib);
+                if (owner != null) {
+                    throw new IllegalStateException("A game resource with ID ::= [" + id + "] exists in ::= [" + owner.getName() + "] and ::= [" + lib.getName() + "]");
+                }
+            }
+            addResources(lib, resources, owners);
+        }
+
+        this.index = new Index(Map.copyOf(resources), Map.copyOf(owners));
+
+        LOG.debug("Created game resource index with ::= [{}] resources", owners.size());
+    }
+
+    /**
+     * Adds the resources of the passed library to the index unless the library creates them on demand. Only the resources the library is the owner of are added.
+     *
+     * @param lib       the library
+     * @param resources the resources of the index
+     * @param owners    the libraries of the index, which already contain the IDs of the passed library
+     */
+    private static void addResources(ResourceLibrary<?> lib, Map<String, GameResource> resources, Map<String, ResourceLibrary<?>> owners) {
+        if (lib.createsResourcesOnDemand()) {
+            return;
+        }
+
+        for (GameResource resource : lib.getAll()) {
+            if (owners.get(resource.getGameId()) == lib) {
+                resources.put(resource.getGameId(), resource);
+            }
+        }
+    }
+
+    /**
+     * Updates the index after a bundle of the passed library was reloaded. Only the IDs of the library are replaced, the IDs of the other libraries are taken from the current
+     * index.
+     *
+     * @param lib the library with the reloaded bundle
+     */
+    private synchronized void reindex(ResourceLibrary<?> lib) {
+        Index current = index;
+
+        Map<String, ResourceLibrary<?>> owners = new HashMap<>(current.owners());
+        owners.values().removeIf(owner -> owner == lib);
+
+        Map<String, GameResource> resources = new HashMap<>(current.resources());
+        resources.keySet().retainAll(owners.keySet());
+
+        for (String id : lib.getIds()) {
+            ResourceLibrary<?> owner = owners.putIfAbsent(id, lib);
+            if (owner != null) {
+                LOG.warn("The reloaded game resource with ID ::= [{}] of ::= [{}] is ignored since it exists in ::= [{}]", id, lib.getName(), owner.getName());
+            }
+        }
+        addResources(lib, resources, owners);
+
+        this.index = new Index(Map.copyOf(resources), Map.copyOf(owners));
+
+        LOG.info("Updated game resource index with ::= [{}] resources after ::= [{}] was reloaded", owners.size(), lib.getName());
+    }
+
+    /**
+     * Returns the game resource with the passed ID. The resource is resolved with a single lookup in the index, only the resources of a library that creates them on demand are
+     * requested from the library. While the libraries are loaded, resources that are not part of the index yet are searched in the libraries.
      *
      * @param id  the id
      * @param <T> the type of the requested game resource
@@ -146,13 +286,71 @@ public class GameLibrary {
 
         checkInitialization();
 
-        for (ResourceLibrary lib : libraries) {
-            Object o = lib.getById(id);
-            if (o != null) {
-                return (T) o;
+        Index current = index;
+        GameResource resource = current != null ? current.resources().get(id) : null;
+
+        if (resource == null && current != null) {
+            ResourceLibrary<?> owner = current.owners().get(id);   // a lazy library creates the resource on demand
+            resource = owner != null ? owner.getById(id) : null;
+        }
+
+        if (resource == null && state != State.READY) {
+            for (ResourceLibrary lib : libraries) {
+                Object o = lib.getById(id);
+                if (o != null) {
+                    return (T) o;
+                }
             }
         }
-        throw new IllegalArgumentException("A game resource with ID ::= [" + id + "] does not exist");
+
+        if (resource == null) {
+            throw new IllegalArgumentException("A game resource with ID ::= [" + id + "] does not exist");
+        }
+
+        return (T) resource;
+    }
+
+    /**
+     * Returns the tile template with the passed ID.
+     *
+     * @param id the id
+     *
+     * @return the tile template
+     *
+     * @throws IllegalArgumentException if the id does not exist or the resource is no tile template
+     */
+    public TileTemplate getTileTemplate(String id) {
+        return getById(id, TileTemplate.class);
+    }
+
+    /**
+     * Returns the plan with the passed ID.
+     *
+     * @param id the id
+     *
+     * @return the plan
+     *
+     * @throws IllegalArgumentException if the id does not exist or the resource is no plan
+     */
+    public Plan getPlan(String id) {
+        return getById(id, Plan.class);
+    }
+
+    /**
+     * Returns the game resource with the passed ID and checks its type.
+     *
+     * @param id   the id
+     * @param type the expected type
+     * @param <T>  the expected type
+     *
+     * @return the resource
+     *
+     * @throws IllegalArgumentException if the id does not exist or the resource has a different type
+     */
+    private <T extends GameResource> T getById(String id, Class<T> type) {
+        GameResource resource = getById(id);
+        ValidationUtils.requireTrue(type.isInstance(resource), "The game resource with ID ::= [" + id + "] is no ::= [" + type.getSimpleName() + "]");
+        return type.cast(resource);
     }
 
     /**
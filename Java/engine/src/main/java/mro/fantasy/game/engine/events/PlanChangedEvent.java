@@ -0,0 +1,53 @@
+package mro.fantasy.game.engine.events;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.PlanDeltaService;
+import mro.fantasy.game.plan.Tile;
+
+import java.util.List;
+
+/**
+ * Event that is fired by a {@link Plan} after a tile was assigned to or removed from it. Moving a tile is a removal followed by an assignment, i.e. it results in two events.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public interface PlanChangedEvent extends GameEvent {
+
+    /**
+     * Returns the plan that was changed.
+     *
+     * @return the plan
+     */
+    Plan getPlan();
+
+    /**
+     * Returns the type of the change, either {@link PlanDeltaService.ChangeType#TILE_ADDED} or {@link PlanDeltaService.ChangeType#TILE_REMOVED}.
+     *
+     * @return the type
+     */
+    PlanDeltaService.ChangeType getChangeType();
+
+    /**
+     * Returns the tile that was added or removed.
+     *
+     * @return the tile
+     */
+    Tile getTile();
+
+    /**
+     * Returns the positions of the plan that were affected by the change, i.e. the positions covered by the tile.
+     *
+     * @return the positions
+     */
+    List<Position> getPositions();
+
+    /**
+     * Returns the {@link Plan#getVersion()} of the plan after the change.
+     *
+     * @return the version
+     */
+    long getVersion();
+
+}
@@ -0,0 +1,45 @@
+package mro.fantasy.game.engine.events;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.plan.FieldMask;
+
+import java.util.List;
+
+/**
+ * Event that is fired when the visible fields of a viewer on the plan changed, either because the viewer moved or because the plan was changed in the sight area of the viewer.
+ * The event only contains the delta to the last state that was published for the viewer.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public interface VisibilityChangedEvent extends GameEvent {
+
+    /**
+     * Returns the id of the viewer.
+     *
+     * @return the id
+     */
+    String getViewerId();
+
+    /**
+     * Returns all fields which are visible for the viewer after the change.
+     *
+     * @return the read only mask
+     */
+    FieldMask getVisible();
+
+    /**
+     * Returns the fields which were hidden before the change and are visible now.
+     *
+     * @return the positions
+     */
+    List<Position> getBecameVisible();
+
+    /**
+     * Returns the fields which were visible before the change and are hidden now.
+     *
+     * @return the positions
+     */
+    List<Position> getBecameHidden();
+
+}
@@ -0,0 +1,43 @@
+package mro.fantasy.game.engine.events.impl;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.engine.events.PlanChangedEvent;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.PlanDeltaService;
+import mro.fantasy.game.plan.Tile;
+
+import java.util.List;
+
+/**
+ * Implementation of a plan changed event.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public record PlanChangedEventImpl(Plan plan, PlanDeltaService.ChangeType changeType, Tile tile, List<Position> positions, long version) implements PlanChangedEvent {
+
+    @Override
+    public Plan getPlan() {
+        return plan;
+    }
+
+    @Override
+    public PlanDeltaService.ChangeType getChangeType() {
+        return changeType;
+    }
+
+    @Override
+    public Tile getTile() {
+        return tile;
+    }
+
+    @Override
+    public List<Position> getPositions() {
+        return positions;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+}
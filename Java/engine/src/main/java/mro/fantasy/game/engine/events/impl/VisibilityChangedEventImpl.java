@@ -0,0 +1,36 @@
+package mro.fantasy.game.engine.events.impl;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.engine.events.VisibilityChangedEvent;
+import mro.fantasy.game.plan.FieldMask;
+
+import java.util.List;
+
+/**
+ * Implementation of a visibility changed event.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public record VisibilityChangedEventImpl(String viewerId, FieldMask visible, List<Position> becameVisible, List<Position> becameHidden) implements VisibilityChangedEvent {
+
+    @Override
+    public String getViewerId() {
+        return viewerId;
+    }
+
+    @Override
+    public FieldMask getVisible() {
+        return visible;
+    }
+
+    @Override
+    public List<Position> getBecameVisible() {
+        return becameVisible;
+    }
+
+    @Override
+    public List<Position> getBecameHidden() {
+        return becameHidden;
+    }
+}
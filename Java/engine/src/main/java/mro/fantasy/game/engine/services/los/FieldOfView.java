@@ -0,0 +1,141 @@
+package mro.fantasy.game.engine.services.los;
+
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.impl.FieldMaskImpl;
+
+/**
+ * Integer based field of view calculation. The calculation works directly on the {@link FieldMask}s of a plan and only visits the positions inside the bounding box of the sight
+ * radius, i.e. it neither touches the fields of the plan nor does it create any objects.
+ * <p>
+ * A position is visible from the origin if
+ * <ul>
+ *     <li>it is covered by at least one tile,</li>
+ *     <li>it does not block the line of sight itself,</li>
+ *     <li>its distance to the origin is less than {@code limit + 1} and</li>
+ *     <li>no position between the origin and the position blocks the line of sight.</li>
+ * </ul>
+ * The positions between the origin and the destination are calculated with the Bresenham line algorithm:
+ * <pre>{@code
+ *   ┌─────────┬─────────┬─────────┬─────────┬─────────┐
+ *   │         │         │         │    .    │ ....... │
+ *   │   0/2   │   1/2   │   2/2   │    .    │  DEST   │
+ *   │         │         │         │    .    │ ....... │
+ *   ├─────────┼─────────┼─────────┼─────────┼─────────┤
+ *   │         │    .    │    .    │         │         │
+ *   │   0/1   │    .    │    .    │   3/1   │   4/1   │
+ *   │         │    .    │    .    │         │         │
+ *   ├─────────┼─────────┼─────────┼─────────┼─────────┤
+ *   │ ....... │         │         │         │         │
+ *   │ ORIGIN  │   1/0   │   2/0   │   3/0   │   4/0   │
+ *   │ ....... │         │         │         │         │
+ *   └─────────┴─────────┴─────────┴─────────┴─────────┘
+ * }</pre>
+ * The origin itself is always visible and never blocks the line of sight, even if a character that blocks the line of sight stands on it.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public final class FieldOfView {
+
+    /**
+     * Utility class.
+     */
+    private FieldOfView() {
+
+    }
+
+    /**
+     * Calculates all positions which are visible from the origin and stores them in the passed result mask. The result mask is cleared before the calculation so that it can be
+     * reused for multiple calls.
+     *
+     * @param lineOfSightMask the positions that block the line of sight
+     * @param coveredMask     the positions that are covered by a tile
+     * @param column          the column of the origin
+     * @param row             the row of the origin
+     * @param limit           the maximum distance of a visible position
+     * @param result          the mask the visible positions are stored in, has to have the same size as the passed masks
+     *
+     * @throws IllegalArgumentException if the result mask does not have the size of the line of sight mask
+     */
+    public static void compute(FieldMask lineOfSightMask, FieldMask coveredMask, int column, int row, int limit, FieldMaskImpl result) {
+
+        if (!result.getSize().equals(lineOfSightMask.getSize())) {
+            throw new IllegalArgumentException("The result mask with size ::= [" + result.getSize() + "] does not match the plan size ::= [" + lineOfSightMask.getSize() + "]");
+        }
+
+        result.clear();
+
+        int columns = lineOfSightMask.getSize().columns();
+        int rows = lineOfSightMask.getSize().rows();
+
+        if (column < 0 || row < 0 || column >= columns || row >= rows || limit < 0) {
+            return;
+        }
+
+        result.set(column, row, true);                                      // we can always see our own field
+
+        int radiusSquare = (limit + 1) * (limit + 1);                       // distance < limit + 1  <=>  dx² + dy² < (limit + 1)², i.e. we do not need a square root
+
+        int minRow = Math.max(0, row - limit);
+        int maxRow = Math.min(rows - 1, row + limit);
+        int minColumn = Math.max(0, column - limit);
+        int maxColumn = Math.min(columns - 1, column + limit);
+
+        for (int r = minRow; r <= maxRow; r++) {
+            int dy = r - row;
+            for (int c = minColumn; c <= maxColumn; c++) {
+                int dx = c - column;
+
+                if (dx * dx + dy * dy >= radiusSquare                       // outside the sight radius
+                        || !coveredMask.isSet(c, r)                         // not part of the scenario
+                        || lineOfSightMask.isSet(c, r)) {                   // cannot be seen itself
+                    continue;
+                }
+
+                if (isLineClear(lineOfSightMask, column, row, c, r)) {
+                    result.set(c, r, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the positions between the start and the end position block the line of sight. The start and the end position themselves are not checked.
+     *
+     * @param lineOfSightMask the positions that block the line of sight
+     * @param startColumn     the column of the start position
+     * @param startRow        the row of the start position
+     * @param endColumn       the column of the end position
+     * @param endRow          the row of the end position
+     *
+     * @return {@code true} if no position on the line blocks the line of sight, {@code false} otherwise
+     */
+    static boolean isLineClear(FieldMask lineOfSightMask, int startColumn, int startRow, int endColumn, int endRow) {
+        int dx = Math.abs(endColumn - startColumn);
+        int dy = -Math.abs(endRow - startRow);
+        int sx = startColumn < endColumn ? 1 : -1;
+        int sy = startRow < endRow ? 1 : -1;
+        int error = dx + dy;
+
+        int c = startColumn;
+        int r = startRow;
+
+        while (c != endColumn || r != endRow) {
+            int doubleError = 2 * error;
+            if (doubleError >= dy) {                                        // step in the direction of the column
+                error += dy;
+                c += sx;
+            }
+            if (doubleError <= dx) {                                        // step in the direction of the row
+                error += dx;
+                r += sy;
+            }
+            if ((c != endColumn || r != endRow) && lineOfSightMask.isSet(c, r)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,324 @@
+package mro.fantasy.game.engine.services.los;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.impl.FieldMaskImpl;
+import mro.fantasy.game.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded cache for the visible fields of a position on a {@link Plan}. A cached result only depends on the positions within the sight radius, so every entry remembers the
+ * {@link Plan#getVersion(int, int, int, int)} of that area when it was calculated. If a tile is assigned to or removed from the plan only the entries whose area contains one of
+ * the modified positions become stale, all other entries of the plan can still be used:
+ * <pre>{@code
+ *   ┌─────────┬─────────┬─────────┬─────────┬─────────┬─────────┐
+ *   │         │         │         │ ####### │ ####### │ ####### │
+ *   │         │    A    │         │ ### B # │ ####### │ ####### │
+ *   │         │         │         │ ####### │ ####### │ ####### │
+ *   ├─────────┼─────────┼─────────┼─────────┼─────────┼─────────┤
+ *   │         │         │         │ ####### │ ####### │ ####### │
+ *   │         │         │         │ ####### │ ####### │ #  X  # │
+ *   │         │         │         │ ####### │ ####### │ ####### │
+ *   └─────────┴─────────┴─────────┴─────────┴─────────┴─────────┘
+ *   X - modified position, # - sight area of B
+ *   -> the entry of B is stale, the entry of A is still valid
+ * }</pre>
+ * Stale entries are detected and removed lazily when they are requested. The cache is limited by a maximum weight, where the weight of an entry is the number of {@code long}
+ * words of its result mask. If the limit is exceeded the least recently used entries are evicted.
+ * <p>
+ * Plans are compared by identity, i.e. two plans with the same game id do not share their results. The keys only hold weak references to the plans, the entries of a plan that
+ * was garbage collected are removed with the next access of the cache. All methods are synchronized so that a cache can be shared by multiple {@link LineOfSightCalculator}s.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public class LineOfSightCache {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(LineOfSightCache.class);
+
+    /**
+     * The default maximum weight, enough for about 2.700 results of a 12x12 plan.
+     */
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 1 << 15;
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param hits          the number of requests that were answered from the cache
+     * @param misses        the number of requests that were not answered from the cache, including the stale entries
+     * @param invalidations the number of entries that were removed because the plan was modified in their area
+     * @param evictions     the number of entries that were removed because the maximum weight was exceeded
+     * @param size          the current number of entries
+     * @param weight        the current weight of all entries
+     */
+    public record Statistics(long hits, long misses, long invalidations, long evictions, int size, long weight) {
+    }
+
+    /**
+     * Key of a cache entry. The plan is compared by its identity.
+     */
+    private record Key(PlanReference plan, int column, int row, int limit) {
+    }
+
+    /**
+     * Weak reference to a plan that is compared by the identity of the plan. A cleared reference is only equal to itself.
+     */
+    private static final class PlanReference extends WeakReference<Plan> {
+
+        /**
+         * The identity hash code of the plan, kept since the plan may be collected.
+         */
+        private final int hash;
+
+        private PlanReference(Plan plan, ReferenceQueue<Plan> queue) {
+            super(plan, queue);
+            this.hash = System.identityHashCode(plan);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanReference other) || hash != other.hash) {
+                return false;
+            }
+            Plan plan = get();
+            return plan != null && plan == other.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A cached result.
+     *
+     * @param visible the visible fields, never modified after the entry was created
+     * @param version the version of the sight area when the result was calculated
+     * @param weight  the weight of the entry
+     */
+    private record Entry(FieldMask visible, long version, int weight) {
+    }
+
+    /**
+     * The entries in the order of their last access.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * The queue with the references of the plans that were garbage collected.
+     */
+    private final ReferenceQueue<Plan> collected = new ReferenceQueue<>();
+
+    /**
+     * The maximum weight of all entries.
+     */
+    private final long maximumWeight;
+
+    /**
+     * The current weight of all entries.
+     */
+    private long weight;
+
+    /**
+     * The number of requests answered from the cache.
+     */
+    private long hits;
+
+    /**
+     * The number of requests not answered from the cache.
+     */
+    private long misses;
+
+    /**
+     * The number of entries removed because they became stale.
+     */
+    private long invalidations;
+
+    /**
+     * The number of entries removed because the maximum weight was exceeded.
+     */
+    private long evictions;
+
+    /**
+     * Creates a new cache with the {@link #DEFAULT_MAXIMUM_WEIGHT}.
+     */
+    public LineOfSightCache() {
+        this(DEFAULT_MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumWeight the maximum weight of all entries, i.e. the maximum number of {@code long} words of all cached results
+     *
+     * @throws IllegalArgumentException if the weight is not positive
+     */
+    public LineOfSightCache(long maximumWeight) {
+        ValidationUtils.requireTrue(maximumWeight > 0, "The maximum weight has to be positive.");
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * Returns the cached visible fields of the position.
+     *
+     * @param plan     the plan
+     * @param position the position of the viewer
+     * @param limit    the sight limit
+     *
+     * @return the read only mask with the visible fields or {@code null} if no valid result is available
+     */
+    public synchronized FieldMask get(Plan plan, Position position, int limit) {
+        removeCollected();
+
+        Key key = new Key(new PlanReference(plan, null), position.column(), position.row(), limit);
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+
+        if (entry.version != getAreaVersion(plan, position, limit)) {       // the plan was modified in the sight area since the result was calculated
+            LOG.trace("Invalidate stale result for position ::= [{}] with limit ::= [{}]", position, limit);
+            entries.remove(key);
+            weight -= entry.weight;
+            invalidations++;
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return entry.visible;
+    }
+
+    /**
+     * Stores the visible fields of the position. The passed mask is copied, i.e. the caller can reuse it afterwards. The result must have been calculated for the current state of
+     * the plan.
+     *
+     * @param plan     the plan
+     * @param position the position of the viewer
+     * @param limit    the sight limit
+     * @param visible  the visible fields
+     *
+     * @return the read only copy that was stored in the cache
+     */
+    public synchronized FieldMask put(Plan plan, Position position, int limit, FieldMaskImpl visible) {
+        removeCollected();
+
+        FieldMaskImpl copy = visible.copy();
+        Entry entry = new Entry(copy, getAreaVersion(plan, position, limit), visible.getWordsPerRow() * visible.getSize().rows());
+
+        Entry previous = entries.put(new Key(new PlanReference(plan, collected), position.column(), position.row(), limit), entry);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entry.weight;
+
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (weight > maximumWeight && iterator.hasNext()) {                 // the iteration order starts with the least recently used entry
+            Map.Entry<Key, Entry> eldest = iterator.next();
+            if (eldest.getValue() == entry) {                               // never evict the entry we just added
+                continue;
+            }
+            iterator.remove();
+            weight -= eldest.getValue().weight;
+            evictions++;
+        }
+
+        return copy;
+    }
+
+    /**
+     * Removes all entries of the passed plan, e.g. because the plan is not used anymore.
+     *
+     * @param plan the plan
+     */
+    public synchronized void invalidate(Plan plan) {
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            if (entry.getKey().plan.get() == plan) {
+                iterator.remove();
+                weight -= entry.getValue().weight;
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Removes the entries of the plans that were garbage collected.
+     */
+    private void removeCollected() {
+        Set<Reference<? extends Plan>> cleared = Collections.newSetFromMap(new IdentityHashMap<>());
+        Reference<? extends Plan> reference;
+        while ((reference = collected.poll()) != null) {                   // every entry has its own reference, collect them to scan the entries only once
+            cleared.add(reference);
+        }
+
+        if (cleared.isEmpty()) {
+            return;
+        }
+
+        entries.entrySet().removeIf(entry -> {
+            if (!cleared.contains(entry.getKey().plan)) {
+                return false;
+            }
+            weight -= entry.getValue().weight;
+            return true;
+        });
+    }
+
+    /**
+     * Removes all entries and resets the counters.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+        hits = 0;
+        misses = 0;
+        invalidations = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Returns a snapshot of the counters of the cache.
+     *
+     * @return the statistics
+     */
+    public synchronized Statistics getStatistics() {
+        return new Statistics(hits, misses, invalidations, evictions, entries.size(), weight);
+    }
+
+    /**
+     * Returns the version of the area that can affect the visibility from the passed position.
+     *
+     * @param plan     the plan
+     * @param position the position of the viewer
+     * @param limit    the sight limit
+     *
+     * @return the version
+     */
+    private long getAreaVersion(Plan plan, Position position, int limit) {
+        return plan.getVersion(position.column() - limit, position.row() - limit, position.column() + limit, position.row() + limit);
+    }
+
+}
@@ -0,0 +1,130 @@
+package mro.fantasy.game.engine.services.los;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thread safe service to calculate the visible fields of a position on a {@link Plan}. In contrast to the {@link LineOfSightCalculator} the service can be used by multiple game
+ * sessions and threads at the same time. Calculated results are stored per {@link LineOfSightSnapshot}, i.e. all sessions that play the same scenario share their results.
+ * <p>
+ * The service does not lock the plans, the caller has to ensure that a plan is not modified while the service is called for it.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public interface LineOfSightService {
+
+    /**
+     * Counters of the service.
+     *
+     * @param hits      the number of requests that were answered with a stored result
+     * @param misses    the number of requests that needed a calculation
+     * @param snapshots the number of snapshots with stored results
+     */
+    record Statistics(long hits, long misses, int snapshots) {
+    }
+
+    /**
+     * A character that looks at the plan.
+     *
+     * @param position the position of the character
+     * @param limit    the maximum distance the character can see
+     */
+    record Viewer(Position position, int limit) {
+    }
+
+    /**
+     * Returns the snapshot for the current state of the passed plan. If another plan with the same content was already passed to the service, the existing snapshot is returned.
+     *
+     * @param plan the plan
+     *
+     * @return the snapshot
+     */
+    LineOfSightSnapshot snapshot(Plan plan);
+
+    /**
+     * Returns the visible fields of a position on the passed snapshot. The rules for the visibility are described in {@link FieldOfView}.
+     *
+     * @param snapshot the snapshot
+     * @param position the position of the viewer
+     * @param limit    the maximum distance of a visible field
+     *
+     * @return the read only mask with the visible fields which will never change
+     */
+    FieldMask getVisibleMask(LineOfSightSnapshot snapshot, Position position, int limit);
+
+    /**
+     * Returns the visible fields of a position on the current state of the passed plan.
+     *
+     * @param plan     the plan
+     * @param position the position of the viewer
+     * @param limit    the maximum distance of a visible field
+     *
+     * @return the read only mask with the visible fields which will never change
+     */
+    default FieldMask getVisibleMask(Plan plan, Position position, int limit) {
+        return getVisibleMask(snapshot(plan), position, limit);
+    }
+
+    /**
+     * Returns the visible fields of a position on the current state of the passed plan. This method has the same contract as {@link LineOfSightCalculator#getVisibleFields(Plan,
+     * Position, int)}.
+     *
+     * @param plan     the plan
+     * @param position the position of the viewer
+     * @param limit    the maximum distance of a visible field
+     *
+     * @return a new list with the visible fields
+     */
+    default List<Position> getVisibleFields(Plan plan, Position position, int limit) {
+        return getVisibleMask(plan, position, limit).toPositions();
+    }
+
+    /**
+     * Calculates the visible fields of multiple viewers on the passed snapshot in parallel. This is the preferred way to update the visibility of all characters on the plan, e.g.
+     * at the beginning of a turn.
+     *
+     * @param snapshot the snapshot
+     * @param viewers  the viewers
+     *
+     * @return a map with the read only mask of visible fields for every viewer, in the iteration order of the passed viewers
+     */
+    Map<Viewer, FieldMask> getVisibleMasks(LineOfSightSnapshot snapshot, Collection<Viewer> viewers);
+
+    /**
+     * Calculates the visible fields of multiple viewers on the current state of the passed plan in parallel.
+     *
+     * @param plan    the plan
+     * @param viewers the viewers
+     *
+     * @return a map with the read only mask of visible fields for every viewer, in the iteration order of the passed viewers
+     *
+     * @see #getVisibleMasks(LineOfSightSnapshot, Collection)
+     */
+    default Map<Viewer, FieldMask> getVisibleMasks(Plan plan, Collection<Viewer> viewers) {
+        return getVisibleMasks(snapshot(plan), viewers);
+    }
+
+    /**
+     * Calculates the {@link StaticVisibilityMatrix} for the static layers of the passed plan. Afterwards, all plans with the same static layers, e.g. all copies of the plan used
+     * in game sessions, use the matrix to answer the requests. The matrix is only calculated if the plan does not exceed the configured maximum number of positions.
+     *
+     * @param plan the plan
+     *
+     * @return {@code true} if the matrix is available, {@code false} if the plan is too large
+     */
+    boolean precompute(Plan plan);
+
+    /**
+     * Returns the current counters of the service.
+     *
+     * @return the statistics
+     */
+    Statistics getStatistics();
+
+}
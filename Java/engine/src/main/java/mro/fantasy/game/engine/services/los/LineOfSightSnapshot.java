@@ -0,0 +1,150 @@
+package mro.fantasy.game.engine.services.los;
+
+import mro.fantasy.game.Size;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.impl.FieldMaskImpl;
+import mro.fantasy.game.utils.ValidationUtils;
+
+/**
+ * Immutable copy of the parts of a {@link Plan} that affect the line of sight, i.e. the {@link Plan#getLineOfSightMask()} and the {@link Plan#getCoveredMask()}. Two snapshots
+ * are equal if these masks are equal, independent of the plan they were created from. As a result all game sessions which run the same scenario share the same snapshot and
+ * therefore the calculated visibility. In addition, the snapshot keeps the split of the line of sight mask into the static and the character layers to use a
+ * {@link StaticVisibilityMatrix}.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public final class LineOfSightSnapshot {
+
+    /**
+     * Copy of the line of sight mask of the plan.
+     */
+    private final FieldMaskImpl lineOfSightMask;
+
+    /**
+     * Copy of the covered mask of the plan.
+     */
+    private final FieldMaskImpl coveredMask;
+
+    /**
+     * Copy of the static line of sight mask of the plan.
+     */
+    private final FieldMaskImpl staticLineOfSightMask;
+
+    /**
+     * Copy of the character line of sight mask of the plan.
+     */
+    private final FieldMaskImpl characterLineOfSightMask;
+
+    /**
+     * The hash code which is calculated once since the snapshot cannot change.
+     */
+    private final int hash;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param lineOfSightMask          the positions that block the line of sight
+     * @param coveredMask              the positions that are covered by a tile
+     * @param staticLineOfSightMask    the positions that block the line of sight on the static layers
+     * @param characterLineOfSightMask the positions where a character blocks the line of sight
+     */
+    private LineOfSightSnapshot(FieldMaskImpl lineOfSightMask, FieldMaskImpl coveredMask, FieldMaskImpl staticLineOfSightMask, FieldMaskImpl characterLineOfSightMask) {
+        this.lineOfSightMask = lineOfSightMask;
+        this.coveredMask = coveredMask;
+        this.staticLineOfSightMask = staticLineOfSightMask;
+        this.characterLineOfSightMask = characterLineOfSightMask;
+        this.hash = 31 * lineOfSightMask.hashCode() + coveredMask.hashCode();
+    }
+
+    /**
+     * Creates a snapshot of the current state of the passed plan. Later modifications of the plan do not affect the snapshot.
+     *
+     * @param plan the plan
+     *
+     * @return the snapshot
+     */
+    public static LineOfSightSnapshot of(Plan plan) {
+        ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+        return new LineOfSightSnapshot(
+                FieldMaskImpl.copyOf(plan.getLineOfSightMask()),
+                FieldMaskImpl.copyOf(plan.getCoveredMask()),
+                FieldMaskImpl.copyOf(plan.getStaticLineOfSightMask()),
+                FieldMaskImpl.copyOf(plan.getCharacterLineOfSightMask()));
+    }
+
+    /**
+     * Returns the size of the plan the snapshot was created from.
+     *
+     * @return the size
+     */
+    public Size getSize() {
+        return lineOfSightMask.getSize();
+    }
+
+    /**
+     * Returns the positions that block the line of sight.
+     *
+     * @return the read only mask
+     */
+    public FieldMask getLineOfSightMask() {
+        return lineOfSightMask;
+    }
+
+    /**
+     * Returns the positions that are covered by a tile.
+     *
+     * @return the read only mask
+     */
+    public FieldMask getCoveredMask() {
+        return coveredMask;
+    }
+
+    /**
+     * Returns the positions that block the line of sight on the static layers.
+     *
+     * @return the read only mask
+     */
+    public FieldMask getStaticLineOfSightMask() {
+        return staticLineOfSightMask;
+    }
+
+    /**
+     * Returns the positions where a character blocks the line of sight.
+     *
+     * @return the read only mask
+     */
+    public FieldMask getCharacterLineOfSightMask() {
+        return characterLineOfSightMask;
+    }
+
+    /**
+     * Checks if the passed matrix was calculated for the static layers of this snapshot.
+     *
+     * @param matrix the matrix
+     *
+     * @return {@code true} if the matrix can be used for this snapshot, {@code false} otherwise
+     */
+    public boolean matches(StaticVisibilityMatrix matrix) {
+        return staticLineOfSightMask.equals(matrix.getStaticLineOfSightMask()) && coveredMask.equals(matrix.getCoveredMask());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LineOfSightSnapshot that = (LineOfSightSnapshot) o;
+        return hash == that.hash && lineOfSightMask.equals(that.lineOfSightMask) && coveredMask.equals(that.coveredMask);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "LineOfSightSnapshot{size=" + getSize() + ", hash=" + hash + '}';
+    }
+}
@@ -0,0 +1,201 @@
+package mro.fantasy.game.engine.services.los;
+
+import mro.fantasy.game.Size;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.FieldType;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.impl.FieldMaskImpl;
+import mro.fantasy.game.utils.ValidationUtils;
+
+import java.util.stream.IntStream;
+
+/**
+ * Precalculated visibility between all positions of a plan that only takes the static layers into account, i.e. all fields that are no {@link FieldType#isCharacter()}. The
+ * static layers do not change during a quest, so the matrix is calculated once when the plan is loaded and queries only need to add the characters that block the line of sight:
+ * <pre>{@code
+ *   visible = matrix[origin] & radius(limit) & ~characters
+ * }</pre>
+ * Only if a character blocks the line of sight inside the sight radius the remaining positions have to be checked against the characters. The matrix contains one bit for every
+ * combination of two positions, so its memory grows with the square of the number of positions.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public final class StaticVisibilityMatrix {
+
+    /**
+     * The positions that block the line of sight on the static layers.
+     */
+    private final FieldMaskImpl staticLineOfSightMask;
+
+    /**
+     * The positions that are covered by a tile.
+     */
+    private final FieldMaskImpl coveredMask;
+
+    /**
+     * The number of words of the visibility mask of a single origin.
+     */
+    private final int wordsPerOrigin;
+
+    /**
+     * The visibility masks of all origins in row major order of the origins.
+     */
+    private final long[] matrix;
+
+    /**
+     * Creates a new matrix.
+     *
+     * @param staticLineOfSightMask the positions that block the line of sight on the static layers
+     * @param coveredMask           the positions that are covered by a tile
+     */
+    private StaticVisibilityMatrix(FieldMaskImpl staticLineOfSightMask, FieldMaskImpl coveredMask) {
+        this.staticLineOfSightMask = staticLineOfSightMask;
+        this.coveredMask = coveredMask;
+
+        Size size = staticLineOfSightMask.getSize();
+        int wordsPerRow = staticLineOfSightMask.getWordsPerRow();
+        int unlimited = size.columns() + size.rows();                      // a limit that covers the whole plan
+
+        this.wordsPerOrigin = wordsPerRow * size.rows();
+        this.matrix = new long[wordsPerOrigin * size.columns() * size.rows()];
+
+        IntStream.range(0, size.columns() * size.rows()).parallel().forEach(origin -> {  // every origin writes its own part of the matrix
+            FieldMaskImpl visible = new FieldMaskImpl(size);
+            FieldOfView.compute(staticLineOfSightMask, coveredMask, origin % size.columns(), origin / size.columns(), unlimited, visible);
+
+            int offset = origin * wordsPerOrigin;
+            for (int row = 0; row < size.rows(); row++) {
+                for (int word = 0; word < wordsPerRow; word++) {
+                    matrix[offset++] = visible.getWord(row, word);
+                }
+            }
+        });
+    }
+
+    /**
+     * Calculates the matrix for the current static layers of the passed plan.
+     *
+     * @param plan the plan
+     *
+     * @return the matrix
+     */
+    public static StaticVisibilityMatrix of(Plan plan) {
+        ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+        return new StaticVisibilityMatrix(FieldMaskImpl.copyOf(plan.getStaticLineOfSightMask()), FieldMaskImpl.copyOf(plan.getCoveredMask()));
+    }
+
+    /**
+     * Returns the size of the plan the matrix was calculated for.
+     *
+     * @return the size
+     */
+    public Size getSize() {
+        return staticLineOfSightMask.getSize();
+    }
+
+    /**
+     * Returns the positions that block the line of sight on the static layers when the matrix was calculated.
+     *
+     * @return the read only mask
+     */
+    public FieldMask getStaticLineOfSightMask() {
+        return staticLineOfSightMask;
+    }
+
+    /**
+     * Returns the positions that were covered by a tile when the matrix was calculated.
+     *
+     * @return the read only mask
+     */
+    public FieldMask getCoveredMask() {
+        return coveredMask;
+    }
+
+    /**
+     * Returns the number of bytes used by the matrix.
+     *
+     * @return the number of bytes
+     */
+    public long getMemorySize() {
+        return (long) matrix.length * Long.BYTES;
+    }
+
+    /**
+     * Calculates the visible positions of an origin. The result is the same as the result of {@link FieldOfView#compute(FieldMask, FieldMask, int, int, int, FieldMaskImpl)} with
+     * the combination of the static and the character line of sight mask.
+     *
+     * @param characterLineOfSightMask the positions where a character blocks the line of sight
+     * @param column                   the column of the origin
+     * @param row                      the row of the origin
+     * @param limit                    the maximum distance of a visible position
+     * @param result                   the mask the visible positions are stored in, has to have the same size as the matrix
+     *
+     * @throws IllegalArgumentException if the result mask does not have the size of the matrix
+     */
+    public void compute(FieldMask characterLineOfSightMask, int column, int row, int limit, FieldMaskImpl result) {
+
+        Size size = getSize();
+
+        if (!result.getSize().equals(size)) {
+            throw new IllegalArgumentException("The result mask with size ::= [" + result.getSize() + "] does not match the matrix size ::= [" + size + "]");
+        }
+
+        result.clear();
+
+        if (column < 0 || row < 0 || column >= size.columns() || row >= size.rows() || limit < 0) {
+            return;
+        }
+
+        int wordsPerRow = result.getWordsPerRow();
+        int offset = (row * size.columns() + column) * wordsPerOrigin;
+        int radiusSquare = (limit + 1) * (limit + 1);
+        int originWord = column >>> 6;
+        long origin = 1L << (column & 63);                                  // the character on the origin does not block its own line of sight
+        boolean charactersInSight = false;
+
+        for (int r = Math.max(0, row - limit); r <= Math.min(size.rows() - 1, row + limit); r++) {
+            int dy = r - row;
+
+            int width = limit;                                              // the number of columns left and right of the origin that are within the radius in this row
+            while (width * width + dy * dy >= radiusSquare) {
+                width--;
+            }
+
+            int from = Math.max(0, column - width);
+            int to = Math.min(size.columns() - 1, column + width);
+
+            for (int word = from >>> 6; word <= to >>> 6; word++) {
+                int low = Math.max(from, word << 6) & 63;
+                int high = Math.min(to, (word << 6) + 63) & 63;
+                long radius = (-1L >>> (63 - (high - low))) << low;        // the bits of the columns between from and to inside this word
+
+                long characters = characterLineOfSightMask.getWord(r, word) & radius;
+                if (r == row && word == originWord) {
+                    characters &= ~origin;
+                }
+                charactersInSight |= characters != 0;
+
+                result.setWord(r, word, matrix[offset + r * wordsPerRow + word] & radius & ~characters);
+            }
+        }
+
+        if (charactersInSight) {                                            // only if a character is in the sight area the lines have to be checked against the characters
+            for (int r = Math.max(0, row - limit); r <= Math.min(size.rows() - 1, row + limit); r++) {
+                for (int word = 0; word < wordsPerRow; word++) {
+                    long bits = result.getWord(r, word);
+                    while (bits != 0) {
+                        int c = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        if (!FieldOfView.isLineClear(characterLineOfSightMask, column, row, c, r)) {
+                            result.set(c, r, false);
+                        }
+                        bits &= bits - 1;
+                    }
+                }
+            }
+        }
+
+        result.set(column, row, true);                                      // we can always see our own field
+    }
+
+}
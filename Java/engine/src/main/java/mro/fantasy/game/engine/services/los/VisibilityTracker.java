@@ -0,0 +1,435 @@
+package mro.fantasy.game.engine.services.los;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.engine.events.GameEventListener;
+import mro.fantasy.game.engine.events.PlanChangedEvent;
+import mro.fantasy.game.engine.events.VisibilityChangedEvent;
+import mro.fantasy.game.engine.events.impl.VisibilityChangedEventImpl;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.impl.FieldMaskImpl;
+import mro.fantasy.game.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Keeps the visible fields of all viewers (usually the characters) on a {@link Plan} up to date. The tracker registers itself as listener of the plan and reacts on every
+ * {@link PlanChangedEvent}:
+ * <ol>
+ *     <li>if the change does not modify the line of sight or the covered positions of the plan (a character that does not block the line of sight moves for example), nothing
+ *     happens,</li>
+ *     <li>otherwise, only the viewers which have a changed position inside their sight radius are updated,</li>
+ *     <li>of these viewers only the positions whose line of sight crosses a changed position are checked again, a line that is blocked by an unchanged position before it
+ *     reaches a changed one is skipped, because it was blocked before the change as well,</li>
+ *     <li>for every updated viewer whose visible fields changed, a {@link VisibilityChangedEvent} with the fields that became visible and hidden is published.</li>
+ * </ol>
+ * The lines are the same Bresenham lines the {@link FieldOfView} uses, i.e. the updated fields are equal to the fields a complete recalculation would return.
+ * <p>
+ * A viewer does not follow the tile of its character. Moving a tile is a removal and an assignment of a new tile with a new id, so the caller has to {@link #putViewer(String,
+ * Position, int) put} the viewer with its new position after the character was moved.
+ * <p>
+ * The tracker is bound to a single plan and is not thread safe, it has to be used by the thread that modifies the plan. Use {@link #close()} to detach it from the plan.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public class VisibilityTracker implements GameEventListener<PlanChangedEvent>, AutoCloseable {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(VisibilityTracker.class);
+
+    /**
+     * A viewer with its last published visible fields.
+     */
+    private static final class Viewer {
+
+        /**
+         * The position of the viewer.
+         */
+        private Position position;
+
+        /**
+         * The sight limit of the viewer.
+         */
+        private int limit;
+
+        /**
+         * The last published visible fields.
+         */
+        private FieldMask visible;
+    }
+
+    /**
+     * The result of tracing a line from a viewer to a position.
+     */
+    private enum Line {
+
+        /**
+         * The line does not cross a changed position or is blocked by an unchanged position before it does.
+         */
+        UNAFFECTED,
+
+        /**
+         * The line crosses a changed position and is blocked now.
+         */
+        BLOCKED,
+
+        /**
+         * The line crosses a changed position and is clear now.
+         */
+        CLEAR
+    }
+
+    /**
+     * The tracked plan.
+     */
+    private final Plan plan;
+
+    /**
+     * The service to calculate the visible fields.
+     */
+    private final LineOfSightService service;
+
+    /**
+     * The line of sight mask of the plan at the last processed change.
+     */
+    private FieldMaskImpl lineOfSightMask;
+
+    /**
+     * The covered mask of the plan at the last processed change.
+     */
+    private FieldMaskImpl coveredMask;
+
+    /**
+     * The viewers by their id.
+     */
+    private final Map<String, Viewer> viewers = new LinkedHashMap<>();
+
+    /**
+     * The listeners for visibility changes.
+     */
+    private final Set<GameEventListener<VisibilityChangedEvent>> listenerSet = new LinkedHashSet<>();
+
+    /**
+     * Creates a new tracker and registers it at the plan.
+     *
+     * @param plan    the plan to track
+     * @param service the service to calculate the visible fields
+     */
+    public VisibilityTracker(Plan plan, LineOfSightService service) {
+        this.plan = ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+        this.service = ValidationUtils.requireNonNull(service, "The service cannot be null.");
+        this.lineOfSightMask = FieldMaskImpl.copyOf(plan.getLineOfSightMask());
+        this.coveredMask = FieldMaskImpl.copyOf(plan.getCoveredMask());
+        plan.registerListener(this);
+    }
+
+    /**
+     * Registers a listener for visibility changes.
+     *
+     * @param listener the listener
+     */
+    public void registerListener(GameEventListener<VisibilityChangedEvent> listener) {
+        listenerSet.add(listener);
+    }
+
+    /**
+     * Removes a listener for visibility changes.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(GameEventListener<VisibilityChangedEvent> listener) {
+        listenerSet.remove(listener);
+    }
+
+    /**
+     * Adds a new viewer or updates the position and limit of an existing one. The visible fields of the viewer are recalculated and the delta is published.
+     *
+     * @param id       the id of the viewer, e.g. the id of the character tile
+     * @param position the position of the viewer
+     * @param limit    the sight limit of the viewer
+     */
+    public void putViewer(String id, Position position, int limit) {
+        ValidationUtils.requireNonNull(id, "The id cannot be null.");
+        ValidationUtils.requireNonNull(position, "The position cannot be null.");
+
+        Viewer viewer = viewers.computeIfAbsent(id, k -> new Viewer());
+        viewer.position = position;
+        viewer.limit = limit;
+        update(id, viewer, service.snapshot(plan));
+    }
+
+    /**
+     * Removes a viewer. No event is published.
+     *
+     * @param id the id of the viewer
+     */
+    public void removeViewer(String id) {
+        viewers.remove(id);
+    }
+
+    /**
+     * Returns the visible fields of a viewer.
+     *
+     * @param id the id of the viewer
+     *
+     * @return the read only mask or {@code null} if the viewer is unknown
+     */
+    public FieldMask getVisible(String id) {
+        Viewer viewer = viewers.get(id);
+        return viewer == null ? null : viewer.visible;
+    }
+
+    @Override
+    public void onEvent(PlanChangedEvent event) {
+        if (event.getPlan() != plan) {
+            return;
+        }
+
+        List<Position> changed = new ArrayList<>();
+        FieldMaskImpl changedMask = new FieldMaskImpl(lineOfSightMask.getSize());
+        for (Position position : event.getPositions()) {                   // collect the positions that changed in a way that affects the line of sight
+            boolean blocks = plan.getLineOfSightMask().isSet(position);
+            boolean covered = plan.getCoveredMask().isSet(position);
+            if (blocks != lineOfSightMask.isSet(position) || covered != coveredMask.isSet(position)) {
+                lineOfSightMask.set(position.column(), position.row(), blocks);
+                coveredMask.set(position.column(), position.row(), covered);
+                changedMask.set(position.column(), position.row(), true);
+                changed.add(position);
+            }
+        }
+
+        if (changed.isEmpty()) {
+            LOG.trace("Change of tile ::= [{}] does not affect the line of sight", event.getTile());
+            return;
+        }
+
+        int minColumn = Integer.MAX_VALUE;                                  // the bounding box of the changed positions, a line outside of it cannot cross them
+        int minRow = Integer.MAX_VALUE;
+        int maxColumn = Integer.MIN_VALUE;
+        int maxRow = Integer.MIN_VALUE;
+        for (Position position : changed) {
+            minColumn = Math.min(minColumn, position.column());
+            minRow = Math.min(minRow, position.row());
+            maxColumn = Math.max(maxColumn, position.column());
+            maxRow = Math.max(maxRow, position.row());
+        }
+
+        for (Map.Entry<String, Viewer> entry : viewers.entrySet()) {
+            if (isInSight(entry.getValue(), changed)) {
+                update(entry.getKey(), entry.getValue(), changedMask, minColumn, minRow, maxColumn, maxRow);
+            }
+        }
+    }
+
+    /**
+     * Removes the tracker from the plan.
+     */
+    @Override
+    public void close() {
+        plan.removeListener(this);
+    }
+
+    /**
+     * Checks if one of the passed positions is inside the sight radius of the viewer. Only lines to positions inside the radius are calculated, i.e. a change outside the radius
+     * cannot affect the visible fields.
+     *
+     * @param viewer    the viewer
+     * @param positions the positions
+     *
+     * @return {@code true} if a position is inside the radius, {@code false} otherwise
+     */
+    private boolean isInSight(Viewer viewer, List<Position> positions) {
+        int radiusSquare = (viewer.limit + 1) * (viewer.limit + 1);
+        for (Position position : positions) {
+            int dx = position.column() - viewer.position.column();
+            int dy = position.row() - viewer.position.row();
+            if (dx * dx + dy * dy < radiusSquare) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recalculates the visible fields of a viewer and publishes the delta to the last state.
+     *
+     * @param id       the id of the viewer
+     * @param viewer   the viewer
+     * @param snapshot the snapshot of the current state of the plan
+     */
+    private void update(String id, Viewer viewer, LineOfSightSnapshot snapshot) {
+        FieldMask previous = viewer.visible;
+        FieldMask current = service.getVisibleMask(snapshot, viewer.position, viewer.limit);
+        viewer.visible = current;
+
+        List<Position> becameVisible = new ArrayList<>();
+        List<Position> becameHidden = new ArrayList<>();
+
+        for (int row = 0; row < current.getSize().rows(); row++) {
+            for (int word = 0; word < current.getWordsPerRow(); word++) {
+                long now = current.getWord(row, word);
+                long before = previous == null ? 0 : previous.getWord(row, word);
+                addPositions(now & ~before, row, word, becameVisible);
+                addPositions(before & ~now, row, word, becameHidden);
+            }
+        }
+
+        publish(id, current, becameVisible, becameHidden);
+    }
+
+    /**
+     * Updates the visible fields of a viewer after a change of the plan and publishes the delta to the last state. Only the positions inside the sight radius whose line from
+     * the viewer crosses a changed position are checked again, all other positions keep their last state. The last published mask is not modified, a changed state is written
+     * to a copy.
+     *
+     * @param id          the id of the viewer
+     * @param viewer      the viewer
+     * @param changedMask the positions whose line of sight or coverage changed
+     * @param minColumn   the minimum column of the changed positions
+     * @param minRow      the minimum row of the changed positions
+     * @param maxColumn   the maximum column of the changed positions
+     * @param maxRow      the maximum row of the changed positions
+     */
+    private void update(String id, Viewer viewer, FieldMask changedMask, int minColumn, int minRow, int maxColumn, int maxRow) {
+        FieldMask lineOfSight = plan.getLineOfSightMask();
+        FieldMask covered = plan.getCoveredMask();
+
+        int columns = lineOfSight.getSize().columns();
+        int rows = lineOfSight.getSize().rows();
+        int column = viewer.position.column();
+        int row = viewer.position.row();
+
+        if (column < 0 || row < 0 || column >= columns || row >= rows || viewer.limit < 0) {
+            return;                                                         // nothing is visible, independent of the change
+        }
+
+        int limit = Math.min(viewer.limit, columns + rows);
+        int radiusSquare = (limit + 1) * (limit + 1);
+
+        FieldMaskImpl current = null;                                       // created on the first position that changed its state
+        List<Position> becameVisible = new ArrayList<>();
+        List<Position> becameHidden = new ArrayList<>();
+
+        for (int r = Math.max(0, row - limit); r <= Math.min(rows - 1, row + limit); r++) {
+            int dy = r - row;
+            if (Math.max(row, r) < minRow || Math.min(row, r) > maxRow) {
+                continue;                                                   // the lines to this row cannot cross a changed row
+            }
+
+            for (int c = Math.max(0, column - limit); c <= Math.min(columns - 1, column + limit); c++) {
+                int dx = c - column;
+                if ((dx == 0 && dy == 0)                                    // we can always see our own field
+                        || dx * dx + dy * dy >= radiusSquare                // outside the sight radius
+                        || Math.max(column, c) < minColumn                  // the line cannot cross a changed column
+                        || Math.min(column, c) > maxColumn) {
+                    continue;
+                }
+
+                Line line = trace(lineOfSight, changedMask, column, row, c, r);
+                if (line == Line.UNAFFECTED) {
+                    continue;
+                }
+
+                boolean visible = line == Line.CLEAR && covered.isSet(c, r) && !lineOfSight.isSet(c, r);
+                if (visible != viewer.visible.isSet(c, r)) {
+                    if (current == null) {
+                        current = FieldMaskImpl.copyOf(viewer.visible);
+                    }
+                    current.set(c, r, visible);
+                    (visible ? becameVisible : becameHidden).add(new Position(c, r));
+                }
+            }
+        }
+
+        if (current != null) {
+            viewer.visible = current;
+            publish(id, current, becameVisible, becameHidden);
+        }
+    }
+
+    /**
+     * Traces the Bresenham line from the viewer to a position, see {@link FieldOfView#isLineClear(FieldMask, int, int, int, int)}. The line is affected by the change if the
+     * position itself or a position between the viewer and the position changed. If an unchanged position blocks the line before a changed position is reached, the line was
+     * and is blocked, i.e. it is not affected.
+     *
+     * @param lineOfSightMask the positions that block the line of sight after the change
+     * @param changedMask     the positions that changed
+     * @param startColumn     the column of the viewer
+     * @param startRow        the row of the viewer
+     * @param endColumn       the column of the position
+     * @param endRow          the row of the position
+     *
+     * @return the state of the line
+     */
+    private static Line trace(FieldMask lineOfSightMask, FieldMask changedMask, int startColumn, int startRow, int endColumn, int endRow) {
+        boolean crossed = changedMask.isSet(endColumn, endRow);
+
+        int dx = Math.abs(endColumn - startColumn);
+        int dy = -Math.abs(endRow - startRow);
+        int sx = startColumn < endColumn ? 1 : -1;
+        int sy = startRow < endRow ? 1 : -1;
+        int error = dx + dy;
+
+        int c = startColumn;
+        int r = startRow;
+
+        while (true) {
+            int doubleError = 2 * error;
+            if (doubleError >= dy) {                                        // step in the direction of the column
+                error += dy;
+                c += sx;
+            }
+            if (doubleError <= dx) {                                        // step in the direction of the row
+                error += dx;
+                r += sy;
+            }
+            if (c == endColumn && r == endRow) {
+                return crossed ? Line.CLEAR : Line.UNAFFECTED;
+            }
+            crossed |= changedMask.isSet(c, r);
+            if (lineOfSightMask.isSet(c, r)) {
+                return crossed ? Line.BLOCKED : Line.UNAFFECTED;
+            }
+        }
+    }
+
+    /**
+     * Publishes the changed visible fields of a viewer to the listeners, if there are any.
+     *
+     * @param id            the id of the viewer
+     * @param current       the visible fields of the viewer
+     * @param becameVisible the positions that became visible
+     * @param becameHidden  the positions that became hidden
+     */
+    private void publish(String id, FieldMask current, List<Position> becameVisible, List<Position> becameHidden) {
+        if (becameVisible.isEmpty() && becameHidden.isEmpty()) {
+            return;
+        }
+
+        LOG.debug("Visibility of viewer ::= [{}] changed, visible ::= [{}], hidden ::= [{}]", id, becameVisible, becameHidden);
+
+        VisibilityChangedEvent event = new VisibilityChangedEventImpl(id, current, becameVisible, becameHidden);
+        listenerSet.forEach(l -> l.onEvent(event));
+    }
+
+    /**
+     * Adds the positions of the set bits of a word to the passed list.
+     *
+     * @param bits   the bits of the word
+     * @param row    the row of the word
+     * @param word   the index of the word in the row
+     * @param result the list to add the positions to
+     */
+    private static void addPositions(long bits, int row, int word, List<Position> result) {
+        while (bits != 0) {
+            result.add(new Position((word << 6) + Long.numberOfTrailingZeros(bits), row));
+            bits &= bits - 1;
+        }
+    }
+
+}
@@ -0,0 +1,484 @@
+package mro.fantasy.game.engine.services.los.impl;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.engine.services.los.FieldOfView;
+import mro.fantasy.game.engine.services.los.LineOfSightService;
+import mro.fantasy.game.engine.services.los.LineOfSightSnapshot;
+import mro.fantasy.game.engine.services.los.StaticVisibilityMatrix;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.impl.FieldMaskImpl;
+import mro.fantasy.game.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of the {@link LineOfSightService}. The results are stored in concurrent maps by their snapshot, i.e. a stored result is returned without a lock. Calculations are
+ * done by the calling thread without a lock, if two threads request the same result at the same time it may be calculated twice but only one result is stored.
+ * <p>
+ * The stored results are limited by a maximum weight, where the weight of a result is the number of {@code long} words of its mask like in the {@link
+ * mro.fantasy.game.engine.services.los.LineOfSightCache}. If the limit is exceeded, the least recently used results of all snapshots are evicted by the thread that stored the
+ * last result until a quarter of the weight is free again, so that the eviction is not repeated for every calculation.
+ * <p>
+ * To avoid the creation of a new snapshot for every request, the service remembers the snapshot of every {@link Plan#getVersion()}. Since a plan gets a new version with every
+ * modification, the snapshot of a version never changes.
+ * <p>
+ * If a {@link StaticVisibilityMatrix} was {@link #precompute(Plan) precomputed} for the static layers of a snapshot, the matrix is used instead of the {@link FieldOfView}. The
+ * matrix is looked up for every calculation, i.e. it is also used for the snapshots whose results were stored before the plan was precomputed. The matrices are stored by the
+ * game id of the plan, so that a plan that is precomputed again, e.g. after its bundle was reloaded, replaces its old matrix.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+@Service
+public class LineOfSightServiceImpl implements LineOfSightService {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(LineOfSightServiceImpl.class);
+
+    /**
+     * The static layers a {@link StaticVisibilityMatrix} was calculated for.
+     *
+     * @param lineOfSight the positions that block the line of sight on the static layers
+     * @param covered     the positions that are covered by a tile
+     */
+    private record StaticLayers(FieldMask lineOfSight, FieldMask covered) {
+    }
+
+    /**
+     * A stored result.
+     */
+    private static final class Entry {
+
+        /**
+         * The visible fields, never modified after the entry was created.
+         */
+        private final FieldMask visible;
+
+        /**
+         * The weight of the entry, i.e. the number of words of the mask.
+         */
+        private final int weight;
+
+        /**
+         * The time of the last access in nanoseconds, written without a lock by every request.
+         */
+        private volatile long lastAccess;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param visible the visible fields
+         */
+        private Entry(FieldMask visible) {
+            this.visible = visible;
+            this.weight = visible.getWordsPerRow() * visible.getSize().rows();
+            this.lastAccess = System.nanoTime();
+        }
+    }
+
+    /**
+     * The stored results of a snapshot.
+     */
+    private static final class Results {
+
+        /**
+         * The snapshot the results belong to, shared by all plans with the same content.
+         */
+        private final LineOfSightSnapshot snapshot;
+
+        /**
+         * The visible fields, the key is built by {@link LineOfSightServiceImpl#toKey(LineOfSightSnapshot, Position, int)}.
+         */
+        private final Map<Long, Entry> visible = new ConcurrentHashMap<>();
+
+        /**
+         * Creates new results.
+         *
+         * @param snapshot the snapshot
+         */
+        private Results(LineOfSightSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * A result that can be evicted.
+     *
+     * @param results the results of the snapshot
+     * @param key     the key of the result
+     * @param entry   the result
+     */
+    private record Candidate(Results results, Long key, Entry entry) {
+    }
+
+    /**
+     * Task to calculate the visible fields of a range of viewers. The range is split until it is small enough to be calculated directly.
+     */
+    private final class VisibilityTask extends RecursiveAction {
+
+        /**
+         * The version of the serialized form.
+         */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The maximum number of viewers that are calculated by a single task without splitting it.
+         */
+        private static final int THRESHOLD = 4;
+
+        /**
+         * The snapshot.
+         */
+        private final LineOfSightSnapshot snapshot;
+
+        /**
+         * All viewers of the batch.
+         */
+        private final Viewer[] viewers;
+
+        /**
+         * The results, the result of a viewer is stored at the index of the viewer.
+         */
+        private final FieldMask[] results;
+
+        /**
+         * The first viewer of the range (inclusive).
+         */
+        private final int from;
+
+        /**
+         * The last viewer of the range (exclusive).
+         */
+        private final int to;
+
+        /**
+         * Creates a new task.
+         *
+         * @param snapshot the snapshot
+         * @param viewers  all viewers of the batch
+         * @param results  the results of the batch
+         * @param from     the first viewer of the range (inclusive)
+         * @param to       the last viewer of the range (exclusive)
+         */
+        private VisibilityTask(LineOfSightSnapshot snapshot, Viewer[] viewers, FieldMask[] results, int from, int to) {
+            this.snapshot = snapshot;
+            this.viewers = viewers;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = getVisibleMask(snapshot, viewers[i].position(), viewers[i].limit());
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new VisibilityTask(snapshot, viewers, results, from, middle), new VisibilityTask(snapshot, viewers, results, middle, to));
+        }
+    }
+
+    /**
+     * The pool which is used for the parallel calculation of multiple viewers.
+     *
+     * @see #getVisibleMasks(LineOfSightSnapshot, Collection)
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Maximum number of plan versions for which the snapshot is remembered by {@link #snapshot(Plan)} is four times this value.
+     */
+    @Value("${game.los.cache.snapshots:32}")
+    private int maximumSnapshots = 32;
+
+    /**
+     * Maximum weight of all stored results, i.e. the maximum number of {@code long} words of their masks. If the weight is exceeded the least recently used results are removed.
+     */
+    @Value("${game.los.cache.weight:4194304}")
+    private long maximumWeight = 1 << 22;
+
+    /**
+     * Maximum number of positions of a plan for which a {@link StaticVisibilityMatrix} is calculated.
+     */
+    @Value("${game.los.precompute.max.fields:1024}")
+    private int maximumPrecomputeFields = 1024;
+
+    /**
+     * The matrices for the static layers of the precomputed plans by the game id of the plan.
+     *
+     * @see #precompute(Plan)
+     */
+    private final Map<String, StaticVisibilityMatrix> matrices = new HashMap<>();
+
+    /**
+     * The matrices by their static layers. The map is never modified but replaced if a matrix was added or replaced, i.e. it can be read without a lock.
+     */
+    private volatile Map<StaticLayers, StaticVisibilityMatrix> matricesByLayers = Map.of();
+
+    /**
+     * The stored results for every snapshot. Results are only added and removed by the {@code compute} methods of the map, so that a result is never added to results that were
+     * removed by the eviction.
+     */
+    private final ConcurrentHashMap<LineOfSightSnapshot, Results> results = new ConcurrentHashMap<>();
+
+    /**
+     * The weight of all stored results.
+     */
+    private final AtomicLong weight = new AtomicLong();
+
+    /**
+     * Lock to evict the results by a single thread, the readers never use it.
+     */
+    private final Object evictionLock = new Object();
+
+    /**
+     * The snapshots of the last plan versions, sorted by the version so that the oldest can be removed first.
+     */
+    private final ConcurrentSkipListMap<Long, LineOfSightSnapshot> snapshotsByVersion = new ConcurrentSkipListMap<>();
+
+    /**
+     * The number of requests answered with a stored result.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The number of requests that needed a calculation.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new service which uses the {@link ForkJoinPool#commonPool()} for batch calculations.
+     */
+    public LineOfSightServiceImpl() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new service.
+     *
+     * @param pool the pool for batch calculations
+     */
+    public LineOfSightServiceImpl(ForkJoinPool pool) {
+        this.pool = ValidationUtils.requireNonNull(pool, "The pool cannot be null.");
+    }
+
+    @Override
+    public LineOfSightSnapshot snapshot(Plan plan) {
+        ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+
+        LineOfSightSnapshot snapshot = snapshotsByVersion.get(plan.getVersion());
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        snapshot = LineOfSightSnapshot.of(plan);
+
+        Results existing = results.get(snapshot);                           // reuse the instance of an equal snapshot, so that the comparison of the masks in the
+        if (existing != null) {                                             // equals method can be skipped by the identity check in the future
+            snapshot = existing.snapshot;
+        }
+
+        snapshotsByVersion.put(plan.getVersion(), snapshot);
+
+        while (snapshotsByVersion.size() > maximumSnapshots * 4) {          // every session has its own plan with its own version, i.e. we need more entries than snapshots
+            snapshotsByVersion.pollFirstEntry();
+        }
+
+        return snapshot;
+    }
+
+    @Override
+    public FieldMask getVisibleMask(LineOfSightSnapshot snapshot, Position position, int limit) {
+        ValidationUtils.requireNonNull(snapshot, "The snapshot cannot be null.");
+        ValidationUtils.requireNonNull(position, "The position cannot be null.");
+
+        int columns = snapshot.getSize().columns();
+        int rows = snapshot.getSize().rows();
+
+        if (position.column() < 0 || position.row() < 0 || position.column() >= columns || position.row() >= rows || limit < 0) {
+            misses.increment();                                             // nothing visible, no need to store the result
+            return new FieldMaskImpl(snapshot.getSize());
+        }
+
+        int effectiveLimit = Math.min(limit, columns + rows);              // larger limits cannot show more fields, i.e. they can share the result
+        long key = toKey(snapshot, position, effectiveLimit);
+
+        Results stored = results.get(snapshot);
+        if (stored != null) {
+            Entry entry = stored.visible.get(key);
+            if (entry != null) {
+                entry.lastAccess = System.nanoTime();
+                hits.increment();
+                return entry.visible;
+            }
+        }
+
+        misses.increment();
+
+        LineOfSightSnapshot shared = stored != null ? stored.snapshot : snapshot;
+        FieldMaskImpl result = new FieldMaskImpl(snapshot.getSize());
+        StaticVisibilityMatrix matrix = findMatrix(shared);
+
+        if (matrix != null) {                                               // only the characters have to be added to the precalculated static layers
+            matrix.compute(shared.getCharacterLineOfSightMask(), position.column(), position.row(), effectiveLimit, result);
+        } else {
+            FieldOfView.compute(shared.getLineOfSightMask(), shared.getCoveredMask(), position.column(), position.row(), effectiveLimit, result);
+        }
+
+        Entry[] entry = new Entry[1];
+        results.compute(snapshot, (s, r) -> {                              // another thread may have calculated the same result in the meantime
+            Results target = r != null ? r : new Results(s);
+            entry[0] = target.visible.computeIfAbsent(key, k -> {
+                weight.addAndGet(result.getWordsPerRow() * result.getSize().rows());
+                return new Entry(result);
+            });
+            return target;
+        });
+
+        if (weight.get() > maximumWeight) {
+            evict();
+        }
+
+        return entry[0].visible;
+    }
+
+    @Override
+    public Map<Viewer, FieldMask> getVisibleMasks(LineOfSightSnapshot snapshot, Collection<Viewer> viewers) {
+        ValidationUtils.requireNonNull(snapshot, "The snapshot cannot be null.");
+        ValidationUtils.requireNonNull(viewers, "The viewers cannot be null.");
+
+        Viewer[] viewerArray = viewers.toArray(new Viewer[0]);
+        FieldMask[] masks = new FieldMask[viewerArray.length];
+
+        LOG.debug("Calculate visible fields for ::= [{}] viewers on snapshot ::= [{}]", viewerArray.length, snapshot);
+
+        pool.invoke(new VisibilityTask(snapshot, viewerArray, masks, 0, viewerArray.length));
+
+        Map<Viewer, FieldMask> result = new LinkedHashMap<>();
+        for (int i = 0; i < viewerArray.length; i++) {
+            result.put(viewerArray[i], masks[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean precompute(Plan plan) {
+        ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+
+        int fields = plan.getSize().columns() * plan.getSize().rows();
+
+        if (fields > maximumPrecomputeFields) {
+            LOG.debug("Skip precomputation of plan ::= [{}] with ::= [{}] fields, the maximum is ::= [{}]", plan.getGameId(), fields, maximumPrecomputeFields);
+            return false;
+        }
+
+        LineOfSightSnapshot snapshot = LineOfSightSnapshot.of(plan);
+        StaticVisibilityMatrix matrix = findMatrix(snapshot);              // another plan may have the same static layers
+
+        if (matrix == null) {
+            long start = System.currentTimeMillis();
+            matrix = StaticVisibilityMatrix.of(plan);
+
+            LOG.debug("Precomputed static visibility of plan ::= [{}] in ::= [{}] ms, matrix size ::= [{}] bytes", plan.getGameId(), System.currentTimeMillis() - start,
+                    matrix.getMemorySize());
+        }
+
+        synchronized (matrices) {
+            if (matrices.put(plan.getGameId(), matrix) != matrix) {
+                Map<StaticLayers, StaticVisibilityMatrix> byLayers = new HashMap<>();
+                matrices.values().forEach(m -> byLayers.put(new StaticLayers(m.getStaticLineOfSightMask(), m.getCoveredMask()), m));
+                matricesByLayers = byLayers;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), results.size());
+    }
+
+    /**
+     * Removes the least recently used results of all snapshots until a quarter of the {@link #maximumWeight} is free, results of snapshots without results are removed too.
+     */
+    private void evict() {
+        synchronized (evictionLock) {
+            if (weight.get() <= maximumWeight) {                            // another thread evicted the results in the meantime
+                return;
+            }
+
+            List<Candidate> candidates = new ArrayList<>();
+            results.values().forEach(r -> r.visible.forEach((key, entry) -> candidates.add(new Candidate(r, key, entry))));
+            candidates.sort(Comparator.comparingLong(c -> c.entry().lastAccess));
+
+            long target = maximumWeight - maximumWeight / 4;
+            int evicted = 0;
+            for (Candidate candidate : candidates) {
+                if (weight.get() <= target) {
+                    break;
+                }
+                if (candidate.results().visible.remove(candidate.key(), candidate.entry())) {
+                    weight.addAndGet(-candidate.entry().weight);
+                    evicted++;
+                }
+            }
+
+            for (LineOfSightSnapshot snapshot : results.keySet()) {
+                results.computeIfPresent(snapshot, (s, r) -> r.visible.isEmpty() ? null : r);
+            }
+
+            LOG.debug("Evicted ::= [{}] line of sight results, ::= [{}] snapshots with ::= [{}] words are left", evicted, results.size(), weight.get());
+        }
+    }
+
+    /**
+     * Returns the matrix that was calculated for the static layers of the passed snapshot.
+     *
+     * @param snapshot the snapshot
+     *
+     * @return the matrix or {@code null} if no matrix is available
+     */
+    private StaticVisibilityMatrix findMatrix(LineOfSightSnapshot snapshot) {
+        return matricesByLayers.get(new StaticLayers(snapshot.getStaticLineOfSightMask(), snapshot.getCoveredMask()));
+    }
+
+    /**
+     * Creates the key of a result in the {@link Results#visible} map.
+     *
+     * @param snapshot the snapshot
+     * @param position the position of the viewer, has to be part of the snapshot
+     * @param limit    the limit, not negative
+     *
+     * @return the key
+     */
+    private static long toKey(LineOfSightSnapshot snapshot, Position position, int limit) {
+        return ((long) (position.row() * snapshot.getSize().columns() + position.column()) << 32) | limit;
+    }
+
+}
@@ -0,0 +1,177 @@
+package mro.fantasy.game.engine.services.path;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.Size;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.utils.ValidationUtils;
+
+/**
+ * The distance of every position of a {@link Plan} to the nearest position of a set of targets, e.g. the positions of all player characters, together with the next step towards
+ * it. The field is calculated once by the {@link FlowFieldService} and afterwards every character that heads towards the same targets reads its next step in constant time
+ * instead of running its own search.
+ * <p>
+ * The targets are usually occupied by characters and block the movement, i.e. a character that is a direct neighbour of a target has arrived and has no next step. The
+ * positions of characters get a distance so that they can read their next step, but no path leads through them. The field is immutable and belongs to the
+ * {@link Plan#getVersion() version} of the plan it was calculated for.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public final class FlowField {
+
+    /**
+     * The size of the plan.
+     */
+    private final Size size;
+
+    /**
+     * The version of the plan the field was calculated for.
+     */
+    private final long version;
+
+    /**
+     * The targets.
+     */
+    private final FieldMask targets;
+
+    /**
+     * The number of steps to the nearest target by the position index, {@code -1} if no target can be reached.
+     */
+    private final int[] distances;
+
+    /**
+     * The index of the next position towards the nearest target by the position index, {@code -1} if the position is a target, a direct neighbour of a target or cannot reach a
+     * target.
+     */
+    private final int[] next;
+
+    /**
+     * Creates a new field, the arrays are not copied and must not be changed by the caller afterwards.
+     *
+     * @param size      the size of the plan
+     * @param version   the version of the plan
+     * @param targets   the targets, must not be changed afterwards
+     * @param distances the number of steps to the nearest target by the position index
+     * @param next      the index of the next position towards the nearest target by the position index
+     */
+    public FlowField(Size size, long version, FieldMask targets, int[] distances, int[] next) {
+        this.size = ValidationUtils.requireNonNull(size, "The size cannot be null.");
+        this.version = version;
+        this.targets = ValidationUtils.requireNonNull(targets, "The targets cannot be null.");
+        this.distances = ValidationUtils.requireNonNull(distances, "The distances cannot be null.");
+        this.next = ValidationUtils.requireNonNull(next, "The next steps cannot be null.");
+    }
+
+    /**
+     * Returns the size of the plan.
+     *
+     * @return the size
+     */
+    public Size getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the version of the plan the field was calculated for.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the targets of the field.
+     *
+     * @return the read only mask
+     */
+    public FieldMask getTargets() {
+        return targets;
+    }
+
+    /**
+     * Returns the number of steps from the position with the passed index to the nearest target.
+     *
+     * @param index the index of the position, {@code row * columns + column}
+     *
+     * @return the number of steps or {@code -1} if no target can be reached
+     */
+    public int getDistance(int index) {
+        return distances[index];
+    }
+
+    /**
+     * Returns the number of steps from the passed position to the nearest target.
+     *
+     * @param position the position
+     *
+     * @return the number of steps or {@code -1} if no target can be reached or the position is not part of the plan
+     */
+    public int getDistance(Position position) {
+        int index = toIndex(position);
+        return index < 0 ? -1 : distances[index];
+    }
+
+    /**
+     * Returns the next step from the position with the passed index towards the nearest target.
+     *
+     * @param index the index of the position, {@code row * columns + column}
+     *
+     * @return the index of the next position or {@code -1} if the position is a target, a direct neighbour of a target or cannot reach a target
+     */
+    public int getNextStep(int index) {
+        return next[index];
+    }
+
+    /**
+     * Returns the next step from the passed position towards the nearest target.
+     *
+     * @param position the position
+     *
+     * @return the next position or {@code null} if the position is a target, a direct neighbour of a target or cannot reach a target
+     */
+    public Position getNextStep(Position position) {
+        int index = toIndex(position);
+        if (index < 0 || next[index] < 0) {
+            return null;
+        }
+        return new Position(next[index] % size.columns(), next[index] / size.columns());
+    }
+
+    /**
+     * Follows the next steps from the position with the passed index until a neighbour of a target is reached or the budget is used up.
+     *
+     * @param index  the index of the position, {@code row * columns + column}
+     * @param budget the maximum number of steps, e.g. the {@link mro.fantasy.game.engine.gamedata.GameDataType#MOVEMENT} of the character
+     * @param path   the array for the indexes of the path, has to be large enough for the path, i.e. at most {@code budget} elements
+     *
+     * @return the number of steps
+     */
+    public int getPath(int index, int budget, int[] path) {
+        int steps = 0;
+        for (int step = next[index]; step >= 0 && steps < budget; step = next[step]) {
+            path[steps++] = step;
+        }
+        return steps;
+    }
+
+    /**
+     * Returns the index of the position.
+     *
+     * @param position the position
+     *
+     * @return the index or {@code -1} if the position is not part of the plan
+     */
+    private int toIndex(Position position) {
+        if (position.column() < 0 || position.row() < 0 || position.column() >= size.columns() || position.row() >= size.rows()) {
+            return -1;
+        }
+        return position.row() * size.columns() + position.column();
+    }
+
+    @Override
+    public String toString() {
+        return "FlowField{size=" + size + ", version=" + version + ", targets=" + targets.cardinality() + '}';
+    }
+}
@@ -0,0 +1,58 @@
+package mro.fantasy.game.engine.services.path;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+
+import java.util.Collection;
+
+/**
+ * Service to calculate {@link FlowField}s for a group of characters that head towards the same targets, e.g. all enemies that attack the party. Instead of one search per
+ * character, one field is calculated for the targets and every character reads its next step from it. The fields are stored per {@link Plan#getVersion() plan version} and
+ * targets, i.e. a field is calculated again as soon as the plan changes and is shared by all characters with the same targets until then.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public interface FlowFieldService {
+
+    /**
+     * Counters of the service.
+     *
+     * @param hits   the number of requests that were answered with a stored field
+     * @param misses the number of requests that needed a calculation
+     * @param size   the number of stored fields
+     */
+    record Statistics(long hits, long misses, int size) {
+    }
+
+    /**
+     * Returns the flow field towards the passed targets on the current state of the plan.
+     *
+     * @param plan    the plan
+     * @param targets the targets, a mask with the size of the plan
+     *
+     * @return the field which will never change
+     *
+     * @throws IllegalArgumentException if the size of the mask does not match the plan
+     */
+    FlowField getFlowField(Plan plan, FieldMask targets);
+
+    /**
+     * Returns the flow field towards the passed targets on the current state of the plan. Targets that are not part of the plan are ignored.
+     *
+     * @param plan    the plan
+     * @param targets the targets
+     *
+     * @return the field which will never change
+     */
+    FlowField getFlowField(Plan plan, Collection<Position> targets);
+
+    /**
+     * Returns the current counters of the service.
+     *
+     * @return the statistics
+     */
+    Statistics getStatistics();
+
+}
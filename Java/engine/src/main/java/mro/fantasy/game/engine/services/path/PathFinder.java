@@ -0,0 +1,85 @@
+package mro.fantasy.game.engine.services.path;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.Size;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.utils.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A path finder which is bound to a single {@link Plan} and keeps precalculated data of the plan to answer requests faster than the {@link PathService}. The finder follows the
+ * modifications of the plan until it is {@link #close() closed}. The movement rules are the same as the rules of the {@link PathService}.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public interface PathFinder extends AutoCloseable {
+
+    /**
+     * Returns the plan of the finder.
+     *
+     * @return the plan
+     */
+    Plan getPlan();
+
+    /**
+     * Finds a path between the start and the destination and stores the indexes of the positions in the passed array. The start is not part of the path, the destination is the
+     * last element.
+     *
+     * @param start       the index of the start position, {@code row * columns + column}
+     * @param destination the index of the destination
+     * @param budget      the maximum number of steps
+     * @param path        the array for the path, has to be large enough for the path, i.e. at most {@code budget} elements
+     *
+     * @return the number of steps of the path, {@code 0} if start and destination are the same and {@code -1} if no path within the budget was found
+     *
+     * @throws IllegalArgumentException if the start or the destination is not part of the plan
+     */
+    int findPath(int start, int destination, int budget, int[] path);
+
+    /**
+     * Finds a path between the start and the destination.
+     *
+     * @param start       the start position
+     * @param destination the destination
+     * @param budget      the maximum number of steps
+     *
+     * @return the positions of the path without the start, an empty list if start and destination are the same and {@code null} if no path within the budget was found
+     *
+     * @throws IllegalArgumentException if the start or the destination is not part of the plan
+     */
+    default List<Position> findPath(Position start, Position destination, int budget) {
+        ValidationUtils.requireNonNull(start, "The start cannot be null.");
+        ValidationUtils.requireNonNull(destination, "The destination cannot be null.");
+
+        Size size = getPlan().getSize();
+        int columns = size.columns();
+
+        ValidationUtils.requireTrue(start.column() >= 0 && start.row() >= 0 && start.column() < columns && start.row() < size.rows(),
+                "The start ::= [" + start + "] is not part of the plan with size ::= [" + size + "]");
+        ValidationUtils.requireTrue(destination.column() >= 0 && destination.row() >= 0 && destination.column() < columns && destination.row() < size.rows(),
+                "The destination ::= [" + destination + "] is not part of the plan with size ::= [" + size + "]");
+
+        int[] path = new int[Math.max(0, Math.min(budget, 2 * columns * size.rows()))]; // a path of a finder that is not exact can visit a position twice
+        int steps = findPath(start.row() * columns + start.column(), destination.row() * columns + destination.column(), budget, path);
+
+        if (steps < 0) {
+            return null;
+        }
+
+        List<Position> result = new ArrayList<>(steps);
+        for (int i = 0; i < steps; i++) {
+            result.add(new Position(path[i] % columns, path[i] / columns));
+        }
+        return result;
+    }
+
+    /**
+     * Detaches the finder from the plan, afterwards the finder must not be used anymore.
+     */
+    @Override
+    void close();
+
+}
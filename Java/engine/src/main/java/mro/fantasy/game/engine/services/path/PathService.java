@@ -0,0 +1,84 @@
+package mro.fantasy.game.engine.services.path;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.engine.gamedata.GameDataSet;
+import mro.fantasy.game.engine.gamedata.GameDataType;
+import mro.fantasy.game.plan.Plan;
+
+import java.util.List;
+
+/**
+ * Service to find the shortest path of a character on a {@link Plan}. A character moves from one field to one of the four direct neighbours (north, east, south, west) and every
+ * step costs one {@link GameDataType#MOVEMENT} point. The movement rules are:
+ * <ul>
+ *     <li>every field on the path, except the start, must not {@link Plan#blocksMovement(Position) block the movement},</li>
+ *     <li>the destination must {@link Plan#canEnter(Position) allow entering},</li>
+ *     <li>the number of steps must not exceed the movement budget of the character.</li>
+ * </ul>
+ * The start field is occupied by the moving character itself and is therefore never checked. Since characters block the movement, other characters on the plan are obstacles.
+ * <p>
+ * Positions are addressed by their index {@code row * columns + column} in the primitive methods of the service to avoid the creation of objects.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public interface PathService {
+
+    /**
+     * Finds the shortest path between the start and the destination and stores the indexes of the positions in the passed array. The start is not part of the path, the
+     * destination is the last element. No objects are created during the search.
+     *
+     * @param plan        the plan
+     * @param start       the index of the start position
+     * @param destination the index of the destination
+     * @param budget      the maximum number of steps
+     * @param path        the array for the path, has to be large enough for the path, i.e. at most {@code budget} elements
+     *
+     * @return the number of steps of the path, {@code 0} if start and destination are the same and {@code -1} if no path within the budget exists
+     *
+     * @throws IllegalArgumentException if the start or the destination is not part of the plan
+     */
+    int findPath(Plan plan, int start, int destination, int budget, int[] path);
+
+    /**
+     * Finds the shortest path between the start and the destination.
+     *
+     * @param plan        the plan
+     * @param start       the start position
+     * @param destination the destination
+     * @param budget      the maximum number of steps
+     *
+     * @return the positions of the path without the start, an empty list if start and destination are the same and {@code null} if no path within the budget exists
+     *
+     * @throws IllegalArgumentException if the start or the destination is not part of the plan
+     */
+    List<Position> findPath(Plan plan, Position start, Position destination, int budget);
+
+    /**
+     * Finds the shortest path between the start and the destination, the budget is the {@link GameDataType#MOVEMENT} value of the passed data.
+     *
+     * @param plan        the plan
+     * @param start       the start position
+     * @param destination the destination
+     * @param data        the game data of the moving character
+     *
+     * @return the positions of the path without the start, an empty list if start and destination are the same and {@code null} if no path within the budget exists
+     *
+     * @throws IllegalArgumentException if the start or the destination is not part of the plan
+     */
+    default List<Position> findPath(Plan plan, Position start, Position destination, GameDataSet data) {
+        return findPath(plan, start, destination, data.getValue(GameDataType.MOVEMENT));
+    }
+
+    /**
+     * Creates a hierarchical path finder for the passed plan. The finder precalculates an abstract graph of the plan and answers requests on large plans much faster than this
+     * service, but the found paths are not always the shortest ones. The finder follows the modifications of the plan, it has to be {@link PathFinder#close() closed} if the
+     * plan is not used anymore.
+     *
+     * @param plan the plan
+     *
+     * @return the finder
+     */
+    PathFinder createHierarchicalPathFinder(Plan plan);
+
+}
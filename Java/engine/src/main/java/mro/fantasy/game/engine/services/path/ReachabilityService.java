@@ -0,0 +1,63 @@
+package mro.fantasy.game.engine.services.path;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.engine.gamedata.GameDataSet;
+import mro.fantasy.game.engine.gamedata.GameDataType;
+import mro.fantasy.game.plan.Plan;
+
+/**
+ * Service to calculate all positions a character can reach within its {@link GameDataType#MOVEMENT} budget, e.g. to highlight the movement options on the
+ * {@link mro.fantasy.game.devices.board.GameBoard} or to let the AI choose the best option. The results are stored per {@link Plan#getVersion() plan version}, origin and budget,
+ * i.e. the highlighting and the AI share the same calculation as long as the plan does not change.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public interface ReachabilityService {
+
+    /**
+     * Counters of the service.
+     *
+     * @param hits   the number of requests that were answered with a stored result
+     * @param misses the number of requests that needed a calculation
+     * @param size   the number of stored results
+     */
+    record Statistics(long hits, long misses, int size) {
+    }
+
+    /**
+     * Returns the positions that can be reached from the origin within the budget on the current state of the plan.
+     *
+     * @param plan   the plan
+     * @param origin the position of the character
+     * @param budget the maximum number of steps
+     *
+     * @return the area which will never change
+     *
+     * @throws IllegalArgumentException if the origin is not part of the plan
+     */
+    ReachableArea getReachableArea(Plan plan, Position origin, int budget);
+
+    /**
+     * Returns the positions that can be reached from the origin on the current state of the plan, the budget is the {@link GameDataType#MOVEMENT} value of the passed data.
+     *
+     * @param plan   the plan
+     * @param origin the position of the character
+     * @param data   the game data of the character
+     *
+     * @return the area which will never change
+     *
+     * @throws IllegalArgumentException if the origin is not part of the plan
+     */
+    default ReachableArea getReachableArea(Plan plan, Position origin, GameDataSet data) {
+        return getReachableArea(plan, origin, data.getValue(GameDataType.MOVEMENT));
+    }
+
+    /**
+     * Returns the current counters of the service.
+     *
+     * @return the statistics
+     */
+    Statistics getStatistics();
+
+}
@@ -0,0 +1,227 @@
+package mro.fantasy.game.engine.services.path;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.Size;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.impl.FieldMaskImpl;
+import mro.fantasy.game.utils.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All positions a character can reach from its position on a {@link Plan} within a movement budget, calculated by the {@link ReachabilityService}. The area is immutable and
+ * belongs to the {@link Plan#getVersion() version} of the plan it was calculated for, i.e. it can be shared by everyone who needs the movement options of the character in this
+ * turn:
+ * <ul>
+ *     <li>the {@link #getReachableMask()} contains all positions the character can move to, e.g. to light up the LEDs of the game board,</li>
+ *     <li>the {@link #getCost(Position)} and {@link #getPath(Position)} methods allow the AI to rate and execute the movement options without another search.</li>
+ * </ul>
+ * The movement rules are the same as the rules of the {@link PathService}.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public final class ReachableArea {
+
+    /**
+     * The size of the plan.
+     */
+    private final Size size;
+
+    /**
+     * The index of the origin.
+     */
+    private final int origin;
+
+    /**
+     * The movement budget.
+     */
+    private final int budget;
+
+    /**
+     * The version of the plan the area was calculated for.
+     */
+    private final long version;
+
+    /**
+     * The number of steps from the origin to a position by the position index, {@code -1} if the position cannot be walked on within the budget.
+     */
+    private final int[] costs;
+
+    /**
+     * The previous position on the shortest path from the origin by the position index.
+     */
+    private final int[] parents;
+
+    /**
+     * The positions the character can move to.
+     */
+    private final FieldMaskImpl reachableMask;
+
+    /**
+     * Creates a new area, the arrays are not copied and must not be changed by the caller afterwards.
+     *
+     * @param size          the size of the plan
+     * @param origin        the index of the origin
+     * @param budget        the movement budget
+     * @param version       the version of the plan
+     * @param costs         the number of steps by the position index, {@code -1} for positions that cannot be walked on
+     * @param parents       the previous position on the shortest path by the position index
+     * @param reachableMask the positions the character can move to
+     */
+    public ReachableArea(Size size, int origin, int budget, long version, int[] costs, int[] parents, FieldMaskImpl reachableMask) {
+        this.size = ValidationUtils.requireNonNull(size, "The size cannot be null.");
+        this.origin = origin;
+        this.budget = budget;
+        this.version = version;
+        this.costs = ValidationUtils.requireNonNull(costs, "The costs cannot be null.");
+        this.parents = ValidationUtils.requireNonNull(parents, "The parents cannot be null.");
+        this.reachableMask = ValidationUtils.requireNonNull(reachableMask, "The reachable mask cannot be null.");
+    }
+
+    /**
+     * Returns the size of the plan.
+     *
+     * @return the size
+     */
+    public Size getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the position of the character.
+     *
+     * @return the origin
+     */
+    public Position getOrigin() {
+        return new Position(origin % size.columns(), origin / size.columns());
+    }
+
+    /**
+     * Returns the movement budget the area was calculated for.
+     *
+     * @return the budget
+     */
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns the version of the plan the area was calculated for.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns all positions the character can move to, i.e. all positions that can be entered and reached within the budget. The origin itself is not part of the mask.
+     *
+     * @return the read only mask
+     */
+    public FieldMask getReachableMask() {
+        return reachableMask;
+    }
+
+    /**
+     * Checks if the character can move to the position.
+     *
+     * @param position the position
+     *
+     * @return {@code true} if the position can be entered and reached within the budget
+     */
+    public boolean isReachable(Position position) {
+        return reachableMask.isSet(position);
+    }
+
+    /**
+     * Returns the number of steps from the origin to the passed position. The costs are also available for positions that can be walked over but not be entered.
+     *
+     * @param position the position
+     *
+     * @return the number of steps, {@code -1} if the position cannot be walked on within the budget or is not part of the plan
+     */
+    public int getCost(Position position) {
+        int index = toIndex(position);
+        return index < 0 ? -1 : costs[index];
+    }
+
+    /**
+     * Returns the number of steps from the origin to the position with the passed index.
+     *
+     * @param index the index of the position, {@code row * columns + column}
+     *
+     * @return the number of steps, {@code -1} if the position cannot be walked on within the budget
+     */
+    public int getCost(int index) {
+        return costs[index];
+    }
+
+    /**
+     * Stores the shortest path from the origin to the position with the passed index in the array. The origin is not part of the path.
+     *
+     * @param index the index of the destination, {@code row * columns + column}
+     * @param path  the array for the indexes of the path, has to be large enough for the path, i.e. at most {@link #getBudget()} elements
+     *
+     * @return the number of steps or {@code -1} if the character cannot move to the destination
+     */
+    public int getPath(int index, int[] path) {
+        if (!reachableMask.isSet(index % size.columns(), index / size.columns())) {
+            return -1;
+        }
+
+        int steps = costs[index];
+        ValidationUtils.requireTrue(path.length >= steps, "The path array with length ::= [" + path.length + "] is too small for ::= [" + steps + "] steps");
+
+        for (int i = steps - 1; i >= 0; i--) {
+            path[i] = index;
+            index = parents[index];
+        }
+        return steps;
+    }
+
+    /**
+     * Returns the shortest path from the origin to the passed position. The origin is not part of the path.
+     *
+     * @param position the destination
+     *
+     * @return the positions of the path or {@code null} if the character cannot move to the destination
+     */
+    public List<Position> getPath(Position position) {
+        int index = toIndex(position);
+        if (index < 0 || !reachableMask.isSet(position)) {
+            return null;
+        }
+
+        int[] path = new int[costs[index]];
+        getPath(index, path);
+
+        List<Position> result = new ArrayList<>(path.length);
+        for (int step : path) {
+            result.add(new Position(step % size.columns(), step / size.columns()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the position.
+     *
+     * @param position the position
+     *
+     * @return the index or {@code -1} if the position is not part of the plan
+     */
+    private int toIndex(Position position) {
+        if (position.column() < 0 || position.row() < 0 || position.column() >= size.columns() || position.row() >= size.rows()) {
+            return -1;
+        }
+        return position.row() * size.columns() + position.column();
+    }
+
+    @Override
+    public String toString() {
+        return "ReachableArea{origin=" + getOrigin() + ", budget=" + budget + ", version=" + version + ", reachable=" + reachableMask.cardinality() + '}';
+    }
+}
@@ -0,0 +1,203 @@
+package mro.fantasy.game.engine.services.path.impl;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.Size;
+import mro.fantasy.game.engine.services.path.FlowField;
+import mro.fantasy.game.engine.services.path.FlowFieldService;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.impl.FieldMaskImpl;
+import mro.fantasy.game.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of the {@link FlowFieldService} that calculates a field with a single breadth first search which starts at all targets at the same time. The queue of the search
+ * is reused by all calculations of the same thread.
+ * <p>
+ * The fields are stored in a bounded LRU map, the key contains the {@link Plan#getVersion() plan version}. A modification of the plan, e.g. a moving character, changes the
+ * version and therefore leads to a new calculation with the next request, outdated fields are removed from the map over time.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+@Service
+public class FlowFieldServiceImpl implements FlowFieldService {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(FlowFieldServiceImpl.class);
+
+    /**
+     * The key of a stored field.
+     *
+     * @param version the version of the plan
+     * @param targets the targets
+     */
+    private record Key(long version, FieldMask targets) {
+    }
+
+    /**
+     * Maximum number of stored fields. If more fields are calculated the least recently used ones are removed.
+     */
+    @Value("${game.path.flowfield.cache.size:64}")
+    private int maximumSize = 64;
+
+    /**
+     * The search data of every thread.
+     */
+    private final ThreadLocal<SearchContext> contexts = ThreadLocal.withInitial(SearchContext::new);
+
+    /**
+     * The stored fields in access order.
+     */
+    private final LinkedHashMap<Key, FlowField> fields = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, FlowField> eldest) {
+            return size() > maximumSize;
+        }
+    };
+
+    /**
+     * The number of requests answered with a stored field.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The number of requests that needed a calculation.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    @Override
+    public FlowField getFlowField(Plan plan, FieldMask targets) {
+        ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+        ValidationUtils.requireNonNull(targets, "The targets cannot be null.");
+        ValidationUtils.requireTrue(plan.getSize().equals(targets.getSize()),
+                "The size of the targets ::= [" + targets.getSize() + "] does not match the plan size ::= [" + plan.getSize() + "]");
+
+        FieldMaskImpl copy = FieldMaskImpl.copyOf(targets);                 // the caller may change the mask afterwards
+        Key key = new Key(plan.getVersion(), copy);
+
+        synchronized (fields) {
+            FlowField stored = fields.get(key);
+            if (stored != null) {
+                hits.increment();
+                return stored;
+            }
+        }
+
+        misses.increment();
+
+        FlowField field = calculate(plan, copy);
+
+        LOG.trace("Calculated flow field ::= [{}]", field);
+
+        synchronized (fields) {
+            FlowField previous = fields.putIfAbsent(key, field);            // another thread may have calculated the same field in the meantime
+            return previous != null ? previous : field;
+        }
+    }
+
+    @Override
+    public FlowField getFlowField(Plan plan, Collection<Position> targets) {
+        ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+        ValidationUtils.requireNonNull(targets, "The targets cannot be null.");
+
+        Size size = plan.getSize();
+        FieldMaskImpl mask = new FieldMaskImpl(size);
+        for (Position target : targets) {
+            if (target.column() >= 0 && target.row() >= 0 && target.column() < size.columns() && target.row() < size.rows()) {
+                mask.set(target.column(), target.row(), true);
+            }
+        }
+        return getFlowField(plan, mask);
+    }
+
+    @Override
+    public Statistics getStatistics() {
+        synchronized (fields) {
+            return new Statistics(hits.sum(), misses.sum(), fields.size());
+        }
+    }
+
+    /**
+     * Calculates the field with a breadth first search from all targets. Positions that block the movement get a distance but are not expanded, so that characters can read their
+     * next step while no path leads through them.
+     *
+     * @param plan    the plan
+     * @param targets the targets
+     *
+     * @return the field
+     */
+    private FlowField calculate(Plan plan, FieldMaskImpl targets) {
+        Size size = plan.getSize();
+        int columns = size.columns();
+        int rows = size.rows();
+        int positions = columns * rows;
+
+        FieldMask movement = plan.getMovementMask();
+
+        int[] distances = new int[positions];
+        int[] next = new int[positions];
+        Arrays.fill(distances, -1);
+        Arrays.fill(next, -1);
+
+        SearchContext context = contexts.get();
+        context.prepare(positions);
+        int[] queue = context.heap;
+        int head = 0;
+        int tail = 0;
+
+        for (int row = 0; row < rows; row++) {                              // all targets are the sources of the search
+            for (int word = 0; word < targets.getWordsPerRow(); word++) {
+                long bits = targets.getWord(row, word);
+                while (bits != 0) {
+                    int index = row * columns + (word << 6) + Long.numberOfTrailingZeros(bits);
+                    distances[index] = 0;
+                    queue[tail++] = index;
+                    bits &= bits - 1;
+                }
+            }
+        }
+
+        while (head < tail) {
+            int current = queue[head++];
+            int column = current % columns;
+            int row = current / columns;
+            int distance = distances[current] + 1;
+
+            for (int direction = 0; direction < 4; direction++) {           // north, east, south, west
+                int c = column + (direction == 1 ? 1 : direction == 3 ? -1 : 0);
+                int r = row + (direction == 2 ? 1 : direction == 0 ? -1 : 0);
+
+                if (c < 0 || r < 0 || c >= columns || r >= rows) {
+                    continue;
+                }
+
+                int neighbour = r * columns + c;
+                if (distances[neighbour] >= 0) {                            // the first visit always has the lowest distance
+                    continue;
+                }
+
+                distances[neighbour] = distance;
+                next[neighbour] = distance > 1 ? current : -1;              // the neighbours of a target have arrived
+
+                if (!MovementRules.isBlocked(movement, c, r)) {
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+
+        return new FlowField(size, plan.getVersion(), targets, distances, next);
+    }
+
+}
@@ -0,0 +1,746 @@
+package mro.fantasy.game.engine.services.path.impl;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.engine.events.GameEventListener;
+import mro.fantasy.game.engine.events.PlanChangedEvent;
+import mro.fantasy.game.engine.services.path.PathFinder;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical path finder for large plans. The plan is divided into square clusters, the borders between two neighbouring clusters are scanned for entrances, i.e. rows of
+ * positions on both sides of the border that do not block the movement. Every entrance gets one transition (two for wide entrances) which connects a position of the first
+ * cluster with the neighbour position of the second cluster. The positions of the transitions are the nodes of an abstract graph:
+ * <ul>
+ *     <li>two nodes of the same cluster are connected with the length of the shortest path between them inside the cluster,</li>
+ *     <li>the two nodes of a transition are connected with the costs of a single step.</li>
+ * </ul>
+ * A request connects the start and the destination with the nodes of their clusters, searches the abstract graph with A* and refines the abstract path with searches inside the
+ * single clusters. Since the size of a search inside a cluster does not depend on the size of the plan, the costs of a request mainly depend on the number of clusters between
+ * start and destination instead of the number of positions.
+ * <p>
+ * The found paths are valid and never exceed the budget, but they can be a few steps longer than the shortest path, because the abstract graph only contains some positions of
+ * every entrance. Use the {@link mro.fantasy.game.engine.services.path.PathService} if the shortest path is mandatory, e.g. to check if a character can reach a position with
+ * its remaining movement points.
+ * <p>
+ * The finder registers itself as listener of the plan. A modification only marks the clusters of the changed positions, the abstract graph of these clusters and their
+ * neighbours is rebuilt with the next request. The finder is not thread safe, it has to be used by the thread that modifies the plan.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public class HierarchicalPathFinder implements PathFinder, GameEventListener<PlanChangedEvent> {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(HierarchicalPathFinder.class);
+
+    /**
+     * Entrances with at least this number of positions get a transition at both ends instead of a single one in the middle.
+     */
+    private static final int WIDE_ENTRANCE = 6;
+
+    /**
+     * Empty array for borders without transitions.
+     */
+    private static final int[] NONE = new int[0];
+
+    /**
+     * The plan.
+     */
+    private final Plan plan;
+
+    /**
+     * The number of columns of the plan.
+     */
+    private final int columns;
+
+    /**
+     * The number of rows of the plan.
+     */
+    private final int rows;
+
+    /**
+     * The number of columns and rows of a cluster.
+     */
+    private final int clusterSize;
+
+    /**
+     * The number of clusters per row.
+     */
+    private final int clusterColumns;
+
+    /**
+     * The number of clusters per column.
+     */
+    private final int clusterRows;
+
+    /**
+     * The transitions to the eastern neighbour of a cluster as pairs of position indexes, the first position belongs to the cluster, the second one to the neighbour.
+     */
+    private final int[][] eastTransitions;
+
+    /**
+     * The transitions to the southern neighbour of a cluster as pairs of position indexes, the first position belongs to the cluster, the second one to the neighbour.
+     */
+    private final int[][] southTransitions;
+
+    /**
+     * The position indexes of the nodes of a cluster. A position on a corner of the cluster can be part of two transitions and is therefore stored twice.
+     */
+    private final int[][] nodes;
+
+    /**
+     * The position index of the transition partner of every node of a cluster.
+     */
+    private final int[][] partners;
+
+    /**
+     * The lengths of the shortest paths between the nodes of a cluster, stored as {@code from * nodes + to}, {@code -1} if there is no path inside the cluster.
+     */
+    private final int[][] distances;
+
+    /**
+     * The clusters that were changed since the last request.
+     */
+    private final boolean[] dirty;
+
+    /**
+     * If at least one cluster is marked as {@link #dirty}.
+     */
+    private boolean anyDirty = true;
+
+    /**
+     * The search inside the cluster of the start.
+     */
+    private final SearchContext startSearch = new SearchContext();
+
+    /**
+     * The search inside the cluster of the destination.
+     */
+    private final SearchContext destinationSearch = new SearchContext();
+
+    /**
+     * The searches inside the neighbour clusters of the start, starting at the {@link #exits}.
+     */
+    private final SearchContext[] exitSearches = {new SearchContext(), new SearchContext()};
+
+    /**
+     * The neighbours of the start that belong to another cluster. The start does not block the movement for its own character, but it cannot be part of a transition since it
+     * blocks the movement for all others, i.e. a start on a border needs a direct connection to the neighbour clusters.
+     */
+    private final int[] exits = new int[2];
+
+    /**
+     * The search inside a cluster to refine the abstract path or to calculate the distances of the nodes.
+     */
+    private final SearchContext clusterSearch = new SearchContext();
+
+    /**
+     * The search on the abstract graph, the index after the last position is used for the destination.
+     */
+    private final SearchContext abstractSearch = new SearchContext();
+
+    /**
+     * The nodes of the found abstract path.
+     */
+    private final int[] waypoints;
+
+    /**
+     * Creates a new finder and registers it at the plan.
+     *
+     * @param plan        the plan
+     * @param clusterSize the number of columns and rows of a cluster
+     */
+    public HierarchicalPathFinder(Plan plan, int clusterSize) {
+        this.plan = ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+        ValidationUtils.requireTrue(clusterSize > 1, "The cluster size ::= [" + clusterSize + "] must be larger than one.");
+
+        this.columns = plan.getSize().columns();
+        this.rows = plan.getSize().rows();
+        this.clusterSize = clusterSize;
+        this.clusterColumns = (columns + clusterSize - 1) / clusterSize;
+        this.clusterRows = (rows + clusterSize - 1) / clusterSize;
+
+        int clusters = clusterColumns * clusterRows;
+        this.eastTransitions = new int[clusters][];
+        this.southTransitions = new int[clusters][];
+        this.nodes = new int[clusters][];
+        this.partners = new int[clusters][];
+        this.distances = new int[clusters][];
+        this.dirty = new boolean[clusters];
+        this.waypoints = new int[columns * rows];
+
+        Arrays.fill(dirty, true);
+
+        plan.registerListener(this);
+    }
+
+    @Override
+    public Plan getPlan() {
+        return plan;
+    }
+
+    @Override
+    public void onEvent(PlanChangedEvent event) {
+        if (event.getPlan() != plan) {
+            return;
+        }
+        for (Position position : event.getPositions()) {
+            dirty[(position.row() / clusterSize) * clusterColumns + position.column() / clusterSize] = true;
+        }
+        anyDirty = true;
+    }
+
+    @Override
+    public void close() {
+        plan.removeListener(this);
+    }
+
+    @Override
+    public int findPath(int start, int destination, int budget, int[] path) {
+        ValidationUtils.requireNonNull(path, "The path cannot be null.");
+
+        int positions = columns * rows;
+        ValidationUtils.requireTrue(start >= 0 && start < positions, "The start ::= [" + start + "] is not part of the plan with size ::= [" + plan.getSize() + "]");
+        ValidationUtils.requireTrue(destination >= 0 && destination < positions,
+                "The destination ::= [" + destination + "] is not part of the plan with size ::= [" + plan.getSize() + "]");
+
+        if (start == destination) {
+            return 0;
+        }
+
+        int destinationColumn = destination % columns;
+        int destinationRow = destination / columns;
+
+        if (budget <= 0 || MovementRules.manhattan(start % columns, start / columns, destinationColumn, destinationRow) > budget
+                || !MovementRules.isDestination(plan.getMovementMask(), plan.getEnterMask(), destinationColumn, destinationRow)) {
+            return -1;
+        }
+
+        rebuild();
+
+        int startCluster = clusterOf(start);
+        int destinationCluster = clusterOf(destination);
+
+        flood(startSearch, startCluster, start);
+        flood(destinationSearch, destinationCluster, destination);
+
+        int exitCount = 0;
+        for (int direction = 0; direction < 4; direction++) {               // a start on the border of the cluster can leave it directly
+            int c = start % columns + (direction == 1 ? 1 : direction == 3 ? -1 : 0);
+            int r = start / columns + (direction == 2 ? 1 : direction == 0 ? -1 : 0);
+
+            if (c < 0 || r < 0 || c >= columns || r >= rows || clusterOf(r * columns + c) == startCluster || MovementRules.isBlocked(plan.getMovementMask(), c, r)) {
+                continue;
+            }
+
+            exits[exitCount] = r * columns + c;
+            flood(exitSearches[exitCount], clusterOf(exits[exitCount]), exits[exitCount]);
+            exitCount++;
+        }
+
+        int goal = positions;                                               // virtual node for the destination after the last position
+        SearchContext search = abstractSearch;
+        search.prepare(positions + 1);
+
+        if (startCluster == destinationCluster) {                           // the direct path inside the cluster is a candidate
+            relax(search, goal, localDistance(startSearch, startCluster, destination), -1, budget, destinationColumn, destinationRow);
+        }
+
+        int[] startNodes = nodes[startCluster];
+        for (int i = 0; i < startNodes.length; i++) {
+            relax(search, startNodes[i], localDistance(startSearch, startCluster, startNodes[i]), -1, budget, destinationColumn, destinationRow);
+        }
+
+        for (int k = 0; k < exitCount; k++) {                              // the parent of nodes reached through an exit is encoded as -2 - k
+            int cluster = clusterOf(exits[k]);
+            if (cluster == destinationCluster) {
+                relax(search, goal, throughExit(k, cluster, destination), -2 - k, budget, destinationColumn, destinationRow);
+            }
+            for (int node : nodes[cluster]) {
+                relax(search, node, throughExit(k, cluster, node), -2 - k, budget, destinationColumn, destinationRow);
+            }
+        }
+
+        boolean found = false;
+
+        while (search.heapSize > 0) {
+            int current = search.pop();
+            if (current == goal) {
+                found = true;
+                break;
+            }
+
+            search.closed[current] = search.generation;
+
+            int distance = search.distance[current];
+            int cluster = clusterOf(current);
+
+            if (cluster == destinationCluster) {
+                int remaining = localDistance(destinationSearch, destinationCluster, current);
+                if (remaining >= 0) {
+                    relax(search, goal, distance + remaining, current, budget, destinationColumn, destinationRow);
+                }
+            }
+
+            int[] clusterNodes = nodes[cluster];
+            int[] clusterDistances = distances[cluster];
+            for (int i = 0; i < clusterNodes.length; i++) {
+                if (clusterNodes[i] != current) {
+                    continue;
+                }
+
+                relax(search, partners[cluster][i], distance + 1, current, budget, destinationColumn, destinationRow);
+
+                for (int j = 0; j < clusterNodes.length; j++) {
+                    int costs = clusterDistances[i * clusterNodes.length + j];
+                    if (costs > 0) {
+                        relax(search, clusterNodes[j], distance + costs, current, budget, destinationColumn, destinationRow);
+                    }
+                }
+            }
+        }
+
+        if (!found) {
+            return -1;
+        }
+
+        return refine(search, start, destination, startCluster, destinationCluster, path);
+    }
+
+    /**
+     * Returns the distance from the start to a position through an exit of the start.
+     *
+     * @param exit     the index of the exit
+     * @param cluster  the cluster of the exit
+     * @param position the position index, has to be part of the cluster
+     *
+     * @return the distance or {@code -1} if the position cannot be reached inside the cluster
+     */
+    private int throughExit(int exit, int cluster, int position) {
+        int distance = localDistance(exitSearches[exit], cluster, position);
+        return distance < 0 ? -1 : distance + 1;
+    }
+
+    /**
+     * Updates the costs of a node of the abstract graph if the new costs are lower than the known ones and the node can still lead to a path within the budget.
+     *
+     * @param search            the abstract search
+     * @param node              the position index of the node or the index of the virtual destination node
+     * @param costs             the costs from the start to the node, a negative value if the node cannot be reached
+     * @param parent            the previous node, {@code -1} for the start and {@code -2 - k} for the exit {@code k} of the start
+     * @param budget            the budget
+     * @param destinationColumn the column of the destination
+     * @param destinationRow    the row of the destination
+     */
+    private void relax(SearchContext search, int node, int costs, int parent, int budget, int destinationColumn, int destinationRow) {
+        if (costs < 0 || search.closed[node] == search.generation) {
+            return;
+        }
+
+        int estimate = costs + (node == columns * rows ? 0 : MovementRules.manhattan(node % columns, node / columns, destinationColumn, destinationRow));
+        if (estimate > budget) {
+            return;
+        }
+
+        boolean added = search.visited[node] != search.generation;
+        if (added || costs < search.distance[node]) {
+            search.visited[node] = search.generation;
+            search.distance[node] = costs;
+            search.estimate[node] = estimate;
+            search.parent[node] = parent;
+            search.push(node, added);
+        }
+    }
+
+    /**
+     * Converts the found abstract path into the positions of the path.
+     *
+     * @param search             the finished abstract search
+     * @param start              the start
+     * @param destination        the destination
+     * @param startCluster       the cluster of the start
+     * @param destinationCluster the cluster of the destination
+     * @param path               the array for the path
+     *
+     * @return the number of steps
+     */
+    private int refine(SearchContext search, int start, int destination, int startCluster, int destinationCluster, int[] path) {
+        int goal = columns * rows;
+        int steps = search.distance[goal];
+
+        ValidationUtils.requireTrue(path.length >= steps, "The path array with length ::= [" + path.length + "] is too small for ::= [" + steps + "] steps");
+
+        int count = 0;                                                      // collect the nodes of the abstract path, the last node is stored first
+        int node = search.parent[goal];
+        for (; node >= 0; node = search.parent[node]) {
+            waypoints[count++] = node;
+        }
+
+        if (count == 0) {                                                   // direct path from the start without a node
+            writeStart(node, startCluster, destination, path);
+            return steps;
+        }
+
+        int offset = writeStart(node, startCluster, waypoints[count - 1], path);
+
+        for (int i = count - 1; i > 0; i--) {
+            int from = waypoints[i];
+            int to = waypoints[i - 1];
+            if (search.distance[to] - search.distance[from] == 1) {         // transition or direct neighbour
+                path[offset++] = to;
+            } else {
+                int cluster = clusterOf(from);
+                flood(clusterSearch, cluster, from);
+                offset = writeForward(clusterSearch, cluster, to, path, offset);
+            }
+        }
+
+        writeBackward(destinationSearch, destinationCluster, waypoints[0], path, offset);
+        return steps;
+    }
+
+    /**
+     * Writes the path from the start to the passed position into the array, the start is not written.
+     *
+     * @param origin       the parent of the first node, {@code -1} for the start cluster and {@code -2 - k} for the exit {@code k}
+     * @param startCluster the cluster of the start
+     * @param position     the position index of the last position of the path
+     * @param path         the array for the path
+     *
+     * @return the index after the last written element
+     */
+    private int writeStart(int origin, int startCluster, int position, int[] path) {
+        if (origin == -1) {
+            return writeForward(startSearch, startCluster, position, path, 0);
+        }
+        int exit = -2 - origin;
+        path[0] = exits[exit];
+        return writeForward(exitSearches[exit], clusterOf(exits[exit]), position, path, 1);
+    }
+
+    /**
+     * Writes the path from the source of a cluster search to the passed position into the array, the source is not written.
+     *
+     * @param search   the finished cluster search
+     * @param cluster  the cluster
+     * @param position the position index of the last position of the path
+     * @param path     the array for the path
+     * @param offset   the index of the first element to write
+     *
+     * @return the index after the last written element
+     */
+    private int writeForward(SearchContext search, int cluster, int position, int[] path, int offset) {
+        int local = toLocal(cluster, position);
+        int length = search.distance[local];
+        for (int i = offset + length - 1; i >= offset; i--) {
+            path[i] = toGlobal(cluster, local);
+            local = search.parent[local];
+        }
+        return offset + length;
+    }
+
+    /**
+     * Writes the path from the passed position to the source of a cluster search into the array, the passed position is not written.
+     *
+     * @param search   the finished cluster search
+     * @param cluster  the cluster
+     * @param position the position index of the first position of the path
+     * @param path     the array for the path
+     * @param offset   the index of the first element to write
+     */
+    private void writeBackward(SearchContext search, int cluster, int position, int[] path, int offset) {
+        for (int local = search.parent[toLocal(cluster, position)]; local >= 0; local = search.parent[local]) {
+            path[offset++] = toGlobal(cluster, local);
+        }
+    }
+
+    /**
+     * Breadth first search from a position to all positions of its cluster. The source is never checked against the movement mask since it may be occupied by the moving
+     * character. The search uses local indexes inside the cluster, see {@link #toLocal(int, int)}.
+     *
+     * @param search  the search
+     * @param cluster the cluster
+     * @param source  the position index of the source
+     */
+    private void flood(SearchContext search, int cluster, int source) {
+        FieldMask movement = plan.getMovementMask();
+
+        int minColumn = (cluster % clusterColumns) * clusterSize;
+        int minRow = (cluster / clusterColumns) * clusterSize;
+        int maxColumn = Math.min(columns, minColumn + clusterSize) - 1;
+        int maxRow = Math.min(rows, minRow + clusterSize) - 1;
+
+        search.prepare(clusterSize * clusterSize);
+
+        int[] queue = search.heap;
+        int head = 0;
+        int tail = 0;
+
+        int local = toLocal(cluster, source);
+        search.visited[local] = search.generation;
+        search.distance[local] = 0;
+        search.parent[local] = -1;
+        queue[tail++] = local;
+
+        while (head < tail) {
+            int current = queue[head++];
+            int column = minColumn + current % clusterSize;
+            int row = minRow + current / clusterSize;
+
+            for (int direction = 0; direction < 4; direction++) {           // north, east, south, west
+                int c = column + (direction == 1 ? 1 : direction == 3 ? -1 : 0);
+                int r = row + (direction == 2 ? 1 : direction == 0 ? -1 : 0);
+
+                if (c < minColumn || r < minRow || c > maxColumn || r > maxRow) {
+                    continue;
+                }
+
+                int neighbour = (r - minRow) * clusterSize + (c - minColumn);
+                if (search.visited[neighbour] == search.generation || MovementRules.isBlocked(movement, c, r)) {
+                    continue;
+                }
+
+                search.visited[neighbour] = search.generation;
+                search.distance[neighbour] = search.distance[current] + 1;
+                search.parent[neighbour] = current;
+                queue[tail++] = neighbour;
+            }
+        }
+    }
+
+    /**
+     * Returns the distance of a position to the source of a cluster search.
+     *
+     * @param search   the finished cluster search
+     * @param cluster  the cluster of the search
+     * @param position the position index, has to be part of the cluster
+     *
+     * @return the distance or {@code -1} if the position cannot be reached inside the cluster
+     */
+    private int localDistance(SearchContext search, int cluster, int position) {
+        int local = toLocal(cluster, position);
+        return search.visited[local] == search.generation ? search.distance[local] : -1;
+    }
+
+    /**
+     * Rebuilds the transitions of the borders of all changed clusters and the nodes of the changed clusters and their neighbours.
+     */
+    private void rebuild() {
+        if (!anyDirty) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        int clusters = clusterColumns * clusterRows;
+        boolean[] changedNodes = new boolean[clusters];
+        int rebuilt = 0;
+
+        for (int cluster = 0; cluster < clusters; cluster++) {
+            if (!dirty[cluster]) {
+                continue;
+            }
+
+            int cx = cluster % clusterColumns;
+            int cy = cluster / clusterColumns;
+
+            eastTransitions[cluster] = findTransitions(cluster, true);
+            southTransitions[cluster] = findTransitions(cluster, false);
+            changedNodes[cluster] = true;
+
+            if (cx > 0) {                                                   // the western and northern borders belong to the neighbours
+                eastTransitions[cluster - 1] = findTransitions(cluster - 1, true);
+                changedNodes[cluster - 1] = true;
+            }
+            if (cy > 0) {
+                southTransitions[cluster - clusterColumns] = findTransitions(cluster - clusterColumns, false);
+                changedNodes[cluster - clusterColumns] = true;
+            }
+            if (cx < clusterColumns - 1) {
+                changedNodes[cluster + 1] = true;
+            }
+            if (cy < clusterRows - 1) {
+                changedNodes[cluster + clusterColumns] = true;
+            }
+
+            dirty[cluster] = false;
+        }
+
+        for (int cluster = 0; cluster < clusters; cluster++) {
+            if (changedNodes[cluster]) {
+                buildNodes(cluster);
+                rebuilt++;
+            }
+        }
+
+        anyDirty = false;
+
+        LOG.debug("Rebuilt ::= [{}] of ::= [{}] clusters of plan ::= [{}] in ::= [{}] µs", rebuilt, clusters, plan.getGameId(), (System.nanoTime() - start) / 1000);
+    }
+
+    /**
+     * Scans the eastern or southern border of a cluster for entrances and creates their transitions.
+     *
+     * @param cluster the cluster
+     * @param east    {@code true} for the eastern border, {@code false} for the southern one
+     *
+     * @return the transitions as pairs of position indexes
+     */
+    private int[] findTransitions(int cluster, boolean east) {
+        int cx = cluster % clusterColumns;
+        int cy = cluster / clusterColumns;
+
+        if ((east && cx == clusterColumns - 1) || (!east && cy == clusterRows - 1)) {
+            return NONE;
+        }
+
+        FieldMask movement = plan.getMovementMask();
+
+        int fixed = east ? (cx + 1) * clusterSize - 1 : (cy + 1) * clusterSize - 1; // the last column or row of the cluster
+        int from = east ? cy * clusterSize : cx * clusterSize;
+        int to = east ? Math.min(rows, from + clusterSize) : Math.min(columns, from + clusterSize);
+
+        int[] result = new int[4 * clusterSize];                            // at most one entrance for every second position with two transitions each
+        int count = 0;
+        int entranceStart = -1;
+
+        for (int i = from; i <= to; i++) {
+            boolean open = i < to && (east
+                    ? !MovementRules.isBlocked(movement, fixed, i) && !MovementRules.isBlocked(movement, fixed + 1, i)
+                    : !MovementRules.isBlocked(movement, i, fixed) && !MovementRules.isBlocked(movement, i, fixed + 1));
+
+            if (open && entranceStart < 0) {
+                entranceStart = i;
+            } else if (!open && entranceStart >= 0) {
+                int end = i - 1;
+                if (end - entranceStart + 1 >= WIDE_ENTRANCE) {
+                    count = addTransition(result, count, fixed, entranceStart, east);
+                    count = addTransition(result, count, fixed, end, east);
+                } else {
+                    count = addTransition(result, count, fixed, (entranceStart + end) >>> 1, east);
+                }
+                entranceStart = -1;
+            }
+        }
+
+        return count == 0 ? NONE : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Adds a transition across a border.
+     *
+     * @param transitions the transitions
+     * @param count       the number of used elements of the transitions
+     * @param fixed       the last column (eastern border) or row (southern border) of the cluster
+     * @param position    the row (eastern border) or column (southern border) of the transition
+     * @param east        {@code true} for the eastern border, {@code false} for the southern one
+     *
+     * @return the new number of used elements
+     */
+    private int addTransition(int[] transitions, int count, int fixed, int position, boolean east) {
+        if (east) {
+            transitions[count++] = position * columns + fixed;
+            transitions[count++] = position * columns + fixed + 1;
+        } else {
+            transitions[count++] = fixed * columns + position;
+            transitions[count++] = (fixed + 1) * columns + position;
+        }
+        return count;
+    }
+
+    /**
+     * Collects the nodes of a cluster from the transitions of its four borders and calculates the distances between them.
+     *
+     * @param cluster the cluster
+     */
+    private void buildNodes(int cluster) {
+        int cx = cluster % clusterColumns;
+        int cy = cluster / clusterColumns;
+
+        int[] east = eastTransitions[cluster];
+        int[] south = southTransitions[cluster];
+        int[] west = cx > 0 ? eastTransitions[cluster - 1] : NONE;
+        int[] north = cy > 0 ? southTransitions[cluster - clusterColumns] : NONE;
+
+        int count = (east.length + south.length + west.length + north.length) / 2;
+        int[] clusterNodes = new int[count];
+        int[] clusterPartners = new int[count];
+
+        int n = 0;
+        for (int i = 0; i < east.length; i += 2, n++) {                    // the cluster owns the first position of its eastern and southern transitions
+            clusterNodes[n] = east[i];
+            clusterPartners[n] = east[i + 1];
+        }
+        for (int i = 0; i < south.length; i += 2, n++) {
+            clusterNodes[n] = south[i];
+            clusterPartners[n] = south[i + 1];
+        }
+        for (int i = 0; i < west.length; i += 2, n++) {                    // and the second position of the transitions of its western and northern neighbours
+            clusterNodes[n] = west[i + 1];
+            clusterPartners[n] = west[i];
+        }
+        for (int i = 0; i < north.length; i += 2, n++) {
+            clusterNodes[n] = north[i + 1];
+            clusterPartners[n] = north[i];
+        }
+
+        int[] clusterDistances = new int[count * count];
+        for (int i = 0; i < count; i++) {
+            flood(clusterSearch, cluster, clusterNodes[i]);
+            for (int j = 0; j < count; j++) {
+                clusterDistances[i * count + j] = localDistance(clusterSearch, cluster, clusterNodes[j]);
+            }
+        }
+
+        nodes[cluster] = clusterNodes;
+        partners[cluster] = clusterPartners;
+        distances[cluster] = clusterDistances;
+    }
+
+    /**
+     * Returns the cluster of a position.
+     *
+     * @param position the position index
+     *
+     * @return the cluster index
+     */
+    private int clusterOf(int position) {
+        return ((position / columns) / clusterSize) * clusterColumns + (position % columns) / clusterSize;
+    }
+
+    /**
+     * Converts a position index into the local index inside its cluster.
+     *
+     * @param cluster  the cluster
+     * @param position the position index
+     *
+     * @return the local index
+     */
+    private int toLocal(int cluster, int position) {
+        int column = position % columns - (cluster % clusterColumns) * clusterSize;
+        int row = position / columns - (cluster / clusterColumns) * clusterSize;
+        return row * clusterSize + column;
+    }
+
+    /**
+     * Converts a local index inside a cluster into the position index.
+     *
+     * @param cluster the cluster
+     * @param local   the local index
+     *
+     * @return the position index
+     */
+    private int toGlobal(int cluster, int local) {
+        int column = (cluster % clusterColumns) * clusterSize + local % clusterSize;
+        int row = (cluster / clusterColumns) * clusterSize + local / clusterSize;
+        return row * columns + column;
+    }
+
+}
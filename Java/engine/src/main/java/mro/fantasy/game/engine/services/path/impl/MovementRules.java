@@ -0,0 +1,62 @@
+package mro.fantasy.game.engine.services.path.impl;
+
+import mro.fantasy.game.plan.FieldMask;
+
+/**
+ * Primitive checks of the movement rules which are shared by the implementations of the path services. The words of the masks are accessed directly to avoid the bounds check of
+ * {@link FieldMask#isSet(int, int)}, the caller has to ensure that the positions are part of the plan.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+final class MovementRules {
+
+    /**
+     * Utility class.
+     */
+    private MovementRules() {
+    }
+
+    /**
+     * Checks if the position blocks the movement.
+     *
+     * @param movement the movement mask of the plan
+     * @param column   the column
+     * @param row      the row
+     *
+     * @return {@code true} if the position blocks the movement
+     */
+    static boolean isBlocked(FieldMask movement, int column, int row) {
+        return (movement.getWord(row, column >>> 6) & (1L << (column & 63))) != 0;
+    }
+
+    /**
+     * Checks if the position can be the destination of a movement, i.e. it does not block the movement and can be entered.
+     *
+     * @param movement the movement mask of the plan
+     * @param enter    the enter mask of the plan
+     * @param column   the column
+     * @param row      the row
+     *
+     * @return {@code true} if a character can move to the position
+     */
+    static boolean isDestination(FieldMask movement, FieldMask enter, int column, int row) {
+        long bit = 1L << (column & 63);
+        return (movement.getWord(row, column >>> 6) & bit) == 0 && (enter.getWord(row, column >>> 6) & bit) != 0;
+    }
+
+    /**
+     * Returns the manhattan distance between two positions, i.e. the minimum number of steps between them.
+     *
+     * @param column      the column of the first position
+     * @param row         the row of the first position
+     * @param otherColumn the column of the second position
+     * @param otherRow    the row of the second position
+     *
+     * @return the distance
+     */
+    static int manhattan(int column, int row, int otherColumn, int otherRow) {
+        return Math.abs(column - otherColumn) + Math.abs(row - otherRow);
+    }
+
+}
@@ -0,0 +1,201 @@
+package mro.fantasy.game.engine.services.path.impl;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.Size;
+import mro.fantasy.game.engine.services.path.PathFinder;
+import mro.fantasy.game.engine.services.path.PathService;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A* implementation of the {@link PathService} with the manhattan distance as heuristic. All data of a search is stored in primitive arrays which are indexed by the position
+ * index and reused by all searches of the same thread:
+ * <ul>
+ *     <li>the open set is a binary heap of position indexes, ordered by the estimated costs and the already walked distance,</li>
+ *     <li>visited and closed positions are marked with the generation of the search, i.e. the arrays do not have to be cleared before a new search.</li>
+ * </ul>
+ * As a result a search does not create any objects once the arrays of the thread are large enough for the plan.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+@Service
+public class PathServiceImpl implements PathService {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(PathServiceImpl.class);
+
+    /**
+     * The search data of every thread.
+     */
+    private final ThreadLocal<SearchContext> contexts = ThreadLocal.withInitial(SearchContext::new);
+
+    /**
+     * The number of columns and rows of a cluster of the {@link HierarchicalPathFinder}.
+     */
+    @Value("${game.path.hierarchical.cluster.size:10}")
+    private int clusterSize = 10;
+
+    @Override
+    public int findPath(Plan plan, int start, int destination, int budget, int[] path) {
+        ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+        ValidationUtils.requireNonNull(path, "The path cannot be null.");
+
+        Size size = plan.getSize();
+        int columns = size.columns();
+        int positions = columns * size.rows();
+
+        ValidationUtils.requireTrue(start >= 0 && start < positions, "The start ::= [" + start + "] is not part of the plan with size ::= [" + size + "]");
+        ValidationUtils.requireTrue(destination >= 0 && destination < positions, "The destination ::= [" + destination + "] is not part of the plan with size ::= [" + size + "]");
+
+        if (start == destination) {
+            return 0;
+        }
+
+        FieldMask movement = plan.getMovementMask();
+        int destinationColumn = destination % columns;
+        int destinationRow = destination / columns;
+
+        if (budget <= 0 || !MovementRules.isDestination(movement, plan.getEnterMask(), destinationColumn, destinationRow)) {
+            return -1;
+        }
+
+        SearchContext context = contexts.get();
+        context.prepare(positions);
+
+        int generation = context.generation;
+        int[] distance = context.distance;
+        int[] estimate = context.estimate;
+        int[] parent = context.parent;
+        int[] visited = context.visited;
+        int[] closed = context.closed;
+
+        distance[start] = 0;
+        estimate[start] = MovementRules.manhattan(start % columns, start / columns, destinationColumn, destinationRow);
+        parent[start] = -1;
+        visited[start] = generation;
+        context.push(start, true);
+
+        while (context.heapSize > 0) {
+            int current = context.pop();
+
+            if (current == destination) {
+                return toPath(parent, start, destination, distance[destination], path);
+            }
+
+            closed[current] = generation;
+
+            int next = distance[current] + 1;
+            int column = current % columns;
+            int row = current / columns;
+
+            for (int direction = 0; direction < 4; direction++) {           // north, east, south, west
+                int c = column + (direction == 1 ? 1 : direction == 3 ? -1 : 0);
+                int r = row + (direction == 2 ? 1 : direction == 0 ? -1 : 0);
+
+                if (c < 0 || r < 0 || c >= columns || r >= size.rows()) {
+                    continue;
+                }
+
+                int neighbour = r * columns + c;
+                if (closed[neighbour] == generation || MovementRules.isBlocked(movement, c, r)) {
+                    continue;
+                }
+
+                int costs = next + MovementRules.manhattan(c, r, destinationColumn, destinationRow);
+                if (costs > budget) {                                       // the heuristic never overestimates, i.e. the destination cannot be reached within the
+                    continue;                                               // budget through this position
+                }
+
+                boolean added = visited[neighbour] != generation;
+                if (added || next < distance[neighbour]) {
+                    visited[neighbour] = generation;
+                    distance[neighbour] = next;
+                    estimate[neighbour] = costs;
+                    parent[neighbour] = current;
+                    context.push(neighbour, added);
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public List<Position> findPath(Plan plan, Position start, Position destination, int budget) {
+        ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+        ValidationUtils.requireNonNull(start, "The start cannot be null.");
+        ValidationUtils.requireNonNull(destination, "The destination cannot be null.");
+
+        Size size = plan.getSize();
+        ValidationUtils.requireTrue(isOnPlan(size, start), "The start ::= [" + start + "] is not part of the plan with size ::= [" + size + "]");
+        ValidationUtils.requireTrue(isOnPlan(size, destination), "The destination ::= [" + destination + "] is not part of the plan with size ::= [" + size + "]");
+
+        int columns = size.columns();
+        int[] path = new int[Math.max(0, Math.min(budget, columns * size.rows()))];
+        int steps = findPath(plan, start.row() * columns + start.column(), destination.row() * columns + destination.column(), budget, path);
+
+        if (steps < 0) {
+            LOG.debug("No path from ::= [{}] to ::= [{}] within ::= [{}] steps", start, destination, budget);
+            return null;
+        }
+
+        List<Position> result = new ArrayList<>(steps);
+        for (int i = 0; i < steps; i++) {
+            result.add(new Position(path[i] % columns, path[i] / columns));
+        }
+        return result;
+    }
+
+    @Override
+    public PathFinder createHierarchicalPathFinder(Plan plan) {
+        return new HierarchicalPathFinder(plan, clusterSize);
+    }
+
+    /**
+     * Stores the path from the start to the destination in the passed array by following the parents from the destination back to the start.
+     *
+     * @param parent      the parents of the positions
+     * @param start       the start
+     * @param destination the destination
+     * @param steps       the number of steps from the start to the destination
+     * @param path        the array to store the path in
+     *
+     * @return the number of steps
+     *
+     * @throws IllegalArgumentException if the array is too small for the path
+     */
+    private static int toPath(int[] parent, int start, int destination, int steps, int[] path) {
+        ValidationUtils.requireTrue(path.length >= steps, "The path array with length ::= [" + path.length + "] is too small for ::= [" + steps + "] steps");
+
+        int index = destination;
+        for (int i = steps - 1; i >= 0; i--) {
+            path[i] = index;
+            index = parent[index];
+        }
+        return steps;
+    }
+
+    /**
+     * Checks if the position is part of a plan with the passed size.
+     *
+     * @param size     the size of the plan
+     * @param position the position
+     *
+     * @return {@code true} if the position is part of the plan
+     */
+    private static boolean isOnPlan(Size size, Position position) {
+        return position.column() >= 0 && position.row() >= 0 && position.column() < size.columns() && position.row() < size.rows();
+    }
+
+}
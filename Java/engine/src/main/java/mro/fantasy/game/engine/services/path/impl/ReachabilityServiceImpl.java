@@ -0,0 +1,226 @@
+package mro.fantasy.game.engine.services.path.impl;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.Size;
+import mro.fantasy.game.engine.services.path.ReachabilityService;
+import mro.fantasy.game.engine.services.path.ReachableArea;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.impl.FieldMaskImpl;
+import mro.fantasy.game.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of the {@link ReachabilityService} that floods the plan from the origin with a bucketed queue. The queue has one bucket per number of steps, since every step
+ * costs one movement point only the bucket of the current and the next number of steps are needed. Both buckets are plain int arrays of position indexes which are reused by
+ * all calculations of the same thread, i.e. the only objects that are created are the arrays of the result.
+ * <p>
+ * The results are stored in a bounded LRU map. The key contains the {@link Plan#getVersion() plan version}, which is changed with every modification of the plan, so a stored
+ * result can never be outdated. Since a copy of a plan keeps the version as long as it is not modified, all game sessions that play the same scenario share the results.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+@Service
+public class ReachabilityServiceImpl implements ReachabilityService {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(ReachabilityServiceImpl.class);
+
+    /**
+     * The key of a stored result.
+     *
+     * @param version the version of the plan
+     * @param origin  the index of the origin
+     * @param budget  the movement budget
+     */
+    private record Key(long version, int origin, int budget) {
+    }
+
+    /**
+     * The buckets of the queue which are reused by all calculations of a thread.
+     */
+    private static final class Buckets {
+
+        /**
+         * The positions with the current number of steps.
+         */
+        private int[] current = new int[0];
+
+        /**
+         * The positions with the next number of steps.
+         */
+        private int[] next = new int[0];
+
+        /**
+         * Ensures that the buckets can store all positions of a plan.
+         *
+         * @param positions the number of positions
+         */
+        private void prepare(int positions) {
+            if (current.length < positions) {
+                current = new int[positions];
+                next = new int[positions];
+            }
+        }
+
+        /**
+         * Swaps the current and the next bucket.
+         */
+        private void swap() {
+            int[] tmp = current;
+            current = next;
+            next = tmp;
+        }
+    }
+
+    /**
+     * Maximum number of stored results. If more results are calculated the least recently used ones are removed.
+     */
+    @Value("${game.path.reachability.cache.size:256}")
+    private int maximumSize = 256;
+
+    /**
+     * The buckets of every thread.
+     */
+    private final ThreadLocal<Buckets> buckets = ThreadLocal.withInitial(Buckets::new);
+
+    /**
+     * The stored results in access order.
+     */
+    private final LinkedHashMap<Key, ReachableArea> results = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ReachableArea> eldest) {
+            return size() > maximumSize;
+        }
+    };
+
+    /**
+     * The number of requests answered with a stored result.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The number of requests that needed a calculation.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    @Override
+    public ReachableArea getReachableArea(Plan plan, Position origin, int budget) {
+        ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+        ValidationUtils.requireNonNull(origin, "The origin cannot be null.");
+
+        Size size = plan.getSize();
+        ValidationUtils.requireTrue(origin.column() >= 0 && origin.row() >= 0 && origin.column() < size.columns() && origin.row() < size.rows(),
+                "The origin ::= [" + origin + "] is not part of the plan with size ::= [" + size + "]");
+
+        int positions = size.columns() * size.rows();
+        int effectiveBudget = Math.max(0, Math.min(budget, positions));    // a path never has more steps than the plan has positions, i.e. larger budgets can share the result
+        Key key = new Key(plan.getVersion(), origin.row() * size.columns() + origin.column(), effectiveBudget);
+
+        synchronized (results) {
+            ReachableArea stored = results.get(key);
+            if (stored != null) {
+                hits.increment();
+                return stored;
+            }
+        }
+
+        misses.increment();
+
+        ReachableArea area = calculate(plan, key.origin(), effectiveBudget);
+
+        LOG.trace("Calculated reachable area ::= [{}]", area);
+
+        synchronized (results) {
+            ReachableArea previous = results.putIfAbsent(key, area);        // another thread may have calculated the same result in the meantime
+            return previous != null ? previous : area;
+        }
+    }
+
+    @Override
+    public Statistics getStatistics() {
+        synchronized (results) {
+            return new Statistics(hits.sum(), misses.sum(), results.size());
+        }
+    }
+
+    /**
+     * Floods the plan from the origin until the budget is used up.
+     *
+     * @param plan   the plan
+     * @param origin the index of the origin
+     * @param budget the movement budget, not negative
+     *
+     * @return the area
+     */
+    private ReachableArea calculate(Plan plan, int origin, int budget) {
+        Size size = plan.getSize();
+        int columns = size.columns();
+        int rows = size.rows();
+
+        FieldMask movement = plan.getMovementMask();
+        FieldMask enter = plan.getEnterMask();
+
+        int[] costs = new int[columns * rows];
+        int[] parents = new int[columns * rows];
+        FieldMaskImpl reachable = new FieldMaskImpl(size);
+
+        Arrays.fill(costs, -1);
+        costs[origin] = 0;
+        parents[origin] = -1;
+
+        Buckets queue = buckets.get();
+        queue.prepare(columns * rows);
+        queue.current[0] = origin;
+        int currentSize = 1;
+
+        for (int steps = 1; steps <= budget && currentSize > 0; steps++) {
+            int nextSize = 0;
+
+            for (int i = 0; i < currentSize; i++) {
+                int current = queue.current[i];
+                int column = current % columns;
+                int row = current / columns;
+
+                for (int direction = 0; direction < 4; direction++) {       // north, east, south, west
+                    int c = column + (direction == 1 ? 1 : direction == 3 ? -1 : 0);
+                    int r = row + (direction == 2 ? 1 : direction == 0 ? -1 : 0);
+
+                    if (c < 0 || r < 0 || c >= columns || r >= rows) {
+                        continue;
+                    }
+
+                    int neighbour = r * columns + c;
+                    if (costs[neighbour] >= 0 || MovementRules.isBlocked(movement, c, r)) {
+                        continue;                                           // the first visit always has the lowest number of steps
+                    }
+
+                    costs[neighbour] = steps;
+                    parents[neighbour] = current;
+                    queue.next[nextSize++] = neighbour;
+
+                    if (MovementRules.isDestination(movement, enter, c, r)) {
+                        reachable.set(c, r, true);
+                    }
+                }
+            }
+
+            queue.swap();
+            currentSize = nextSize;
+        }
+
+        return new ReachableArea(size, origin, budget, plan.getVersion(), costs, parents, reachable);
+    }
+
+}
@@ -0,0 +1,149 @@
+package mro.fantasy.game.engine.services.path.impl;
+
+import java.util.Arrays;
+
+/**
+ * The data of a search on the positions of a plan which is reused by all searches of the same owner. All arrays are indexed by the position index, visited and closed positions
+ * are marked with the generation of the search so that the arrays do not have to be cleared before a new search. The {@link #heap} is used as binary heap by the A* searches and
+ * as plain queue by the breadth first searches.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+final class SearchContext {
+
+    /**
+     * The number of steps from the start to a position.
+     */
+    int[] distance = new int[0];
+
+    /**
+     * The estimated costs of a path from the start to the destination through a position.
+     */
+    int[] estimate = new int[0];
+
+    /**
+     * The previous position on the shortest path to a position.
+     */
+    int[] parent = new int[0];
+
+    /**
+     * The index of a position in the heap.
+     */
+    int[] heapIndex = new int[0];
+
+    /**
+     * The generation of the search that visited a position last.
+     */
+    int[] visited = new int[0];
+
+    /**
+     * The generation of the search that closed a position last.
+     */
+    int[] closed = new int[0];
+
+    /**
+     * The open set as binary heap of position indexes.
+     */
+    int[] heap = new int[0];
+
+    /**
+     * The number of positions in the heap.
+     */
+    int heapSize;
+
+    /**
+     * The generation of the current search.
+     */
+    int generation;
+
+    /**
+     * Prepares the context for a new search with the passed number of positions.
+     *
+     * @param positions the number of positions
+     */
+    void prepare(int positions) {
+        if (distance.length < positions) {
+            distance = new int[positions];
+            estimate = new int[positions];
+            parent = new int[positions];
+            heapIndex = new int[positions];
+            visited = new int[positions];
+            closed = new int[positions];
+            heap = new int[positions];
+            generation = 0;
+        }
+
+        if (generation == Integer.MAX_VALUE) {                          // after an overflow old marks could become valid again
+            Arrays.fill(visited, 0);
+            Arrays.fill(closed, 0);
+            generation = 0;
+        }
+
+        generation++;
+        heapSize = 0;
+    }
+
+    /**
+     * Checks if the first position has to be taken from the heap before the second one. Positions with lower estimated costs come first, on equal costs the position closer
+     * to the destination, i.e. the one with the larger distance from the start, is preferred.
+     *
+     * @param a the first position
+     * @param b the second position
+     *
+     * @return {@code true} if the first position is ordered before the second one
+     */
+    boolean before(int a, int b) {
+        return estimate[a] < estimate[b] || (estimate[a] == estimate[b] && distance[a] > distance[b]);
+    }
+
+    /**
+     * Adds a position to the heap or moves it up if its estimated costs decreased.
+     *
+     * @param index the position
+     * @param added {@code true} if the position is not part of the heap yet
+     */
+    void push(int index, boolean added) {
+        int i = added ? heapSize++ : heapIndex[index];
+        while (i > 0) {
+            int up = (i - 1) >>> 1;
+            if (!before(index, heap[up])) {
+                break;
+            }
+            heap[i] = heap[up];
+            heapIndex[heap[i]] = i;
+            i = up;
+        }
+        heap[i] = index;
+        heapIndex[index] = i;
+    }
+
+    /**
+     * Removes the first position from the heap.
+     *
+     * @return the position
+     */
+    int pop() {
+        int first = heap[0];
+        int last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], last)) {
+                break;
+            }
+            heap[i] = heap[child];
+            heapIndex[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = last;
+        heapIndex[last] = i;
+        return first;
+    }
+}
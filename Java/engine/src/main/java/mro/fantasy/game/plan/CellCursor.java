@@ -0,0 +1,124 @@
+package mro.fantasy.game.plan;
+
+/**
+ * Cursor to walk over the positions of a {@link Plan} without the creation of {@link mro.fantasy.game.Position}s or intermediate collections. A cursor is created once with
+ * {@link Plan#cursor()} and can be reused for multiple walks:
+ * <pre>{@code
+ *   CellCursor cursor = plan.cursor();
+ *   while (cursor.next()) {
+ *       if (cursor.isCovered() && !cursor.blocksMovement()) {
+ *           ... cursor.getColumn(), cursor.getRow(), cursor.getTopField() ...
+ *       }
+ *   }
+ * }</pre>
+ * The positions are visited row by row, starting with the position (0|0). The accessors of the cursor are only valid after {@link #next()} or {@link #moveTo(int, int)} returned
+ * {@code true} and always reflect the current state of the plan. The returned fields are the shared fields of the tile templates, i.e. their {@link Field#getPosition()} is
+ * the position inside the template and not the position of the cursor. A cursor is not thread safe.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public interface CellCursor {
+
+    /**
+     * Moves the cursor to the next position.
+     *
+     * @return {@code true} if the cursor points to a position, {@code false} if all positions were visited
+     */
+    boolean next();
+
+    /**
+     * Moves the cursor to the passed position.
+     *
+     * @param column the column
+     * @param row    the row
+     *
+     * @return {@code true} if the position is part of the plan, {@code false} otherwise
+     */
+    boolean moveTo(int column, int row);
+
+    /**
+     * Moves the cursor in front of the first position, i.e. the next call of {@link #next()} visits the position (0|0) again.
+     */
+    void reset();
+
+    /**
+     * Returns the column of the current position.
+     *
+     * @return the column
+     */
+    int getColumn();
+
+    /**
+     * Returns the row of the current position.
+     *
+     * @return the row
+     */
+    int getRow();
+
+    /**
+     * Returns the index of the current position, i.e. {@code row * columns + column}.
+     *
+     * @return the index
+     */
+    int getIndex();
+
+    /**
+     * Checks if the current position is covered by at least one tile.
+     *
+     * @return {@code true} if the position is covered
+     */
+    boolean isCovered();
+
+    /**
+     * Checks if the current position blocks the line of sight, see {@link Plan#blocksLineOfSight(mro.fantasy.game.Position)}.
+     *
+     * @return {@code true} if the position blocks the line of sight
+     */
+    boolean blocksLineOfSight();
+
+    /**
+     * Checks if the current position blocks the movement, see {@link Plan#blocksMovement(mro.fantasy.game.Position)}.
+     *
+     * @return {@code true} if the position blocks the movement
+     */
+    boolean blocksMovement();
+
+    /**
+     * Checks if the current position can be entered, see {@link Plan#canEnter(mro.fantasy.game.Position)}.
+     *
+     * @return {@code true} if the position can be entered
+     */
+    boolean canEnter();
+
+    /**
+     * Returns the number of fields on the current position.
+     *
+     * @return the number of fields
+     */
+    int getFieldCount();
+
+    /**
+     * Returns a field of the current position, the fields are sorted by their {@link FieldType#getLayer()} from bottom to top.
+     *
+     * @param index the index of the field, between {@code 0} and {@link #getFieldCount()} (exclusive)
+     *
+     * @return the field
+     */
+    Field getField(int index);
+
+    /**
+     * Returns the field with the highest layer on the current position.
+     *
+     * @return the field or {@code null} if the position is not covered
+     */
+    Field getTopField();
+
+    /**
+     * Returns the tile with the highest layer on the current position.
+     *
+     * @return the tile or {@code null} if the position is not covered
+     */
+    Tile getTopTile();
+
+}
@@ -1,6 +1,7 @@
 package mro.fantasy.game.plan;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Container that can hold one or multiple fields and group them together.
@@ -16,4 +17,14 @@ public interface FieldContainer {
      * @return the fields of this container
      */
     Collection<Field> getFields();
+
+    /**
+     * Passes all fields of this container in the container coordinate system to the consumer. In contrast to {@link #getFields()} no intermediate collection is created, i.e. the
+     * method should be preferred in loops that are executed often.
+     *
+     * @param consumer the consumer
+     */
+    default void forEachField(Consumer<? super Field> consumer) {
+        getFields().forEach(consumer);
+    }
 }
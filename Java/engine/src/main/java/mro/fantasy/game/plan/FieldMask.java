@@ -0,0 +1,105 @@
+package mro.fantasy.game.plan;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A read only bitset with one bit for every field of a {@link Plan}. Masks are used to answer questions like "does the position block the line of sight" for the whole plan without
+ * touching the {@link Field} objects, i.e. a lookup is a single array access and algorithms like the line of sight or the path finding can process up to 64 fields of a row with a
+ * single bitwise operation.
+ * <p>
+ * The bits are stored row by row. Every row starts with a new {@code long} word so that the words of a row can be processed independently of the other rows:
+ * <pre>{@code
+ *   Plan (70x2)                                        Words
+ *   ┌─────────┬─────────┬─────┬─────────┬─────────┐
+ *   │  0/1    │  1/1    │ ... │  68/1   │  69/1   │    row 1 -> word 2 (column 0 - 63), word 3 (column 64 - 69)
+ *   ├─────────┼─────────┼─────┼─────────┼─────────┤
+ *   │  0/0    │  1/0    │ ... │  68/0   │  69/0   │    row 0 -> word 0 (column 0 - 63), word 1 (column 64 - 69)
+ *   └─────────┴─────────┴─────┴─────────┴─────────┘
+ * }</pre>
+ * Inside a word the column {@code c} is represented by the bit {@code 1L << (c % 64)}. Bits for columns outside the plan are always {@code 0}.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public interface FieldMask {
+
+    /**
+     * Returns the size of the mask which is always the size of the plan it was created for.
+     *
+     * @return the size
+     */
+    Size getSize();
+
+    /**
+     * Returns the number of {@code long} words which are used to store a single row.
+     *
+     * @return the words per row
+     */
+    int getWordsPerRow();
+
+    /**
+     * Returns a word of the mask.
+     *
+     * @param row       the row of the plan
+     * @param wordIndex the index of the word inside the row, starting with {@code 0} for the columns 0 - 63
+     *
+     * @return the word
+     *
+     * @throws IndexOutOfBoundsException if the row or the word index is not part of the mask
+     */
+    long getWord(int row, int wordIndex);
+
+    /**
+     * Checks if the bit for the given coordinates is set.
+     *
+     * @param column the column
+     * @param row    the row
+     *
+     * @return {@code true} if the bit is set, {@code false} if not or if the coordinates are outside the plan
+     */
+    boolean isSet(int column, int row);
+
+    /**
+     * Checks if the bit for the given position is set.
+     *
+     * @param position the position
+     *
+     * @return {@code true} if the bit is set, {@code false} if not or if the position is outside the plan
+     */
+    default boolean isSet(Position position) {
+        return isSet(position.column(), position.row());
+    }
+
+    /**
+     * Returns the number of bits which are set in the mask.
+     *
+     * @return the number of set bits
+     */
+    int cardinality();
+
+    /**
+     * Converts the set bits of the mask into positions. The positions are sorted by row and column.
+     *
+     * @return a new list with the positions of all set bits
+     */
+    default List<Position> toPositions() {
+        List<Position> result = new ArrayList<>(cardinality());
+
+        for (int row = 0; row < getSize().rows(); row++) {
+            for (int word = 0; word < getWordsPerRow(); word++) {
+                long bits = getWord(row, word);
+                while (bits != 0) {                                         // only iterate over the set bits of the word
+                    result.add(new Position((word << 6) + Long.numberOfTrailingZeros(bits), row));
+                    bits &= bits - 1;                                       // clear the lowest set bit
+                }
+            }
+        }
+
+        return result;
+    }
+
+}
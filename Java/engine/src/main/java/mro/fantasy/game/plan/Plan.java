@@ -2,9 +2,12 @@ package mro.fantasy.game.plan;
 
 import mro.fantasy.game.Position;
 import mro.fantasy.game.Size;
+import mro.fantasy.game.engine.events.GameEventListener;
+import mro.fantasy.game.engine.events.PlanChangedEvent;
 import mro.fantasy.game.resources.GameResource;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A plan is the blueprint for a physical game board that allows the players to get an overview of the current game state. It consists of multiple {@link Field}s which are arranged
@@ -152,7 +155,7 @@ public interface Plan extends FieldContainer, GameResource {
     boolean blocksLineOfSight(Position field);
 
     /**
-     * Checks if the given field blocks the movement of a character.
+     * Checks if the given field blocks the movement of a character. Positions without an assigned tile are not part of the scenario and always block the movement.
      *
      * @param field the field to check
      *
@@ -161,7 +164,8 @@ public interface Plan extends FieldContainer, GameResource {
     boolean blocksMovement(Position field);
 
     /**
-     * Checks if the given field can be entered by a character, i.e. if it can end its movement on the fields of this tile.
+     * Checks if the given field can be entered by a character, i.e. if it can end its movement on the fields of this tile. Positions without an assigned tile are not part of the
+     * scenario and can never be entered.
      *
      * @param field the field to check
      *
@@ -169,6 +173,85 @@ public interface Plan extends FieldContainer, GameResource {
      */
     boolean canEnter(Position field);
 
+    /**
+     * Returns a read only bitset with all positions of the plan that block the line of sight. The mask is a live view on the plan and reflects every change done with {@link
+     * #assign(TileTemplate, Position, TileRotation)} or {@link #remove(Tile)}.
+     *
+     * @return the mask
+     *
+     * @see #blocksLineOfSight(Position)
+     */
+    FieldMask getLineOfSightMask();
+
+    /**
+     * Returns a read only bitset with all positions of the plan where a field of a static layer, i.e. a field that is no {@link FieldType#isCharacter()}, blocks the line of
+     * sight. Together with the {@link #getCharacterLineOfSightMask()} it forms the {@link #getLineOfSightMask()}.
+     *
+     * @return the mask
+     */
+    FieldMask getStaticLineOfSightMask();
+
+    /**
+     * Returns a read only bitset with all positions of the plan where a character blocks the line of sight. Together with the {@link #getStaticLineOfSightMask()} it forms the
+     * {@link #getLineOfSightMask()}.
+     *
+     * @return the mask
+     */
+    FieldMask getCharacterLineOfSightMask();
+
+    /**
+     * Returns a read only bitset with all positions of the plan that block the movement of a character. Positions without an assigned tile are always set. The mask is a live view
+     * on the plan and reflects every change done with {@link #assign(TileTemplate, Position, TileRotation)} or {@link #remove(Tile)}.
+     *
+     * @return the mask
+     *
+     * @see #blocksMovement(Position)
+     */
+    FieldMask getMovementMask();
+
+    /**
+     * Returns a read only bitset with all positions of the plan that can be entered by a character. The mask is a live view on the plan and reflects every change done with {@link
+     * #assign(TileTemplate, Position, TileRotation)} or {@link #remove(Tile)}.
+     *
+     * @return the mask
+     *
+     * @see #canEnter(Position)
+     */
+    FieldMask getEnterMask();
+
+    /**
+     * Returns a read only bitset with all positions of the plan that are covered by at least one tile, i.e. that are part of the scenario. The mask is a live view on the plan
+     * and reflects every change done with {@link #assign(TileTemplate, Position, TileRotation)} or {@link #remove(Tile)}.
+     *
+     * @return the mask
+     */
+    FieldMask getCoveredMask();
+
+    /**
+     * Returns the version of the plan. Every modification of the plan with {@link #assign(TileTemplate, Position, TileRotation)} or {@link #remove(Tile)} assigns a new version
+     * from a sequence that is shared by all plans, i.e. two plans only have the same version if one of them is an unmodified {@link #copy()} of the other. This allows
+     * calculation results to be cached per version.
+     *
+     * @return the version
+     */
+    long getVersion();
+
+    /**
+     * Returns the version of the last modification that affected the given area of the plan. The plan tracks the modifications for regions of multiple positions, i.e. the
+     * returned version may be newer than the last modification of the area itself, but never older. Results which only depend on the area stay valid as long as the returned
+     * version does not change, even if other parts of the plan were modified.
+     *
+     * @param minColumn the first column of the area (inclusive)
+     * @param minRow    the first row of the area (inclusive)
+     * @param maxColumn the last column of the area (inclusive)
+     * @param maxRow    the last row of the area (inclusive)
+     *
+     * @return the version
+     *
+     * @see #getVersion()
+     */
+    long getVersion(int minColumn, int minRow, int maxColumn, int maxRow);
+
     /**
      * Returns all fields of this plan in the plan coordinate system. Only fields which have an assigned tile will be returned, i.e. if we have an empty plan like
      * <pre>{@code
@@ -340,7 +423,8 @@ public interface Plan extends FieldContainer, GameResource {
     Tile getTopTile(Position position);
 
     /**
-     * Returns the fields which cover the passed position.
+     * Returns the fields which cover the passed position. The fields are the shared fields of the tile templates, i.e. their {@link Field#getPosition()} is the position inside
+     * the template and not the passed position.
      *
      * @param position the position to check
      *
@@ -350,6 +434,33 @@ public interface Plan extends FieldContainer, GameResource {
      */
     List<Field> getFields(Position position);
 
+    /**
+     * Passes the fields which cover the passed position to the consumer, sorted by their {@link FieldType#getLayer()} from bottom to top. No intermediate collection is created.
+     *
+     * @param position the position to check
+     * @param consumer the consumer
+     */
+    default void forEachFieldAt(Position position, Consumer<? super Field> consumer) {
+        forEachFieldAt(position.column(), position.row(), consumer);
+    }
+
+    /**
+     * Passes the fields which cover the passed position to the consumer, sorted by their {@link FieldType#getLayer()} from bottom to top. No intermediate collection and no
+     * {@link Position} is created.
+     *
+     * @param column   the column of the position
+     * @param row      the row of the position
+     * @param consumer the consumer
+     */
+    void forEachFieldAt(int column, int row, Consumer<? super Field> consumer);
+
+    /**
+     * Creates a new cursor to walk over all positions of the plan without the creation of objects.
+     *
+     * @return the cursor
+     */
+    CellCursor cursor();
+
     /**
      * Returns the fields with the highest {@link FieldType#getLayer()} value on the given position
      *
@@ -442,11 +553,20 @@ public interface Plan extends FieldContainer, GameResource {
      * ─────────────────────────────────────────────
      * }</pre>
      *
+     * A tile can only be assigned if all of its fields are part of the plan and the following rules are fulfilled:
+     * <ul>
+     *     <li>No other tile with the same {@link FieldType#getLayer()} covers one of the positions, i.e. tiles on different layers may overlap.</li>
+     *     <li>Tiles above layer 1 (floors and walls) can only be placed on positions that are covered by a tile of layer 1.</li>
+     *     <li>{@link FieldType#isCharacter() Characters} can only be placed on positions that do not block the movement and can be entered.</li>
+     * </ul>
+     *
      * @param template    the template to assign
      * @param position    the position where the anchor field of the template is positioned
      * @param orientation the orientation of the tile
      *
      * @return the newly created tile on the plan
+     *
+     * @throws IllegalArgumentException if the tile cannot be placed on the position
      */
     Tile assign(TileTemplate template, Position position, TileRotation orientation);
 
@@ -458,9 +578,26 @@ public interface Plan extends FieldContainer, GameResource {
     boolean remove(Tile tile);
 
     /**
-     * Creates a deep copy of this plan.
+     * Registers a listener that is informed synchronously after every {@link #assign(TileTemplate, Position, TileRotation)} and {@link #remove(Tile)}. Listeners are not part
+     * of a {@link #copy()}.
+     *
+     * @param listener the listener
+     */
+    void registerListener(GameEventListener<PlanChangedEvent> listener);
+
+    /**
+     * Removes a listener that was registered with {@link #registerListener(GameEventListener)}.
+     *
+     * @param listener the listener
+     */
+    void removeListener(GameEventListener<PlanChangedEvent> listener);
+
+    /**
+     * Creates a copy of this plan. Modifications of the copy do not affect this plan and vice versa. The copy has the same {@link #getVersion() version} as this plan until one of
+     * them is modified, i.e. a copy can be used as snapshot of the plan, e.g. to undo a modification or to compare two states of the same plan. Listeners are not copied.
+     * Implementations may share unmodified data between both plans to keep copies cheap.
      *
-     * @return the deep copy.
+     * @return the copy.
      */
     Plan copy();
 
@@ -35,15 +35,23 @@ public interface PlanDeltaService {
 
 
     /**
-     * Calculates a change between the original and the changed plan. There are different {@link ChangeType}s which are checked. By comparing the {@link Tile#getId()} added and
-     * removed tiles can be detected. If the changed plan has a tile with an ID that is not in the original plan it was {@link ChangeType#TILE_ADDED}, if the original plan has a
-     * tile with an ID that is not in the changed plan it was {@link ChangeType#TILE_REMOVED}. For the {@link ChangeType#TILE_MOVED} check the {@link Tile#getPosition()} of the
-     * tiles with the same ID is compared between the original and the changed plan tiles. If the position has changed the tile was moved.
+     * Calculates a change between the original and the changed plan. There are different {@link ChangeType}s which are checked:
+     * <ol>
+     *     <li>Tiles with the same {@link Tile#getId()} in both plans are the same tile. If the {@link Tile#getPosition()} or the {@link Tile#getRotation()} has changed the
+     *     tile was {@link ChangeType#TILE_MOVED}.</li>
+     *     <li>Tiles with different IDs but the same {@link Tile#getGameId()}, position and rotation are the same tile as well, e.g. a tile of the physical board and the tile of a
+     *     quest plan at the same position. They are not part of the delta.</li>
+     *     <li>The remaining tiles of the changed plan were {@link ChangeType#TILE_ADDED} and the remaining tiles of the original plan were {@link ChangeType#TILE_REMOVED}. If a
+     *     tile with the same game id was removed and added, e.g. a figure that was picked up and placed on another field, the pair is reported as
+     *     {@link ChangeType#TILE_MOVED} instead.</li>
+     * </ol>
+     * Moved tiles are always the tiles of the changed plan. If both plans have the same {@link Plan#getVersion()}, i.e. one is an unmodified {@link Plan#copy()} of the other,
+     * the delta is empty without comparing the tiles.
      *
      * @param original the original plan
      * @param changed  the changed plan
      *
-     * @return the delta between original and changed.
+     * @return the delta between original and changed with an entry for every change type.
      */
     Map<ChangeType, List<Tile>> calculateChange(Plan original, Plan changed);
 }
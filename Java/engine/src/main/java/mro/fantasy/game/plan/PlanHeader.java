@@ -0,0 +1,18 @@
+package mro.fantasy.game.plan;
+
+import mro.fantasy.game.Size;
+
+/**
+ * The data of a {@link Plan} that is available without creating the plan, e.g. to list the plans of a {@link PlanLibrary} that creates the plans on demand.
+ *
+ * @param gameId      the unique ID of the plan
+ * @param name        the name of the plan
+ * @param description the description of the plan
+ * @param size        the size of the plan
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public record PlanHeader(String gameId, String name, String description, Size size) {
+
+}
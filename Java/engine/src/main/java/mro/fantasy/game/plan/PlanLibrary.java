@@ -1,10 +1,46 @@
 package mro.fantasy.game.plan;
 
+import mro.fantasy.game.engine.services.los.LineOfSightService;
+import mro.fantasy.game.plan.impl.CompiledPlanReader;
+import mro.fantasy.game.plan.impl.CompiledPlanWriter;
+import mro.fantasy.game.resources.ResourceBundle;
+import mro.fantasy.game.resources.impl.DefaultResourceBundle;
 import mro.fantasy.game.resources.impl.DefaultResourceLibrary;
+import mro.fantasy.game.utils.ParallelUtils;
+import mro.fantasy.game.utils.ValidationUtils;
+import mro.fantasy.game.utils.YAMLUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
 /**
  * Marker class to make the handling of the generic resource library easier.
+ * <p>
+ * After the plans were loaded the library optionally precomputes the visibility of the static layers of every plan with the {@link LineOfSightService#precompute(Plan)} method.
+ * <p>
+ * In the lazy mode the library does not create the plans when the resources are loaded. For every plan only the {@link PlanHeader} and the plan in the compact format of the
+ * {@link CompiledPlanWriter} are kept, the plan is created on the first call to {@link #getById(String)}. The created plans are stored in a cache with a limited number of plans,
+ * i.e. a plan that was removed from the cache is created again on the next request. Since two requests for the same plan may return different instances, the plans of the library
+ * should not be modified but {@link Plan#copy() copied}. The {@link #preload(String)} method creates a plan in the background, e.g. the plan of the next quest.
  *
  * @author Michael Rodenbuecher
  * @since 2022-08-05
@@ -12,6 +48,345 @@ import org.springframework.stereotype.Component;
 @Component
 public class PlanLibrary extends DefaultResourceLibrary<Plan> {
 
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(PlanLibrary.class);
+
+    /**
+     * The service to precompute the visibility of the plans.
+     */
+    @Autowired(required = false)
+    private LineOfSightService lineOfSightService;
+
+    /**
+     * The library to resolve the tile templates of the plans in the lazy mode.
+     */
+    @Autowired(required = false)
+    private TileLibrary tileLibrary;
+
+    /**
+     * If the visibility of the static layers should be precomputed when the plans are loaded.
+     */
+    @Value("${game.los.precompute.enabled:true}")
+    private boolean precomputeVisibility;
+
+    /**
+     * If the plans are created on demand instead of when the resources are loaded.
+     */
+    @Value("${game.plan.lazy.enabled:false}")
+    private boolean lazy = false;
+
+    /**
+     * The maximum number of plans that are kept in the cache in the lazy mode.
+     */
+    @Value("${game.plan.cache.size:8}")
+    private int cacheSize = 8;
+
+    /**
+     * The plans of the lazy mode by their ID, which are not created yet.
+     */
+    private volatile Map<String, LazyPlan> lazyPlans;
+
+    /**
+     * The plans that were created in the lazy mode in the order of the last access, the least recently used plan is removed if the cache exceeds the {@link #cacheSize}.
+     */
+    private final Map<String, Plan> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Plan> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    /**
+     * The executor to preload plans, which is created with the first call to {@link #preload(String)}.
+     */
+    private ExecutorService preloader;
+
+    /**
+     * A plan of the lazy mode that was not created yet.
+     *
+     * @param bundle   the bundle that contains the plan
+     * @param header   the data of the plan that is available without creating it
+     * @param compiled the plan in the format of the {@link CompiledPlanWriter}
+     */
+    private record LazyPlan(ResourceBundle<Plan> bundle, PlanHeader header, byte[] compiled) {
+
+    }
+
+    @Override
+    public void loadResources(Function<Map<String, Object>, Plan> builder) {
+        if (lazy) {
+            loadHeaders();
+            return;
+        }
+
+        super.loadResources(builder);
+
+        if (!precomputeVisibility || lineOfSightService == null) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long precomputed = getAll().stream().filter(lineOfSightService::precompute).count();
+
+        LOG.info("Precomputed the static visibility of ::= [{}] plans in ::= [{}] ms", precomputed, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Loads the plans of all bundles in the lazy mode, i.e. only the headers and the compiled plans are created.
+     *
+     * @throws IllegalStateException    if a plan exists in multiple bundles
+     * @throws IllegalArgumentException if a bundle is no {@link DefaultResourceBundle} or a plan is invalid
+     */
+    private void loadHeaders() {
+        long start = System.currentTimeMillis();
+
+        List<ResourceBundle<Plan>> bundles = loadBundles();
+
+        List<List<LazyPlan>> loaded = ParallelUtils.map(getName(), bundles, this::readBundle, getThreads());
+
+        Map<String, LazyPlan> plans = new HashMap<>();
+        loaded.stream().flatMap(Collection::stream).forEach(plan -> {
+            if (plans.putIfAbsent(plan.header().gameId(), plan) != null) {
+                throw new IllegalStateException("Duplicate plan ::= [" + plan.header().gameId() + "] in the library");
+            }
+        });
+
+        synchronized (cache) {
+            cache.clear();
+        }
+        this.lazyPlans = Map.copyOf(plans);
+
+        LOG.info("Created new library ::= [{}] with ::= [{}] lazy plans and ::= [{}] bytes in ::= [{}] ms", getName(), plans.size(),
+                plans.values().stream().mapToLong(p -> p.compiled().length).sum(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reads the plans of a bundle in the lazy mode.
+     *
+     * @param bundle the bundle
+     *
+     * @return the plans of the bundle
+     *
+     * @throws IllegalArgumentException if the bundle is no {@link DefaultResourceBundle} or a plan is invalid
+     * @throws IllegalStateException    if the bundle cannot be read
+     */
+    private List<LazyPlan> readBundle(ResourceBundle<Plan> bundle) {
+        ValidationUtils.requireTrue(bundle instanceof DefaultResourceBundle, "The lazy plan library cannot read the bundle ::= [" + bundle.getClass().getSimpleName() + "]");
+
+        List<LazyPlan> plans = new ArrayList<>();
+        try {
+            ((DefaultResourceBundle<Plan>) bundle).read(data -> plans.add(new LazyPlan(bundle, new PlanHeader(       // keep only the header and the compact form of the YAML map
+                    YAMLUtilities.getMandatory(data, "id"),
+                    YAMLUtilities.getOptional(data, "name"),
+                    YAMLUtilities.getOptional(data, "description"),
+                    YAMLUtilities.parseSize(data, "size")), CompiledPlanWriter.write(data))));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot load plan bundle ::= [" + bundle + "]", e);
+        }
+        return plans;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * In the lazy mode only the headers of the new bundle are read and the created plans of the old bundle are removed from the cache, otherwise the visibility of the new plans
+     * is precomputed before the returned action replaces the bundle.
+     */
+    @Override
+    protected synchronized Runnable reload(ResourceBundle<Plan> oldBundle, ResourceBundle<Plan> newBundle) {
+        Map<String, LazyPlan> current = lazyPlans;
+
+        if (current == null) {
+            Runnable replace = super.reload(oldBundle, newBundle);
+            if (newBundle != null && precomputeVisibility && lineOfSightService != null) {
+                newBundle.getAll().forEach(lineOfSightService::precompute);   // a failure rejects the bundle, the returned action never fails
+            }
+            return replace;
+        }
+
+        List<LazyPlan> loaded = newBundle != null ? readBundle(newBundle) : Collections.emptyList();
+
+        Set<String> ids = new HashSet<>();
+        for (LazyPlan plan : loaded) {
+            LazyPlan existing = current.get(plan.header().gameId());
+            if (!ids.add(plan.header().gameId()) || existing != null && existing.bundle() != oldBundle) {
+                throw new IllegalStateException("The reloaded plan ::= [" + plan.header().gameId() + "] exists in another bundle of the library");
+            }
+        }
+
+        return () -> replace(oldBundle, newBundle, loaded);
+    }
+
+    /**
+     * Replaces the lazy plans of a bundle that was checked by {@link #reload(ResourceBundle, ResourceBundle)}.
+     *
+     * @param oldBundle the bundle that is replaced or {@code null} if the bundle was added
+     * @param newBundle the new bundle or {@code null} if the bundle was removed
+     * @param loaded    the plans of the new bundle
+     */
+    private synchronized void replace(ResourceBundle<Plan> oldBundle, ResourceBundle<Plan> newBundle, List<LazyPlan> loaded) {
+        Map<String, LazyPlan> current = lazyPlans;
+
+        Map<String, LazyPlan> updated = new HashMap<>(current);
+        updated.values().removeIf(plan -> plan.bundle() == oldBundle);
+        loaded.forEach(plan -> updated.put(plan.header().gameId(), plan));
+
+        this.lazyPlans = Map.copyOf(updated);
+        synchronized (cache) {                                              // plans which were created from the old bundle are not returned anymore
+            cache.keySet().removeIf(id -> updated.get(id) != current.get(id));
+        }
+
+        LOG.info("Reloaded plan bundle ::= [{}] with ::= [{}] lazy plans", newBundle != null ? newBundle.getName() : oldBundle.getName(), updated.size());
+
+        notifyReloadListener();
+    }
+
+    /**
+     * Returns the headers of all plans. In the lazy mode the plans are not created.
+     *
+     * @return the headers
+     */
+    public List<PlanHeader> getHeaders() {
+        Map<String, LazyPlan> current = lazyPlans;
+
+        if (current == null) {
+            return getAll().stream().map(p -> new PlanHeader(p.getGameId(), p.getName(), p.getDescription(), p.getSize())).toList();
+        }
+
+        return current.values().stream().map(LazyPlan::header).toList();
+    }
+
+    /**
+     * Creates the plan with the passed ID in the background if the lazy mode is enabled and the plan is not part of the cache, e.g. to load the plan of the next quest while the
+     * current one is played.
+     *
+     * @param id the ID of the plan
+     *
+     * @return the future with the plan, which contains {@code null} if the plan does not exist
+     */
+    public Future<Plan> preload(String id) {
+        if (lazyPlans == null) {
+            return CompletableFuture.completedFuture(getById(id));
+        }
+
+        synchronized (this) {
+            if (preloader == null) {
+                preloader = Executors.newSingleThreadExecutor(r -> {
+                    Thread thread = new Thread(r, getName() + "-preload");
+                    thread.setDaemon(true);                                 // never block the shutdown of the JVM
+                    return thread;
+                });
+            }
+        }
+
+        LOG.debug("Preload plan ::= [{}]", id);
+
+        return preloader.submit(() -> getById(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * In the lazy mode the plan is created if it is not part of the cache.
+     */
+    @Override
+    public Plan getById(String id) {
+        Map<String, LazyPlan> current = lazyPlans;
+
+        if (current == null) {
+            return super.getById(id);
+        }
+
+        LazyPlan lazyPlan = current.get(id);
+        if (lazyPlan == null) {
+            return null;
+        }
+
+        synchronized (lazyPlan) {                                           // create a plan only once if it is requested by multiple threads
+            Plan plan;
+            synchronized (cache) {
+                plan = cache.get(id);
+            }
+
+            if (plan == null) {
+                plan = materialize(lazyPlan);
+                synchronized (cache) {
+                    if (lazyPlans.get(id) == lazyPlan) {                   // do not cache a plan of a bundle that was reloaded in the meantime
+                        cache.put(id, plan);
+                    }
+                }
+            }
+
+            return plan;
+        }
+    }
+
+    /**
+     * Creates a plan of the lazy mode and precomputes its visibility.
+     *
+     * @param lazyPlan the plan
+     *
+     * @return the created plan
+     *
+     * @throws IllegalArgumentException if a tile template of the plan does not exist
+     */
+    private Plan materialize(LazyPlan lazyPlan) {
+        long start = System.currentTimeMillis();
+
+        Plan plan = CompiledPlanReader.read(templateId -> {
+            TileTemplate template = tileLibrary != null ? tileLibrary.getById(templateId) : null;
+            ValidationUtils.requireNonNull(template, "The tile template ::= [" + templateId + "] of the plan ::= [" + lazyPlan.header().gameId() + "] does not exist.");
+            return template;
+        }, ByteBuffer.wrap(lazyPlan.compiled()));
+
+        if (precomputeVisibility && lineOfSightService != null) {
+            lineOfSightService.precompute(plan);
+        }
+
+        LOG.debug("Created lazy plan ::= [{}] in ::= [{}] ms", lazyPlan.header().gameId(), System.currentTimeMillis() - start);
+
+        return plan;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * In the lazy mode all plans are created, use {@link #getHeaders()} to list the plans.
+     */
+    @Override
+    public List<Plan> getAll() {
+        Map<String, LazyPlan> current = lazyPlans;
+
+        if (current == null) {
+            return super.getAll();
+        }
+
+        return current.keySet().stream().map(this::getById).toList();
+    }
+
+    @Override
+    public Set<String> getIds() {
+        Map<String, LazyPlan> current = lazyPlans;
+
+        if (current == null) {
+            return super.getIds();
+        }
+
+        return current.keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns {@code true} in the lazy mode.
+     */
+    @Override
+    public boolean createsResourcesOnDemand() {
+        return lazyPlans != null;
+    }
+
     @Override
     public String getName() {
         return this.getClass().getSimpleName();
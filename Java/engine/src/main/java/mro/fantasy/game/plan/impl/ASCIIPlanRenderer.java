@@ -1,6 +1,6 @@
 package mro.fantasy.game.plan.impl;
 
-import mro.fantasy.game.Position;
+import mro.fantasy.game.plan.CellCursor;
 import mro.fantasy.game.plan.Field;
 import mro.fantasy.game.plan.Plan;
 import mro.fantasy.game.plan.PlanRenderer;
@@ -176,13 +176,14 @@ public class ASCIIPlanRenderer implements PlanRenderer {
 
         buf.append(start);
 
+        CellCursor cursor = plan.cursor();                                             // walk the plan without the creation of positions
 
         for (int column = 0; column < plan.getSize().columns(); column++) {
 
-            Position position = new Position(column, plan.getSize().rows() - row - 1);  /* we need to convert the fields because the renderer renders the field
+            cursor.moveTo(column, plan.getSize().rows() - row - 1);                     /* we need to convert the fields because the renderer renders the field
                                                                                                top down and the plan has coordinates bottom up */
-            Tile tile = plan.getTopTile(position);
-            Field field = plan.getTopField(position);
+            Tile tile = cursor.getTopTile();
+            Field field = cursor.getTopField();
 
             buf.append(" ");
 
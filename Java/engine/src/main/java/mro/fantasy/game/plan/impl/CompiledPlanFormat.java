@@ -0,0 +1,150 @@
+package mro.fantasy.game.plan.impl;
+
+import mro.fantasy.game.plan.Field;
+import mro.fantasy.game.plan.TileTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and helpers of the binary format for compiled plans, which are written by the {@link CompiledPlanWriter} and read by the {@link CompiledPlanReader}. In contrast to
+ * the YAML format of a plan the compiled format stores all numbers as binary values, i.e. no strings like {@code "(0|5)"} or {@code "90°"} have to be parsed while loading. All
+ * values are big endian:
+ * <pre>{@code
+ *   Header
+ *   ┌──────────────────┬─────────┬───────────────────────────────────────────────────────┐
+ *   │ magic            │ int     │ 0x46475043 ("FGPC")                                   │
+ *   │ version          │ short   │ {@link #VERSION}                                      │
+ *   │ flags            │ short   │ {@link #FLAG_MASKS} if the masks are part of the file │
+ *   │ columns, rows    │ int     │ the size of the plan                                  │
+ *   │ fingerprint      │ long    │ {@link #fingerprint(TileTemplate[])} of the templates │
+ *   │ id               │ string  │                                                       │
+ *   │ name             │ string  │                                                       │
+ *   │ description      │ string  │                                                       │
+ *   ├──────────────────┼─────────┼───────────────────────────────────────────────────────┤
+ *   │ Template table                                                                     │
+ *   ├──────────────────┼─────────┼───────────────────────────────────────────────────────┤
+ *   │ count            │ int     │ number of templates                                   │
+ *   │ game ids         │ string  │ count times the game id of the template               │
+ *   ├──────────────────┼─────────┼───────────────────────────────────────────────────────┤
+ *   │ Tiles                                                                              │
+ *   ├──────────────────┼─────────┼───────────────────────────────────────────────────────┤
+ *   │ count            │ int     │ number of tiles                                       │
+ *   │ templates        │ short[] │ unsigned index in the template table per tile         │
+ *   │ anchors          │ int[]   │ column << 16 | row of the anchor per tile             │
+ *   │ rotations        │ byte[]  │ ordinal of the rotation per tile                      │
+ *   ├──────────────────┼─────────┼───────────────────────────────────────────────────────┤
+ *   │ Masks (optional)                                                                   │
+ *   ├──────────────────┼─────────┼───────────────────────────────────────────────────────┤
+ *   │ count            │ int     │ number of masks, see PlanImpl#getCompiledMasks()      │
+ *   │ words            │ long[]  │ count times the words of the mask, row by row         │
+ *   └──────────────────┴─────────┴───────────────────────────────────────────────────────┘
+ * }</pre>
+ * A string is stored as its length in bytes as {@code short} followed by the UTF-8 bytes, {@code null} is stored with the length {@code -1}. The fingerprint is only written
+ * together with the masks, which depend on the fields of the templates: if a template was changed after the plan was compiled, the stored masks are ignored and calculated again.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+final class CompiledPlanFormat {
+
+    /**
+     * The first four bytes of every compiled plan.
+     */
+    static final int MAGIC = 0x46475043;
+
+    /**
+     * The version of the format.
+     */
+    static final short VERSION = 2;
+
+    /**
+     * Flag that is set if the masks of the plan are part of the file.
+     */
+    static final short FLAG_MASKS = 0x1;
+
+    /**
+     * The file extension of compiled plans.
+     */
+    static final String EXTENSION = ".fgpc";
+
+    /**
+     * Utility class.
+     */
+    private CompiledPlanFormat() {
+
+    }
+
+    /**
+     * Writes a string to the buffer.
+     *
+     * @param buffer the buffer
+     * @param value  the string, may be {@code null}
+     */
+    static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Reads a string from the buffer.
+     *
+     * @param buffer the buffer
+     *
+     * @return the string, may be {@code null}
+     */
+    static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the number of bytes of a string in the buffer.
+     *
+     * @param value the string, may be {@code null}
+     *
+     * @return the number of bytes
+     */
+    static int sizeOf(String value) {
+        return Short.BYTES + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    /**
+     * Calculates the fingerprint of the content of the passed templates that is relevant for the masks of a plan, i.e. the type and size of the templates and the position and
+     * attributes of their fields. The order of the templates is part of the fingerprint.
+     *
+     * @param templates the templates in the order of the template table
+     *
+     * @return the fingerprint
+     */
+    static long fingerprint(TileTemplate[] templates) {
+        long hash = 17;
+
+        for (TileTemplate template : templates) {
+            hash = 31 * hash + template.getGameId().hashCode();
+            hash = 31 * hash + template.getType().ordinal();
+            hash = 31 * hash + template.getSize().hashCode();
+            for (Field field : template.getFields()) {
+                hash = 31 * hash + field.getPosition().hashCode();
+                hash = 31 * hash + field.getType().ordinal();
+                hash = 31 * hash + (field.blocksLineOfSight() ? 1 : 0);
+                hash = 31 * hash + (field.blocksMovement() ? 2 : 0);
+                hash = 31 * hash + (field.canEnter() ? 4 : 0);
+                hash = 31 * hash + (field.isAnchor() ? 8 : 0);
+            }
+        }
+
+        return hash;
+    }
+
+}
@@ -0,0 +1,181 @@
+package mro.fantasy.game.plan.impl;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.Size;
+import mro.fantasy.game.engine.GameLibrary;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.TileRotation;
+import mro.fantasy.game.plan.TileTemplate;
+import mro.fantasy.game.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Reads plans in the binary format described by {@link CompiledPlanFormat}. Files are mapped into memory and read directly from the mapped buffer, i.e. neither the file content
+ * is copied into the heap nor a YAML object tree is created. The tiles are read from the packed arrays of the file and assigned to the plan in a single pass, if the file contains
+ * the masks of the plan the masks are not calculated again.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public final class CompiledPlanReader {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledPlanReader.class);
+
+    /**
+     * Utility class.
+     */
+    private CompiledPlanReader() {
+
+    }
+
+    /**
+     * Reads a compiled plan from a file by mapping it into memory.
+     *
+     * @param library the library to resolve the tile templates
+     * @param path    the file
+     *
+     * @return the plan
+     *
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is no valid compiled plan or a template is not part of the library
+     */
+    public static Plan read(GameLibrary library, Path path) throws IOException {
+        ValidationUtils.requireNonNull(path, "The path cannot be null.");
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());   // the mapping stays valid after the channel is closed
+            return read(library, buffer);
+        }
+    }
+
+    /**
+     * Reads a compiled plan from the passed buffer, starting at its current position.
+     *
+     * @param library the library to resolve the tile templates
+     * @param buffer  the buffer, e.g. the content of a classpath resource
+     *
+     * @return the plan
+     *
+     * @throws IllegalArgumentException if the buffer contains no valid compiled plan or a template is not part of the library
+     */
+    public static Plan read(GameLibrary library, ByteBuffer buffer) {
+        ValidationUtils.requireNonNull(library, "The library cannot be null.");
+        return read(library::getTileTemplate, buffer);
+    }
+
+    /**
+     * Reads a compiled plan from the passed buffer, starting at its current position.
+     *
+     * @param templates the function to resolve a tile template by its ID, e.g. {@link GameLibrary#getTileTemplate(String)}
+     * @param buffer    the buffer
+     *
+     * @return the plan
+     *
+     * @throws IllegalArgumentException if the buffer contains no valid compiled plan or a template cannot be resolved
+     */
+    public static Plan read(Function<String, TileTemplate> templates, ByteBuffer buffer) {
+        ValidationUtils.requireNonNull(templates, "The template function cannot be null.");
+        ValidationUtils.requireNonNull(buffer, "The buffer cannot be null.");
+
+        try {
+            ValidationUtils.requireTrue(buffer.getInt() == CompiledPlanFormat.MAGIC, "The data is no compiled plan.");
+
+            short version = buffer.getShort();
+            ValidationUtils.requireTrue(version == CompiledPlanFormat.VERSION, "Unsupported version ::= [" + version + "] of the compiled plan.");
+
+            short flags = buffer.getShort();
+            Size size = new Size(buffer.getInt(), buffer.getInt());
+            long fingerprint = buffer.getLong();
+            String id = CompiledPlanFormat.getString(buffer);
+            String name = CompiledPlanFormat.getString(buffer);
+            String description = CompiledPlanFormat.getString(buffer);
+
+            TileTemplate[] tileTemplates = new TileTemplate[buffer.getInt()];
+            for (int i = 0; i < tileTemplates.length; i++) {
+                String gameId = CompiledPlanFormat.getString(buffer);
+                tileTemplates[i] = templates.apply(gameId);
+                ValidationUtils.requireTrue(tileTemplates[i] != null, "The tile template ::= [" + gameId + "] of the compiled plan ::= [" + id + "] does not exist.");
+            }
+
+            int count = buffer.getInt();
+            int templatesOffset = buffer.position();                       // the three arrays are read with absolute positions
+            int anchorsOffset = templatesOffset + count * Short.BYTES;
+            int rotationsOffset = anchorsOffset + count * Integer.BYTES;
+            TileRotation[] rotationValues = TileRotation.values();
+
+            List<PlanImpl.Placement> placements = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int template = Short.toUnsignedInt(buffer.getShort(templatesOffset + i * Short.BYTES));
+                int anchor = buffer.getInt(anchorsOffset + i * Integer.BYTES);
+                int rotation = buffer.get(rotationsOffset + i);
+                ValidationUtils.requireTrue(template < tileTemplates.length, "Invalid template index ::= [" + template + "] of the compiled plan ::= [" + id + "]");
+                ValidationUtils.requireTrue(rotation >= 0 && rotation < rotationValues.length, "Invalid rotation ::= [" + rotation + "] of the compiled plan ::= [" + id + "]");
+                placements.add(new PlanImpl.Placement(tileTemplates[template], new Position(anchor >>> 16, anchor & 0xFFFF), rotationValues[rotation]));
+            }
+            buffer.position(rotationsOffset + count);
+
+            FieldMaskImpl[] masks = null;
+            if ((flags & CompiledPlanFormat.FLAG_MASKS) != 0) {
+                if (fingerprint == CompiledPlanFormat.fingerprint(tileTemplates)) {
+                    masks = readMasks(buffer, size, id);
+                } else {
+                    LOG.warn("The tile templates of compiled plan ::= [{}] were changed after it was compiled, the masks are calculated again", id);
+                }
+            }
+
+            PlanImpl plan = new PlanImpl();
+            plan.loadCompiled(id, name, description, size, placements, masks);
+
+            LOG.debug("Read compiled plan ::= [{}] with ::= [{}] tiles, precalculated masks ::= [{}]", id, count, masks != null);
+
+            return plan;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("The compiled plan is truncated.", e);
+        }
+    }
+
+    /**
+     * Reads the masks of a compiled plan.
+     *
+     * @param buffer the buffer
+     * @param size   the size of the plan
+     * @param id     the id of the plan
+     *
+     * @return the masks or {@code null} if the number of masks does not match, e.g. because the plan was compiled with a different number of layers
+     */
+    private static FieldMaskImpl[] readMasks(ByteBuffer buffer, Size size, String id) {
+        int count = buffer.getInt();
+
+        if (count != PlanImpl.getCompiledMaskCount()) {
+            LOG.warn("Compiled plan ::= [{}] has ::= [{}] masks instead of ::= [{}], the masks are calculated again", id, count, PlanImpl.getCompiledMaskCount());
+            return null;
+        }
+
+        FieldMaskImpl[] masks = new FieldMaskImpl[count];
+        for (int i = 0; i < count; i++) {
+            masks[i] = new FieldMaskImpl(size);
+            for (int row = 0; row < size.rows(); row++) {
+                for (int word = 0; word < masks[i].getWordsPerRow(); word++) {
+                    masks[i].setWord(row, word, buffer.getLong());
+                }
+            }
+        }
+        return masks;
+    }
+
+}
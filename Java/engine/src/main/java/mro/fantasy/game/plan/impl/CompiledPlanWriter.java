@@ -0,0 +1,182 @@
+package mro.fantasy.game.plan.impl;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.Size;
+import mro.fantasy.game.plan.TileRotation;
+import mro.fantasy.game.plan.TileTemplate;
+import mro.fantasy.game.utils.ValidationUtils;
+import mro.fantasy.game.utils.YAMLUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Writes plans in the binary format described by {@link CompiledPlanFormat}. The input is the YAML map of a plan as created by {@link PlanImpl#toYAMLMap()} or read from a
+ * plan bundle, i.e. the strings of the YAML format are parsed once when the plan is compiled and never again when the plan is loaded by the {@link CompiledPlanReader}.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public final class CompiledPlanWriter {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledPlanWriter.class);
+
+    /**
+     * Utility class.
+     */
+    private CompiledPlanWriter() {
+
+    }
+
+    /**
+     * Compiles the YAML map of a plan without masks, i.e. the masks are calculated when the plan is loaded.
+     *
+     * @param data the YAML map of the plan, see {@link PlanImpl#loadFromYAML(mro.fantasy.game.engine.GameLibrary, Map)}
+     *
+     * @return the compiled plan
+     *
+     * @throws IllegalArgumentException if the map is invalid
+     */
+    public static byte[] write(Map<String, Object> data) {
+        return write(data, null, null);
+    }
+
+    /**
+     * Compiles the passed plan. If the masks are included, the plan is loaded without validating the tiles and calculating the masks again, which is the fastest way to load it.
+     *
+     * @param plan  the plan
+     * @param masks if the masks of the plan are part of the compiled plan
+     *
+     * @return the compiled plan
+     */
+    public static byte[] write(PlanImpl plan, boolean masks) {
+        ValidationUtils.requireNonNull(plan, "The plan cannot be null.");
+        if (!masks) {
+            return write(plan.toYAMLMap(), null, null);
+        }
+
+        Map<String, TileTemplate> templates = new HashMap<>();              // the templates of the plan to calculate the fingerprint of the template table
+        plan.getTiles().forEach(t -> templates.putIfAbsent(((TileImpl) t).getTemplate().getGameId(), ((TileImpl) t).getTemplate()));
+        return write(plan.toYAMLMap(), plan.getCompiledMasks(), templates::get);
+    }
+
+    /**
+     * Compiles the passed plan to a file.
+     *
+     * @param plan  the plan
+     * @param masks if the masks of the plan are part of the compiled plan
+     * @param path  the file, an existing file is replaced
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(PlanImpl plan, boolean masks, Path path) throws IOException {
+        ValidationUtils.requireNonNull(path, "The path cannot be null.");
+        Files.write(path, write(plan, masks));
+    }
+
+    /**
+     * Compiles the YAML map of a plan.
+     *
+     * @param data     the YAML map of the plan
+     * @param masks    the masks of the plan in the order of {@link PlanImpl#getCompiledMasks()} or {@code null}
+     * @param resolver the function to resolve the templates of the template table if the masks are passed, otherwise {@code null}
+     *
+     * @return the compiled plan
+     */
+    private static byte[] write(Map<String, Object> data, FieldMaskImpl[] masks, Function<String, TileTemplate> resolver) {
+        ValidationUtils.requireNonNull(data, "The data map cannot be null.");
+
+        String id = YAMLUtilities.getOptional(data, "id");
+        String name = YAMLUtilities.getOptional(data, "name");
+        String description = YAMLUtilities.getOptional(data, "description");
+        Size size = YAMLUtilities.parseSize(data, "size");
+
+        ValidationUtils.requireTrue(size.columns() <= 0xFFFF && size.rows() <= 0xFFFF, "The size ::= [" + size + "] is too large for a compiled plan");
+
+        Map<String, Integer> templates = new LinkedHashMap<>();             // game id -> index in the template table
+        List<Integer> tileTemplates = new ArrayList<>();
+        List<Position> anchors = new ArrayList<>();
+        List<TileRotation> rotations = new ArrayList<>();
+
+        YAMLUtilities.forEach(data, "templates", tMap -> {
+            List<Map<String, Object>> tiles = YAMLUtilities.getOptional(tMap, "tiles");
+            if (tiles == null || tiles.isEmpty()) {                         // toYAMLMap() keeps the entries of templates whose tiles were all removed
+                return;
+            }
+            int template = templates.computeIfAbsent(YAMLUtilities.getMandatory(tMap, "tileNumber"), k -> templates.size());
+            tiles.forEach(t -> {
+                tileTemplates.add(template);
+                anchors.add(YAMLUtilities.parsePosition(t, "position"));
+                rotations.add(YAMLUtilities.parseRotation(t, "rotation"));
+            });
+        });
+
+        ValidationUtils.requireTrue(templates.size() <= 0xFFFF, "Too many templates ::= [" + templates.size() + "] for a compiled plan");
+
+        long fingerprint = 0;
+        if (masks != null) {
+            fingerprint = CompiledPlanFormat.fingerprint(templates.keySet().stream().map(resolver).toArray(TileTemplate[]::new));
+        }
+
+        int length = Integer.BYTES + Short.BYTES + Short.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES
+                             + CompiledPlanFormat.sizeOf(id) + CompiledPlanFormat.sizeOf(name) + CompiledPlanFormat.sizeOf(description)
+                             + Integer.BYTES + templates.keySet().stream().mapToInt(CompiledPlanFormat::sizeOf).sum()
+                             + Integer.BYTES + anchors.size() * (Short.BYTES + Integer.BYTES + Byte.BYTES);
+
+        if (masks != null) {
+            length += Integer.BYTES;
+            for (FieldMaskImpl mask : masks) {
+                length += mask.getWordsPerRow() * size.rows() * Long.BYTES;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        buffer.putInt(CompiledPlanFormat.MAGIC);                            // header
+        buffer.putShort(CompiledPlanFormat.VERSION);
+        buffer.putShort(masks != null ? CompiledPlanFormat.FLAG_MASKS : 0);
+        buffer.putInt(size.columns());
+        buffer.putInt(size.rows());
+        buffer.putLong(fingerprint);
+        CompiledPlanFormat.putString(buffer, id);
+        CompiledPlanFormat.putString(buffer, name);
+        CompiledPlanFormat.putString(buffer, description);
+
+        buffer.putInt(templates.size());                                    // template table
+        templates.keySet().forEach(gameId -> CompiledPlanFormat.putString(buffer, gameId));
+
+        buffer.putInt(anchors.size());                                      // tiles as three packed arrays
+        tileTemplates.forEach(t -> buffer.putShort(t.shortValue()));
+        anchors.forEach(a -> buffer.putInt(a.column() << 16 | a.row()));
+        rotations.forEach(r -> buffer.put((byte) r.ordinal()));
+
+        if (masks != null) {
+            buffer.putInt(masks.length);
+            for (FieldMaskImpl mask : masks) {
+                for (int row = 0; row < size.rows(); row++) {
+                    for (int word = 0; word < mask.getWordsPerRow(); word++) {
+                        buffer.putLong(mask.getWord(row, word));
+                    }
+                }
+            }
+        }
+
+        LOG.debug("Compiled plan ::= [{}] with ::= [{}] tiles to ::= [{}] bytes", id, anchors.size(), length);
+
+        return buffer.array();
+    }
+
+}
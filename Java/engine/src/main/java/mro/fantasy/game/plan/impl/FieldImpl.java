@@ -10,7 +10,7 @@ import mro.fantasy.game.plan.FieldType;
 import java.util.Map;
 
 /**
- * Implementation of a {@link Field}.
+ * Implementation of a {@link Field}. The field is immutable, i.e. the fields of a {@link TileTemplateImpl} are shared by all tiles that are created from the template.
  *
  * @author Michael Rodenbuecher
  * @since 2022-07-31
@@ -22,40 +22,58 @@ public class FieldImpl implements Field {
      *
      * @see #getType()
      */
-    private FieldType type;
+    private final FieldType type;
 
     /**
      * If the line of sight is blocked.
      *
      * @see #blocksLineOfSight()
      */
-    private boolean los;
+    private final boolean los;
 
     /**
      * If movement is blocked.
      *
      * @see #blocksMovement()
      */
-    private boolean move;
+    private final boolean move;
 
     /**
      * If a character can enter.
      *
      * @see #canEnter()
      */
-    private boolean enter;
+    private final boolean enter;
 
     /**
      * The position of the field in the context of its parent container.
      *
      * @see #getPosition()
      */
-    private Position position;
+    private final Position position;
 
     /**
      * If this field is an anchor field.
      */
-    private boolean anchor;
+    private final boolean anchor;
+
+    /**
+     * Creates a new field.
+     *
+     * @param type     the type of the field
+     * @param los      if the line of sight is blocked
+     * @param move     if movement is blocked
+     * @param enter    if a character can enter
+     * @param position the position of the field in the context of its parent container
+     */
+    private FieldImpl(FieldType type, boolean los, boolean move, boolean enter, Position position) {
+        this.type = type;
+        this.los = los;
+        this.move = move;
+        this.enter = enter;
+        this.position = position;
+        this.anchor = position.equals(new Position(0, 0));
+    }
 
     @Override
     public FieldType getType() {
@@ -89,28 +107,7 @@ public class FieldImpl implements Field {
 
     @Override
     public Field copy() {
-        FieldImpl newField = new FieldImpl();
-        newField.type = this.type;
-        newField.enter = this.enter;
-        newField.position = new Position(this.position.column(), this.position.row());
-        newField.move = this.move;
-        newField.anchor = this.anchor;
-        newField.los = this.los;
-        return newField;
-    }
-
-    /**
-     * Creates a copy of this field but with a different position
-     *
-     * @param column the new column
-     * @param row    the new row
-     *
-     * @return the new field
-     */
-    protected FieldImpl shift(int column, int row) {
-        FieldImpl newField = (FieldImpl) copy();
-        newField.position = new Position(column, row);
-        return newField;
+        return this;                                                        // immutable, i.e. the copy can be shared
     }
 
     @Override
@@ -141,14 +138,12 @@ public class FieldImpl implements Field {
         ValidationUtils.requireNonNull(data, "The data map cannot be null.");
         ValidationUtils.requireNonNull(type, "The field type cannot be null.");
 
-        FieldImpl field = new FieldImpl();
-
-        field.type = type;
-        field.los = YAMLUtilities.getMandatory(data, "los");
-        field.move = YAMLUtilities.getMandatory(data, "move");
-        field.enter = YAMLUtilities.getMandatory(data, "enter");
-        field.position = new Position(YAMLUtilities.getMandatory(data, "column"), YAMLUtilities.getMandatory(data, "row"));
-        field.anchor = field.position.equals(new Position(0, 0));
+        FieldImpl field = new FieldImpl(
+                type,
+                YAMLUtilities.getMandatory(data, "los"),
+                YAMLUtilities.getMandatory(data, "move"),
+                YAMLUtilities.getMandatory(data, "enter"),
+                new Position(YAMLUtilities.getMandatory(data, "column"), YAMLUtilities.getMandatory(data, "row")));
 
         if (field.move && field.enter) {
             throw new IllegalArgumentException("Cannot have attribute blocks movement set to true and attribute canEnter set to true at the same time");
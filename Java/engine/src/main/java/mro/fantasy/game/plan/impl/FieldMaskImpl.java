@@ -0,0 +1,241 @@
+package mro.fantasy.game.plan.impl;
+
+import mro.fantasy.game.Size;
+import mro.fantasy.game.plan.FieldMask;
+
+import java.util.Arrays;
+
+/**
+ * Implementation of a {@link FieldMask} backed by a {@code long} array. In contrast to the interface this class offers methods to modify the mask, i.e. it should only be handed
+ * out as {@link FieldMask} by the classes which own it.
+ * <p>
+ * A {@link #snapshot()} shares the bits with this mask until one of both masks is modified, the modified mask copies the bits before (copy on write).
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public class FieldMaskImpl implements FieldMask {
+
+    /**
+     * The size of the mask.
+     *
+     * @see #getSize()
+     */
+    private final Size size;
+
+    /**
+     * The number of words for a single row.
+     *
+     * @see #getWordsPerRow()
+     */
+    private final int wordsPerRow;
+
+    /**
+     * The bits of the mask, row by row.
+     */
+    private long[] words;
+
+    /**
+     * If the {@link #words} are shared with a snapshot and have to be copied before they are modified. The flag is volatile since a snapshot of a mask may be taken by another
+     * thread, e.g. when multiple sessions copy the same plan of the library.
+     *
+     * @see #snapshot()
+     */
+    private volatile boolean shared;
+
+    /**
+     * Creates a new mask where no bit is set.
+     *
+     * @param size the size of the plan
+     */
+    public FieldMaskImpl(Size size) {
+        this.size = size;
+        this.wordsPerRow = (size.columns() + 63) >>> 6;
+        this.words = new long[wordsPerRow * size.rows()];
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param mask  the mask to copy
+     * @param share if the bits are shared with the passed mask instead of being copied
+     */
+    private FieldMaskImpl(FieldMaskImpl mask, boolean share) {
+        this.size = mask.size;
+        this.wordsPerRow = mask.wordsPerRow;
+        this.words = share ? mask.words : mask.words.clone();
+        this.shared = share;
+    }
+
+    /**
+     * Creates a mutable copy of the passed mask.
+     *
+     * @param mask the mask to copy
+     *
+     * @return the copy
+     */
+    public static FieldMaskImpl copyOf(FieldMask mask) {
+        if (mask instanceof FieldMaskImpl impl) {
+            return impl.copy();
+        }
+
+        FieldMaskImpl result = new FieldMaskImpl(mask.getSize());
+        for (int row = 0; row < mask.getSize().rows(); row++) {
+            for (int word = 0; word < result.wordsPerRow; word++) {
+                result.words[row * result.wordsPerRow + word] = mask.getWord(row, word);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Size getSize() {
+        return size;
+    }
+
+    @Override
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    @Override
+    public long getWord(int row, int wordIndex) {
+        if (wordIndex < 0 || wordIndex >= wordsPerRow) {
+            throw new IndexOutOfBoundsException("Word index ::= [" + wordIndex + "] is not part of the mask");
+        }
+        return words[row * wordsPerRow + wordIndex];
+    }
+
+    @Override
+    public boolean isSet(int column, int row) {
+        if (column < 0 || row < 0 || column >= size.columns() || row >= size.rows()) {
+            return false;
+        }
+        return (words[row * wordsPerRow + (column >>> 6)] & (1L << column)) != 0;   // the shift operator only uses the lower 6 bits of the column
+    }
+
+    @Override
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Sets or clears the bit for the given coordinates.
+     *
+     * @param column the column
+     * @param row    the row
+     * @param value  {@code true} to set the bit, {@code false} to clear it
+     *
+     * @throws IndexOutOfBoundsException if the coordinates are outside the plan
+     */
+    public void set(int column, int row, boolean value) {
+        if (column < 0 || row < 0 || column >= size.columns() || row >= size.rows()) {
+            throw new IndexOutOfBoundsException("Position (" + column + "|" + row + ") is not part of the mask with size ::= [" + size + "]");
+        }
+
+        prepareWrite();
+
+        int index = row * wordsPerRow + (column >>> 6);
+
+        if (value) {
+            words[index] |= 1L << column;
+        } else {
+            words[index] &= ~(1L << column);
+        }
+    }
+
+    /**
+     * Replaces a whole word of the mask. Bits for columns outside the plan are ignored.
+     *
+     * @param row       the row of the plan
+     * @param wordIndex the index of the word inside the row
+     * @param value     the new bits of the word
+     *
+     * @throws IndexOutOfBoundsException if the row or the word index is not part of the mask
+     */
+    public void setWord(int row, int wordIndex, long value) {
+        if (wordIndex < 0 || wordIndex >= wordsPerRow) {
+            throw new IndexOutOfBoundsException("Word index ::= [" + wordIndex + "] is not part of the mask");
+        }
+
+        prepareWrite();
+
+        int remaining = size.columns() - (wordIndex << 6);
+        words[row * wordsPerRow + wordIndex] = remaining >= 64 ? value : value & ((1L << remaining) - 1);
+    }
+
+    /**
+     * Sets the bits of all fields of the plan.
+     */
+    public void setAll() {
+        prepareWrite();
+
+        for (int row = 0; row < size.rows(); row++) {
+            for (int word = 0; word < wordsPerRow; word++) {
+                int remaining = size.columns() - (word << 6);                                   // the last word of a row may only be used partially, the bits
+                words[row * wordsPerRow + word] = remaining >= 64 ? -1L : (1L << remaining) - 1;   // for columns outside the plan have to stay 0
+            }
+        }
+    }
+
+    /**
+     * Clears all bits of the mask.
+     */
+    public void clear() {
+        prepareWrite();
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Creates a deep copy of this mask.
+     *
+     * @return the copy
+     */
+    public FieldMaskImpl copy() {
+        return new FieldMaskImpl(this, false);
+    }
+
+    /**
+     * Creates a copy of this mask in constant time. The bits are shared by both masks until one of them is modified.
+     *
+     * @return the snapshot
+     */
+    public FieldMaskImpl snapshot() {
+        if (!shared) {                                                      // never write to a mask that is already shared, e.g. a mask of a library plan
+            shared = true;
+        }
+        return new FieldMaskImpl(this, true);
+    }
+
+    /**
+     * Copies the bits of the mask if they are shared with a snapshot, has to be called before every modification.
+     */
+    private void prepareWrite() {
+        if (shared) {
+            words = words.clone();
+            shared = false;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FieldMaskImpl that = (FieldMaskImpl) o;
+        return size.equals(that.size) && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size.hashCode() + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "FieldMaskImpl{size=" + size + ", cardinality=" + cardinality() + '}';
+    }
+}
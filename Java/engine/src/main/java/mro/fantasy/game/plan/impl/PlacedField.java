@@ -0,0 +1,76 @@
+package mro.fantasy.game.plan.impl;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.plan.Field;
+import mro.fantasy.game.plan.FieldType;
+
+/**
+ * A {@link Field} of a {@link TileImpl} in the coordinate system of the plan. The attributes are read from the shared field of the template, only the position on the plan is
+ * stored. Like the field of the template the placed field is immutable.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+final class PlacedField implements Field {
+
+    /**
+     * The field of the template.
+     */
+    private final Field field;
+
+    /**
+     * The position on the plan.
+     */
+    private final Position position;
+
+    /**
+     * Creates a new field.
+     *
+     * @param field    the field of the template
+     * @param position the position on the plan
+     */
+    PlacedField(Field field, Position position) {
+        this.field = field;
+        this.position = position;
+    }
+
+    @Override
+    public FieldType getType() {
+        return field.getType();
+    }
+
+    @Override
+    public boolean blocksLineOfSight() {
+        return field.blocksLineOfSight();
+    }
+
+    @Override
+    public boolean blocksMovement() {
+        return field.blocksMovement();
+    }
+
+    @Override
+    public boolean canEnter() {
+        return field.canEnter();
+    }
+
+    @Override
+    public boolean isAnchor() {
+        return field.isAnchor();
+    }
+
+    @Override
+    public Field copy() {
+        return this;                                                        // immutable, i.e. the copy can be shared
+    }
+
+    @Override
+    public Position getPosition() {
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return position.toString();
+    }
+}
@@ -1,8 +1,11 @@
 package mro.fantasy.game.plan.impl;
 
+import mro.fantasy.game.Position;
 import mro.fantasy.game.plan.Plan;
 import mro.fantasy.game.plan.PlanDeltaService;
 import mro.fantasy.game.plan.Tile;
+import mro.fantasy.game.plan.TileRotation;
+import mro.fantasy.game.utils.ValidationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -10,7 +13,8 @@ import org.springframework.stereotype.Service;
 import java.util.*;
 
 /**
- * Calculates the delta between two plans.
+ * Calculates the delta between two plans. The tiles of the original plan are indexed in hash maps by their id and by their placement, i.e. the costs of a calculation are linear
+ * in the number of tiles of both plans.
  *
  * @author Michael Rodenbuecher
  * @since 2022-08-12
@@ -23,33 +27,112 @@ public class PlanDeltaServiceImpl implements PlanDeltaService {
      */
     private static final Logger LOG = LoggerFactory.getLogger(PlanDeltaServiceImpl.class);
 
+    /**
+     * The placement of a tile on a plan, tiles with the same placement are considered to be the same tile even if they have different ids.
+     *
+     * @param gameId   the game id of the template
+     * @param position the position of the anchor
+     * @param rotation the rotation
+     */
+    private record Placement(String gameId, Position position, TileRotation rotation) {
+
+        /**
+         * Creates the placement of the passed tile.
+         *
+         * @param tile the tile
+         *
+         * @return the placement
+         */
+        static Placement of(Tile tile) {
+            return new Placement(tile.getGameId(), tile.getPosition(), tile.getRotation());
+        }
+    }
+
     @Override
     public Map<ChangeType, List<Tile>> calculateChange(Plan original, Plan changed) {
+        ValidationUtils.requireNonNull(original, "The original plan cannot be null.");
+        ValidationUtils.requireNonNull(changed, "The changed plan cannot be null.");
 
-        LOG.debug("Start delta calculation for plan :.= [{}]", original.getName());
+        LOG.debug("Start delta calculation for plan ::= [{}]", original.getName());
 
-        var result = new HashMap<ChangeType, List<Tile>>();
+        var result = new EnumMap<ChangeType, List<Tile>>(ChangeType.class);
         Arrays.stream(ChangeType.values()).forEach(ct -> result.put(ct, new ArrayList<>()));  // initialize the result map
 
-        // Check if a tile was added. We remove all tiles from the changed list that are in the original list. The remaining elements are those which were added.
-        var addedTiles = changed.getTiles();
-        addedTiles.removeAll(original.getTiles());
-        addedTiles.forEach(t -> result.get(ChangeType.TILE_ADDED).add(t));
-
-        // Perform the operation with switched lists to get the removed tiles.
-        var removedTiles = original.getTiles();
-        removedTiles.removeAll(changed.getTiles());
-        removedTiles.forEach(t -> result.get(ChangeType.TILE_REMOVED).add(t));
-
-        // figure out the position changes is a little more complex because we need to compare the position of the tiles.
-        changed.getTiles().stream()
-                .filter(cTile -> {
-                    var origTile = original.getTileById(cTile.getId());                         // try to fetch the same tile in the original list
-                    return origTile != null && !origTile.getPosition().equals(cTile.getPosition());  // if the tile was added we will not find it, so it has obviously not moved
-                })                                                                                   // otherwise, we compare the position
-                .forEach(t -> result.get(ChangeType.TILE_MOVED).add(t));                             // and add the moved tiles to the result
-
-        LOG.debug("Start delta calculation for plan :.= [{}], added ::= [{}], removed ::= [{}], moved ::= [{}]", original.getName(), result.get(ChangeType.TILE_ADDED),
+        if (original.getVersion() == changed.getVersion()) {               // versions are unique, i.e. one plan is an unmodified copy of the other
+            LOG.debug("Plans have the same version ::= [{}], no delta", original.getVersion());
+            return result;
+        }
+
+        List<Tile> originalTiles = original.getTiles();
+        List<Tile> changedTiles = changed.getTiles();
+
+        Map<String, Tile> originalById = new HashMap<>(originalTiles.size() * 2);
+        originalTiles.forEach(t -> originalById.put(t.getId(), t));
+
+        // first step: tiles with the same id are the same tile, it was moved if the placement differs. All other tiles of the changed plan are candidates for added tiles.
+
+        Set<String> matched = new HashSet<>(changedTiles.size() * 2);
+        List<Tile> added = new ArrayList<>();
+
+        for (Tile cTile : changedTiles) {
+            Tile oTile = originalById.get(cTile.getId());
+            if (oTile == null) {
+                added.add(cTile);
+            } else {
+                matched.add(cTile.getId());
+                if (!oTile.getPosition().equals(cTile.getPosition()) || oTile.getRotation() != cTile.getRotation()) {
+                    result.get(ChangeType.TILE_MOVED).add(cTile);
+                }
+            }
+        }
+
+        // second step: the unmatched tiles of the original plan are indexed by their placement, a candidate with the same placement is the same tile with a different id
+
+        Map<Placement, Deque<Tile>> removedByPlacement = new HashMap<>();
+        for (Tile oTile : originalTiles) {
+            if (!matched.contains(oTile.getId())) {
+                removedByPlacement.computeIfAbsent(Placement.of(oTile), k -> new ArrayDeque<>()).add(oTile);
+            }
+        }
+
+        Set<Tile> consumed = Collections.newSetFromMap(new IdentityHashMap<>());   // unmatched tiles of the original plan that are part of the plan or moved
+
+        List<Tile> remainingAdded = new ArrayList<>();
+        for (Tile cTile : added) {
+            Deque<Tile> candidates = removedByPlacement.get(Placement.of(cTile));
+            if (candidates != null && !candidates.isEmpty()) {
+                consumed.add(candidates.poll());                            // same tile on both plans, not part of the delta
+            } else {
+                remainingAdded.add(cTile);
+            }
+        }
+
+        // third step: a tile of the same type that was removed and added somewhere else was moved, e.g. a figure that was picked up and placed on another field
+
+        Map<String, Deque<Tile>> removedByGameId = new HashMap<>();
+        for (Tile oTile : originalTiles) {
+            if (!matched.contains(oTile.getId()) && !consumed.contains(oTile)) {
+                removedByGameId.computeIfAbsent(oTile.getGameId(), k -> new ArrayDeque<>()).add(oTile);
+            }
+        }
+
+        for (Tile cTile : remainingAdded) {
+            Deque<Tile> candidates = removedByGameId.get(cTile.getGameId());
+            if (candidates != null && !candidates.isEmpty()) {
+                consumed.add(candidates.poll());
+                result.get(ChangeType.TILE_MOVED).add(cTile);
+            } else {
+                result.get(ChangeType.TILE_ADDED).add(cTile);
+            }
+        }
+
+        for (Tile oTile : originalTiles) {                                  // iterate again to keep the order of the original plan
+            if (!matched.contains(oTile.getId()) && !consumed.contains(oTile)) {
+                result.get(ChangeType.TILE_REMOVED).add(oTile);
+            }
+        }
+
+        LOG.debug("Finished delta calculation for plan ::= [{}], added ::= [{}], removed ::= [{}], moved ::= [{}]", original.getName(), result.get(ChangeType.TILE_ADDED),
                 result.get(ChangeType.TILE_REMOVED), result.get(ChangeType.TILE_MOVED));
 
         return result;
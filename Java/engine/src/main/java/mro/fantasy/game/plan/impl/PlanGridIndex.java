@@ -0,0 +1,374 @@
+package mro.fantasy.game.plan.impl;
+
+import mro.fantasy.game.Size;
+import mro.fantasy.game.plan.Field;
+import mro.fantasy.game.plan.FieldType;
+import mro.fantasy.game.plan.Tile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Spatial index of a {@link PlanImpl}. The index is a dense grid with one cell for every combination of a column and a row of the plan. Every cell holds the stack of fields and
+ * tiles which cover the position, sorted by their {@link FieldType#getLayer()} from bottom to top:
+ * <pre>{@code
+ *   Plan (2x1)                      Cell (0|0)            Cell (1|0)
+ *   ┌─────────┬─────────┐           ┌──────────────┐      ┌──────────────┐
+ *   │ ------- │         │           │ 3 - PLAYER   │      │              │
+ *   │ PLAYER  │  BG001  │    ->     │ 1 - BG001    │      │ 1 - BG001    │
+ *   │ 0°      │         │           └──────────────┘      └──────────────┘
+ *   └─────────┴─────────┘
+ * }</pre>
+ * Since the cell of a position is addressed directly by its column and row, all position based queries of the plan are answered without iterating over the tiles of the plan and
+ * without creating new objects. The index has to be updated by the plan whenever a tile is assigned or removed.
+ * <p>
+ * The cells are grouped into chunks of {@value #CHUNK_SIZE}x{@value #CHUNK_SIZE} positions. A {@link #snapshot()} shares all chunks with the original index and takes constant
+ * time. Afterwards every chunk is copied by the first index that modifies it (copy on write), i.e. a modification only copies the chunks touched by the tile and the untouched
+ * chunks stay shared by both indexes. Tiles and fields are immutable and never copied.
+ * <p>
+ * The cells store the shared fields of the {@link mro.fantasy.game.plan.TileTemplate}s, i.e. adding a tile does not create any fields. The {@link Field#getPosition()} of these
+ * fields is the position inside the template, the position on the plan is the position of the cell.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+final class PlanGridIndex {
+
+    /**
+     * A single cell of the index with the field and tile stack of one position. Both lists are in sync, i.e. the field at index i belongs to the tile at index i because a tile can
+     * only have one field on every position.
+     */
+    private static final class Cell {
+
+        /**
+         * The fields on the position sorted by layer.
+         */
+        private final List<Field> fields = new ArrayList<>(2);
+
+        /**
+         * The tiles on the position sorted by layer.
+         */
+        private final List<Tile> tiles = new ArrayList<>(2);
+
+        /**
+         * Read only view on the {@link #fields} list which is handed out to callers.
+         */
+        private final List<Field> fieldView = Collections.unmodifiableList(fields);
+
+        /**
+         * Read only view on the {@link #tiles} list which is handed out to callers.
+         */
+        private final List<Tile> tileView = Collections.unmodifiableList(tiles);
+    }
+
+    /**
+     * A block of {@link #CHUNK_SIZE}x{@link #CHUNK_SIZE} cells in row major order. A chunk may only be modified by the index that owns it.
+     */
+    private static final class Chunk {
+
+        /**
+         * The owner of the chunk, see {@link PlanGridIndex#owner}.
+         */
+        private final Object owner;
+
+        /**
+         * The cells of the chunk. Cells are created on demand when the first tile covers the position.
+         */
+        private final Cell[] cells = new Cell[CHUNK_SIZE * CHUNK_SIZE];
+
+        /**
+         * Creates a new, empty, chunk.
+         *
+         * @param owner the owner
+         */
+        private Chunk(Object owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * The number of columns and rows of a chunk, has to be a power of two.
+     */
+    private static final int CHUNK_SIZE = 8;
+
+    /**
+     * The number of bits to shift a column or row to get the chunk column or row.
+     */
+    private static final int CHUNK_SHIFT = Integer.numberOfTrailingZeros(CHUNK_SIZE);
+
+    /**
+     * The number of columns of the indexed plan.
+     */
+    private final int columns;
+
+    /**
+     * The number of rows of the indexed plan.
+     */
+    private final int rows;
+
+    /**
+     * The number of chunks in a row of the {@link #chunks}.
+     */
+    private final int chunkColumns;
+
+    /**
+     * The chunks of the index in row major order. Chunks are created on demand when the first tile covers one of their positions.
+     */
+    private Chunk[] chunks;
+
+    /**
+     * If the {@link #chunks} array is shared with a snapshot and has to be copied before it is modified. Volatile like the {@link #owner} since a snapshot may be taken by
+     * another thread.
+     */
+    private volatile boolean chunksShared;
+
+    /**
+     * Token that identifies the chunks this index may modify. A snapshot assigns a new token to both indexes so that all chunks which existed before are copied on write.
+     */
+    private volatile Object owner = new Object();
+
+    /**
+     * Creates a new, empty, index for a plan of the given size.
+     *
+     * @param size the size of the plan
+     */
+    PlanGridIndex(Size size) {
+        this.columns = size.columns();
+        this.rows = size.rows();
+        this.chunkColumns = (columns + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        this.chunks = new Chunk[chunkColumns * ((rows + CHUNK_SIZE - 1) >> CHUNK_SHIFT)];
+    }
+
+    /**
+     * Creates a snapshot that shares all chunks with the passed index.
+     *
+     * @param index the index
+     */
+    private PlanGridIndex(PlanGridIndex index) {
+        this.columns = index.columns;
+        this.rows = index.rows;
+        this.chunkColumns = index.chunkColumns;
+        this.chunks = index.chunks;
+        this.chunksShared = true;
+    }
+
+    /**
+     * Checks if the passed coordinates are part of the indexed plan.
+     *
+     * @param column the column
+     * @param row    the row
+     *
+     * @return {@code true} if the coordinates are inside the plan, {@code false} otherwise
+     */
+    boolean contains(int column, int row) {
+        return column >= 0 && row >= 0 && column < columns && row < rows;
+    }
+
+    /**
+     * Adds all fields of the passed tile to the index. The cells reference the fields of the template, no fields are created.
+     *
+     * @param tile the tile to add
+     */
+    void add(TileImpl tile) {
+        int layer = tile.getType().getLayer();
+
+        for (int f = 0; f < tile.getFieldCount(); f++) {
+            int column = tile.getColumn(f);
+            int row = tile.getRow(f);
+            Cell cell = getWritableCell(column, row, true);
+
+            int insertAt = cell.tiles.size();                                      // the stack is sorted by the layer, tiles on the same layer are kept in the order they
+            while (insertAt > 0 && cell.tiles.get(insertAt - 1).getType().getLayer() > layer) {  // were added so that the last one added is the top one
+                insertAt--;
+            }
+
+            cell.tiles.add(insertAt, tile);
+            cell.fields.add(insertAt, tile.getTemplateField(f));
+        }
+    }
+
+    /**
+     * Removes all fields of the passed tile from the index. The tile is identified by its object identity, i.e. it has to be the same instance that was passed to {@link
+     * #add(TileImpl)}.
+     *
+     * @param tile the tile to remove
+     */
+    void remove(TileImpl tile) {
+        for (int f = 0; f < tile.getFieldCount(); f++) {
+            Cell cell = getWritableCell(tile.getColumn(f), tile.getRow(f), false);
+
+            if (cell == null) {
+                continue;
+            }
+
+            int i = indexOf(cell, tile);
+            if (i >= 0) {
+                cell.tiles.remove(i);
+                cell.fields.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Creates a snapshot of the index in constant time. Both indexes share all chunks until they are modified, see the class description.
+     *
+     * @return the snapshot
+     */
+    PlanGridIndex snapshot() {
+        PlanGridIndex snapshot = new PlanGridIndex(this);
+        snapshot.owner = new Object();
+
+        if (!chunksShared) {                                                // the existing chunks belong to both indexes now, i.e. none of them may be modified in place.
+            this.owner = new Object();                                      // If the chunks are already shared, no chunk belongs to the current owner and the index
+            this.chunksShared = true;                                       // is not modified, so that concurrent snapshots of an unmodified index never write to it
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Returns the fields on the given position sorted by their layer from bottom to top.
+     *
+     * @param column the column
+     * @param row    the row
+     *
+     * @return a read only list with the fields, an empty list if no field covers the position or the position is not part of the plan
+     */
+    List<Field> getFields(int column, int row) {
+        Cell cell = getCell(column, row);
+        return cell == null ? Collections.emptyList() : cell.fieldView;
+    }
+
+    /**
+     * Returns the tiles on the given position sorted by their layer from bottom to top.
+     *
+     * @param column the column
+     * @param row    the row
+     *
+     * @return a read only list with the tiles, an empty list if no tile covers the position or the position is not part of the plan
+     */
+    List<Tile> getTiles(int column, int row) {
+        Cell cell = getCell(column, row);
+        return cell == null ? Collections.emptyList() : cell.tileView;
+    }
+
+    /**
+     * Returns the field with the highest layer on the given position.
+     *
+     * @param column the column
+     * @param row    the row
+     *
+     * @return the field or {@code null} if no field covers the position
+     */
+    Field getTopField(int column, int row) {
+        Cell cell = getCell(column, row);
+        return cell == null || cell.fields.isEmpty() ? null : cell.fields.get(cell.fields.size() - 1);
+    }
+
+    /**
+     * Returns the tile with the highest layer on the given position.
+     *
+     * @param column the column
+     * @param row    the row
+     *
+     * @return the tile or {@code null} if no tile covers the position
+     */
+    Tile getTopTile(int column, int row) {
+        Cell cell = getCell(column, row);
+        return cell == null || cell.tiles.isEmpty() ? null : cell.tiles.get(cell.tiles.size() - 1);
+    }
+
+    /**
+     * Returns the cell for the passed coordinates.
+     *
+     * @param column the column
+     * @param row    the row
+     *
+     * @return the cell or {@code null} if the cell was not created yet or the coordinates are outside the plan
+     */
+    private Cell getCell(int column, int row) {
+        if (!contains(column, row)) {
+            return null;
+        }
+        Chunk chunk = chunks[(row >> CHUNK_SHIFT) * chunkColumns + (column >> CHUNK_SHIFT)];
+        return chunk == null ? null : chunk.cells[toCellIndex(column, row)];
+    }
+
+    /**
+     * Returns the cell for the passed coordinates that can be modified by this index. Shared chunks are copied before.
+     *
+     * @param column the column
+     * @param row    the row
+     * @param create if a missing cell is created
+     *
+     * @return the cell or {@code null} if the cell does not exist and was not created
+     */
+    private Cell getWritableCell(int column, int row, boolean create) {
+        if (chunksShared) {
+            chunks = chunks.clone();
+            chunksShared = false;
+        }
+
+        int chunkIndex = (row >> CHUNK_SHIFT) * chunkColumns + (column >> CHUNK_SHIFT);
+        Chunk chunk = chunks[chunkIndex];
+
+        if (chunk == null) {
+            if (!create) {
+                return null;
+            }
+            chunk = new Chunk(owner);
+            chunks[chunkIndex] = chunk;
+        } else if (chunk.owner != owner) {                                  // shared with a snapshot, the copy belongs to this index
+            Chunk copy = new Chunk(owner);
+            for (int i = 0; i < chunk.cells.length; i++) {
+                Cell cell = chunk.cells[i];
+                if (cell != null) {
+                    Cell cellCopy = new Cell();
+                    cellCopy.fields.addAll(cell.fields);
+                    cellCopy.tiles.addAll(cell.tiles);
+                    copy.cells[i] = cellCopy;
+                }
+            }
+            chunk = copy;
+            chunks[chunkIndex] = chunk;
+        }
+
+        int cellIndex = toCellIndex(column, row);
+        if (chunk.cells[cellIndex] == null && create) {
+            chunk.cells[cellIndex] = new Cell();
+        }
+        return chunk.cells[cellIndex];
+    }
+
+    /**
+     * Returns the position of the tile in the stack of the cell.
+     *
+     * @param cell the cell
+     * @param tile the tile
+     *
+     * @return the position or {@code -1} if the tile does not cover the cell
+     */
+    private static int indexOf(Cell cell, Tile tile) {
+        for (int i = 0; i < cell.tiles.size(); i++) {
+            if (cell.tiles.get(i) == tile) {                                // identity, the stack is short
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Converts the passed coordinates into the index of the cell in its {@link Chunk}.
+     *
+     * @param column the column
+     * @param row    the row
+     *
+     * @return the index
+     */
+    private static int toCellIndex(int column, int row) {
+        return ((row & (CHUNK_SIZE - 1)) << CHUNK_SHIFT) + (column & (CHUNK_SIZE - 1));
+    }
+
+}
@@ -3,9 +3,11 @@ package mro.fantasy.game.plan.impl;
 import mro.fantasy.game.Position;
 import mro.fantasy.game.Size;
 import mro.fantasy.game.engine.GameLibrary;
+import mro.fantasy.game.engine.events.GameEventListener;
+import mro.fantasy.game.engine.events.PlanChangedEvent;
+import mro.fantasy.game.engine.events.impl.PlanChangedEventImpl;
 import mro.fantasy.game.plan.*;
 import mro.fantasy.game.resources.GameResource;
-import mro.fantasy.game.resources.ResourceLibrary;
 import mro.fantasy.game.resources.impl.AbstractGameResource;
 import mro.fantasy.game.utils.ValidationUtils;
 import mro.fantasy.game.utils.YAMLUtilities;
@@ -13,7 +15,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the {@link Plan} interface.
@@ -28,6 +32,30 @@ public class PlanImpl extends AbstractGameResource implements Plan {
      */
     private static final Logger LOG = LoggerFactory.getLogger(PlanImpl.class);
 
+    /**
+     * The number of columns and rows of a region that share the same version number.
+     *
+     * @see #getVersion(int, int, int, int)
+     */
+    private static final int REGION_SIZE = 8;
+
+    /**
+     * Global sequence for the version numbers of all plans. Since the sequence is shared, two plans can only have the same version if one is an unmodified copy of the other.
+     */
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    /**
+     * The number of layers, i.e. the highest {@link FieldType#getLayer()} plus one.
+     *
+     * @see #layerMasks
+     */
+    private static final int LAYERS = Arrays.stream(FieldType.values()).mapToInt(FieldType::getLayer).max().orElse(0) + 1;
+
+    /**
+     * The layer of floor and wall tiles on which all other tiles are placed.
+     */
+    private static final int BASE_LAYER = 1;
+
     /**
      * The size of the plan.
      *
@@ -45,6 +73,201 @@ public class PlanImpl extends AbstractGameResource implements Plan {
      */
     private HashMap<String, List<TileImpl>> tilesByType = new HashMap<>();
 
+    /**
+     * Spatial index with the field and tile stack of every position of the plan. The index is created as soon as the size of the plan is known.
+     *
+     * @see #getFields(Position)
+     * @see #getTiles(Position)
+     */
+    private PlanGridIndex index;
+
+    /**
+     * Bitset with all positions that block the line of sight.
+     *
+     * @see #getLineOfSightMask()
+     */
+    private FieldMaskImpl lineOfSightMask;
+
+    /**
+     * Bitset with all positions where a field that is no character blocks the line of sight.
+     *
+     * @see #getStaticLineOfSightMask()
+     */
+    private FieldMaskImpl staticLineOfSightMask;
+
+    /**
+     * Bitset with all positions where a character blocks the line of sight.
+     *
+     * @see #getCharacterLineOfSightMask()
+     */
+    private FieldMaskImpl characterLineOfSightMask;
+
+    /**
+     * Bitset with all positions that block the movement, including the positions without any tile.
+     *
+     * @see #getMovementMask()
+     */
+    private FieldMaskImpl movementMask;
+
+    /**
+     * Bitset with all positions that can be entered by a character.
+     *
+     * @see #getEnterMask()
+     */
+    private FieldMaskImpl enterMask;
+
+    /**
+     * Bitset with all positions that are covered by at least one tile.
+     *
+     * @see #getCoveredMask()
+     */
+    private FieldMaskImpl coveredMask;
+
+    /**
+     * Bitsets with all positions that are covered by a tile of a layer, by the {@link FieldType#getLayer()}. The bitsets are used to validate new tiles, see
+     * {@link #validate(TileImpl)}.
+     */
+    private FieldMaskImpl[] layerMasks;
+
+    /**
+     * The version of the plan which is updated with every modification.
+     *
+     * @see #getVersion()
+     */
+    private long version;
+
+    /**
+     * The number of regions in a row of the {@link #regionVersions}.
+     */
+    private int regionColumns;
+
+    /**
+     * The version of the last modification of every region of {@link #REGION_SIZE}x{@link #REGION_SIZE} positions in row major order.
+     *
+     * @see #getVersion(int, int, int, int)
+     */
+    private long[] regionVersions;
+
+    /**
+     * If the {@link #tiles}, the {@link #tilesByType} and the {@link #regionVersions} are shared with a copy of the plan and have to be copied before they are modified. The
+     * flag is volatile since the plan may be copied by another thread.
+     *
+     * @see #copy()
+     */
+    private volatile boolean shared;
+
+    /**
+     * The listeners which are informed about changes of the plan.
+     *
+     * @see #registerListener(GameEventListener)
+     */
+    private final List<GameEventListener<PlanChangedEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Implementation of the {@link CellCursor} that reads the {@link #index} and the masks of the plan directly.
+     */
+    private final class Cursor implements CellCursor {
+
+        /**
+         * The index of the current position, {@code -1} in front of the first position.
+         */
+        private int position = -1;
+
+        /**
+         * The column of the current position.
+         */
+        private int column;
+
+        /**
+         * The row of the current position.
+         */
+        private int row;
+
+        @Override
+        public boolean next() {
+            int positions = size == null ? 0 : size.columns() * size.rows();
+            if (position + 1 >= positions) {
+                position = positions;
+                return false;
+            }
+            position++;
+            column = position % size.columns();
+            row = position / size.columns();
+            return true;
+        }
+
+        @Override
+        public boolean moveTo(int column, int row) {
+            if (index == null || !index.contains(column, row)) {
+                return false;
+            }
+            this.column = column;
+            this.row = row;
+            this.position = row * size.columns() + column;
+            return true;
+        }
+
+        @Override
+        public void reset() {
+            position = -1;
+        }
+
+        @Override
+        public int getColumn() {
+            return column;
+        }
+
+        @Override
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public int getIndex() {
+            return position;
+        }
+
+        @Override
+        public boolean isCovered() {
+            return coveredMask.isSet(column, row);
+        }
+
+        @Override
+        public boolean blocksLineOfSight() {
+            return lineOfSightMask.isSet(column, row);
+        }
+
+        @Override
+        public boolean blocksMovement() {
+            return movementMask.isSet(column, row);
+        }
+
+        @Override
+        public boolean canEnter() {
+            return enterMask.isSet(column, row);
+        }
+
+        @Override
+        public int getFieldCount() {
+            return index.getFields(column, row).size();
+        }
+
+        @Override
+        public Field getField(int layer) {
+            return index.getFields(column, row).get(layer);
+        }
+
+        @Override
+        public Field getTopField() {
+            return index.getTopField(column, row);
+        }
+
+        @Override
+        public Tile getTopTile() {
+            return index.getTopTile(column, row);
+        }
+    }
+
     /**
      * Default constructor.
      */
@@ -71,84 +294,237 @@ public class PlanImpl extends AbstractGameResource implements Plan {
 
     @Override
     public boolean blocksLineOfSight(Position position) {
+        return lineOfSightMask != null && lineOfSightMask.isSet(position);
+    }
 
-        // since on every position multiple fields can be present (dungeon floor on which a monster is placed) we need to check all fields.
-        // If a huge monster is placed on a regular dungeon floor for example, the floor would not block the los but the monster would.
+    @Override
+    public boolean blocksMovement(Position position) {
+        if (movementMask == null || position.column() < 0 || position.row() < 0 || position.column() >= size.columns() || position.row() >= size.rows()) {
+            return true;                                                    // positions outside the plan can never be used for movement
+        }
+        return movementMask.isSet(position);
+    }
 
-        return getFields(position).stream()                                 // get all fields for the given position
-                .filter(field -> field.blocksLineOfSight())                 // check if it blocks the line of sight
-                .collect(Collectors.toList())
-                .size() != 0;                                               // if none block los the position does not block the los.
+    @Override
+    public boolean canEnter(Position position) {
+        return enterMask != null && enterMask.isSet(position);
+    }
 
-        // TODO: we may optimize this in the future to avoid iterations, but since I do not expect thousands of tiles on a plan this should be a sufficient solution for now.
+    @Override
+    public FieldMask getLineOfSightMask() {
+        return lineOfSightMask;
+    }
 
+    @Override
+    public FieldMask getStaticLineOfSightMask() {
+        return staticLineOfSightMask;
     }
 
     @Override
-    public boolean blocksMovement(Position position) {
-        return getFields(position).stream()                                 // get all fields for the given position
-                .filter(field -> field.blocksMovement())                    // and check if it blocks movement
-                .collect(Collectors.toList())
-                .size() == 0;                                               // if none blocks movement the position does not block movement.
+    public FieldMask getCharacterLineOfSightMask() {
+        return characterLineOfSightMask;
     }
 
     @Override
-    public boolean canEnter(Position position) {
-        return getFields(position).stream()                                 // get all fields for the given position
-                .filter(field -> !field.canEnter())                         // and check if a character can enter -> need to invert here to use the size check below
-                .collect(Collectors.toList())
-                .size() == 0;                                               // if all fields allow entering, the position can be entered.
+    public FieldMask getMovementMask() {
+        return movementMask;
     }
 
     @Override
-    public List<Field> getFields() {
-        return tiles.stream()
-                .map(tile -> tile.getFields())                              // iterate over all fields of all tiles on the plan,
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());                              // and add them to a list
+    public FieldMask getEnterMask() {
+        return enterMask;
     }
 
     @Override
-    public List<Field> getFields(Position position) {
-        return tiles.stream()
-                .map(tile -> tile.getFields())                              // iterate over all fields of all tiles on the plan,
-                .flatMap(Collection::stream)
-                .filter(f -> f.getPosition().equals(position))              // filter for the position
-                .collect(Collectors.toList());                              // and add them to a list
+    public FieldMask getCoveredMask() {
+        return coveredMask;
     }
 
     @Override
-    public List<Tile> getTiles(Position position) {
-        return tiles.stream()
-                .filter(tile -> tile.hasFieldPosition(position))          // all tiles which have a field assigned that matches the passed position
-                .collect(Collectors.toList());
+    public long getVersion() {
+        return version;
     }
 
     @Override
-    public Field getTopField(Position position) {
-        var fieldsOnPosition = getFields(position);
+    public long getVersion(int minColumn, int minRow, int maxColumn, int maxRow) {
+        if (regionVersions == null) {
+            return version;
+        }
 
-        if (fieldsOnPosition == null || fieldsOnPosition.isEmpty()) {            // if no field exist on the position we cannot return anything
-            return null;
+        int fromColumn = Math.max(0, minColumn) / REGION_SIZE;              // clamp the area to the plan and convert it to region coordinates
+        int fromRow = Math.max(0, minRow) / REGION_SIZE;
+        int toColumn = Math.min(size.columns() - 1, maxColumn) / REGION_SIZE;
+        int toRow = Math.min(size.rows() - 1, maxRow) / REGION_SIZE;
+
+        long result = 0;
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                result = Math.max(result, regionVersions[row * regionColumns + column]);
+            }
         }
+        return result;
+    }
 
-        Collections.sort(fieldsOnPosition, Comparator.comparingInt(field -> field.getType().getLayer())); // sort by the layer
+    /**
+     * Creates the spatial index and the bitsets of the plan as soon as the size of the plan is known.
+     */
+    private void initIndex() {
+        this.index = new PlanGridIndex(size);
+        this.lineOfSightMask = new FieldMaskImpl(size);
+        this.staticLineOfSightMask = new FieldMaskImpl(size);
+        this.characterLineOfSightMask = new FieldMaskImpl(size);
+        this.movementMask = new FieldMaskImpl(size);
+        this.enterMask = new FieldMaskImpl(size);
+        this.coveredMask = new FieldMaskImpl(size);
+        this.layerMasks = new FieldMaskImpl[LAYERS];
+        for (int layer = 0; layer < LAYERS; layer++) {
+            this.layerMasks[layer] = new FieldMaskImpl(size);
+        }
+        this.movementMask.setAll();                                         // an empty plan blocks the movement everywhere
+        this.version = VERSIONS.incrementAndGet();
+        this.regionColumns = (size.columns() + REGION_SIZE - 1) / REGION_SIZE;
+        this.regionVersions = new long[regionColumns * ((size.rows() + REGION_SIZE - 1) / REGION_SIZE)];
+        Arrays.fill(regionVersions, version);
+    }
 
-        return fieldsOnPosition.get(fieldsOnPosition.size() - 1);
+    /**
+     * Recalculates the bits of all positions which are covered by the passed tile and assigns a new version to the plan and the affected regions. The method has to be called
+     * after the tile was added to or removed from the {@link #index}. Only the affected positions are touched, i.e. the costs depend on the size of the tile and not on the size of
+     * the plan.
+     *
+     * @param tile the tile that was added or removed
+     */
+    private void updateMasks(TileImpl tile) {
+        version = VERSIONS.incrementAndGet();
+
+        for (int t = 0; t < tile.getFieldCount(); t++) {
+            int column = tile.getColumn(t);
+            int row = tile.getRow(t);
+
+            regionVersions[(row / REGION_SIZE) * regionColumns + column / REGION_SIZE] = version;
+
+            // since on every position multiple fields can be present (dungeon floor on which a monster is placed) we need to check all fields.
+            // If a huge monster is placed on a regular dungeon floor for example, the floor would not block the los but the monster would.
+
+            List<Field> fields = index.getFields(column, row);
+
+            boolean staticBlocksLineOfSight = false;
+            boolean characterBlocksLineOfSight = false;
+            boolean blocksMovement = fields.isEmpty();                      // positions without a tile are not part of the scenario and cannot be used for movement
+            boolean canEnter = !fields.isEmpty();                           // or be entered
+            int layers = 0;
+
+            for (int i = 0; i < fields.size(); i++) {
+                Field f = fields.get(i);
+                if (f.blocksLineOfSight()) {                                // if one of the fields blocks the line of sight or the movement, the position blocks it
+                    if (f.getType().isCharacter()) {                        // characters are tracked separately because they move during the game while the other
+                        characterBlocksLineOfSight = true;                  // layers are static
+                    } else {
+                        staticBlocksLineOfSight = true;
+                    }
+                }
+                blocksMovement |= f.blocksMovement();
+                canEnter &= f.canEnter();                                   // the position can only be entered if all fields allow entering
+                layers |= 1 << f.getType().getLayer();
+            }
+
+            lineOfSightMask.set(column, row, staticBlocksLineOfSight || characterBlocksLineOfSight);
+            staticLineOfSightMask.set(column, row, staticBlocksLineOfSight);
+            characterLineOfSightMask.set(column, row, characterBlocksLineOfSight);
+            movementMask.set(column, row, blocksMovement);
+            enterMask.set(column, row, canEnter);
+            coveredMask.set(column, row, !fields.isEmpty());
+
+            for (int layer = 0; layer < LAYERS; layer++) {
+                layerMasks[layer].set(column, row, (layers & (1 << layer)) != 0);
+            }
+        }
     }
 
     @Override
-    public Tile getTopTile(Position position) {
-        var tilesOnPosition = getTiles(position);
+    public List<Field> getFields() {
+        List<Field> result = new ArrayList<>();
+        for (int i = 0; i < tiles.size(); i++) {                            // collect all fields of all tiles on the plan with their positions on the plan
+            result.addAll(tiles.get(i).getFields());
+        }
+        return result;
+    }
 
+    /**
+     * Passes the fields of all tiles on the plan to the consumer. The fields are the shared fields of the templates, i.e. no fields are created and the {@link
+     * Field#getPosition()} is the position inside the template. Use {@link #getFields()} for the positions on the plan.
+     *
+     * @param consumer the consumer
+     */
+    @Override
+    public void forEachField(Consumer<? super Field> consumer) {
+        for (int i = 0; i < tiles.size(); i++) {                            // index based loop to avoid the creation of an iterator
+            tiles.get(i).forEachField(consumer);
+        }
+    }
 
-        if (tilesOnPosition == null || tilesOnPosition.isEmpty()) {            // if no tile exist on the position we cannot return anything
-            return null;
+    @Override
+    public void forEachFieldAt(int column, int row, Consumer<? super Field> consumer) {
+        if (index == null) {                                                // the plan was not initialized with a size yet
+            return;
         }
+        List<Field> fields = index.getFields(column, row);
+        for (int i = 0; i < fields.size(); i++) {
+            consumer.accept(fields.get(i));
+        }
+    }
 
-        Collections.sort(tilesOnPosition, Comparator.comparingInt(t -> t.getType().getLayer())); // sort by the layer
+    @Override
+    public CellCursor cursor() {
+        return new Cursor();
+    }
 
-        return tilesOnPosition.get(tilesOnPosition.size() - 1);  // and return the top layer
+    /**
+     * Returns the fields which cover the passed position sorted by their {@link FieldType#getLayer()} from bottom to top. The returned list is a read only view on the internal
+     * {@link PlanGridIndex}, i.e. the call does not create any new objects.
+     *
+     * @param position the position to check
+     *
+     * @return the fields
+     */
+    @Override
+    public List<Field> getFields(Position position) {
+        if (index == null) {                                                // the plan was not initialized with a size yet
+            return Collections.emptyList();
+        }
+        return index.getFields(position.column(), position.row());
+    }
+
+    /**
+     * Returns all tiles which cover the passed position sorted by their {@link FieldType#getLayer()} from bottom to top. The returned list is a read only view on the internal
+     * {@link PlanGridIndex}, i.e. the call does not create any new objects.
+     *
+     * @param position the position to fetch the tiles for
+     *
+     * @return the tiles
+     */
+    @Override
+    public List<Tile> getTiles(Position position) {
+        if (index == null) {
+            return Collections.emptyList();
+        }
+        return index.getTiles(position.column(), position.row());
+    }
+
+    @Override
+    public Field getTopField(Position position) {
+        if (index == null) {                                                // if no field exist on the position we cannot return anything
+            return null;
+        }
+        return index.getTopField(position.column(), position.row());        // the index keeps the fields sorted by layer so that the top one is the last one
+    }
+
+    @Override
+    public Tile getTopTile(Position position) {
+        if (index == null) {                                                // if no tile exist on the position we cannot return anything
+            return null;
+        }
+        return index.getTopTile(position.column(), position.row());         // the index keeps the tiles sorted by layer so that the top one is the last one
     }
 
     @Override
@@ -219,7 +595,7 @@ public class PlanImpl extends AbstractGameResource implements Plan {
 
         // at this point we have a clear overview of the dimension and can check if the tile template will fit to the plan.
 
-        if (x + width > size.columns()) {
+        if (x + width >= size.columns()) {
             /*   Position (2|1), DEGREE_0
              *   ┌─────────┬─────────┬─────────┬─────────┐
              *   │         │         │         │         │
@@ -244,7 +620,7 @@ public class PlanImpl extends AbstractGameResource implements Plan {
              *   └─────────┴─────────┴─────────┴─────────┘
              */
             throw new IllegalArgumentException("Tile would excess eastern border of the plan.");
-        } else if (x + width < 0) {
+        } else if (x < 0 || x >= size.columns() || x + width < 0) {
             /*   Position (1|1), DEGREE_180
              *             ┌─────────┬─────────┬─────────┬─────────┐
              *             │         │         │         │         │
@@ -269,7 +645,7 @@ public class PlanImpl extends AbstractGameResource implements Plan {
              *   └─────────┴─────────┴─────────┴─────────┴─────────┘
              */
             throw new IllegalArgumentException("Tile would excess western border of the plan.");
-        } else if (y + height < 0) {
+        } else if (y < 0 || y >= size.rows() || y + height < 0) {
             /*   Position (0|1), DEGREE_90
              *   ┌─────────┬─────────┬─────────┬─────────┐
              *   │         │         │         │         │
@@ -298,25 +674,29 @@ public class PlanImpl extends AbstractGameResource implements Plan {
              *   └─────────┴─────────┘
              */
             throw new IllegalArgumentException("Tile would excess southern border of the plan.");
-        } else if (y + height > size.rows()) {
+        } else if (y + height >= size.rows()) {
             // I think it should be clear now :D
             throw new IllegalArgumentException("Tile would excess northern border of the plan.");
         }
 
 
-        TileImpl tile = new TileImpl(template, position, rotation);  // create a new tile and change the positions of that tile to the coordinate system of the plan
-        tile.shiftAndRotate();                                       // based on the position and orientation of the tile
+        TileImpl tile = new TileImpl(template, position, rotation);  // create a new tile, the positions of its fields in the coordinate system of the plan are calculated
+                                                                     // from the shared offsets of the template for the rotation
 
         // After the creation we need to check if the tile can be added to the plan or if there was already added a tile before at the same positions the new tile would cover.
         // We need to take into account here, that based on the type the tile can live on the same layer, i.e. a collision will only occur on the same layer. In addition, every
         // tile above layer 1 (floors / walls) can only be placed when a floor tile was already placed before. Finally, character tiles can only be placed if the attribute set
         // of the field allows the placement (does not block movement and can enter).
 
-        // TODO: Implement it...
+        validate(tile);
 
         // we need to add the new tile to the internal data structures of this class.
+        prepareWrite();
         tiles.add(tile);
         addTileByType(tile);
+        index.add(tile);
+        updateMasks(tile);
+        fireChange(PlanDeltaService.ChangeType.TILE_ADDED, tile);
 
 
         // Condition.of(tilesByType.containsKey(tile.tileNumber))                  // if the tilesByType list contains already a list for the given tile number
@@ -330,6 +710,188 @@ public class PlanImpl extends AbstractGameResource implements Plan {
         return tile;
     }
 
+    /**
+     * A tile of a plan that is not assigned yet.
+     *
+     * @param template the template
+     * @param position the position of the anchor
+     * @param rotation the rotation
+     */
+    record Placement(TileTemplate template, Position position, TileRotation rotation) {
+    }
+
+    /**
+     * Initializes the plan from a compiled plan, see {@link CompiledPlanReader}. If the masks are passed, the tiles are only checked to be inside the plan and the masks are taken
+     * as they are, i.e. neither the rules of the tiles are validated nor the masks are calculated again. Otherwise, the tiles are assigned with {@link #assignAll(List)}.
+     *
+     * @param gameId      the game id
+     * @param name        the name
+     * @param description the description
+     * @param size        the size
+     * @param placements  the tiles of the plan
+     * @param masks       the masks in the order of {@link #getCompiledMasks()} or {@code null} if they have to be calculated
+     *
+     * @throws IllegalArgumentException if one of the tiles cannot be placed
+     */
+    void loadCompiled(String gameId, String name, String description, Size size, List<Placement> placements, FieldMaskImpl[] masks) {
+        this.gameId = gameId;
+        this.name = name;
+        this.description = description;
+        this.size = size;
+        initIndex();
+
+        if (masks == null) {
+            assignAll(placements);
+            return;
+        }
+
+        for (Placement placement : placements) {                           // the rules were validated when the plan was compiled
+            TileImpl tile = new TileImpl(placement.template(), placement.position(), placement.rotation());
+            for (int i = 0; i < tile.getFieldCount(); i++) {
+                int column = tile.getColumn(i);
+                int row = tile.getRow(i);
+                ValidationUtils.requireTrue(column >= 0 && column < size.columns() && row >= 0 && row < size.rows(),
+                        "The tile ::= [" + placement.template().getGameId() + "] at ::= [" + placement.position() + "] is outside of the plan ::= [" + gameId + "]");
+            }
+            tiles.add(tile);
+            addTileByType(tile);
+            index.add(tile);
+        }
+
+        lineOfSightMask = masks[0];
+        staticLineOfSightMask = masks[1];
+        characterLineOfSightMask = masks[2];
+        movementMask = masks[3];
+        enterMask = masks[4];
+        coveredMask = masks[5];
+        System.arraycopy(masks, 6, layerMasks, 0, LAYERS);
+    }
+
+    /**
+     * Returns the masks of the plan in the order in which they are stored in a compiled plan: line of sight, static line of sight, character line of sight, movement, enter,
+     * covered and the masks of all layers.
+     *
+     * @return the masks
+     */
+    FieldMaskImpl[] getCompiledMasks() {
+        FieldMaskImpl[] masks = new FieldMaskImpl[getCompiledMaskCount()];
+        masks[0] = lineOfSightMask;
+        masks[1] = staticLineOfSightMask;
+        masks[2] = characterLineOfSightMask;
+        masks[3] = movementMask;
+        masks[4] = enterMask;
+        masks[5] = coveredMask;
+        System.arraycopy(layerMasks, 0, masks, 6, LAYERS);
+        return masks;
+    }
+
+    /**
+     * Returns the number of masks returned by {@link #getCompiledMasks()}.
+     *
+     * @return the number of masks
+     */
+    static int getCompiledMaskCount() {
+        return 6 + LAYERS;
+    }
+
+    /**
+     * Assigns multiple templates to the plan in a single pass. The placements are sorted by their {@link FieldType#getLayer()} before, so that floor tiles are always assigned
+     * before the tiles which are placed on them, independent of the order of the passed list. Every tile is validated with the same rules as a single tile, see
+     * {@link #assign(TileTemplate, Position, TileRotation)}.
+     *
+     * @param placements the placements
+     *
+     * @throws IllegalArgumentException if one of the tiles cannot be placed
+     */
+    void assignAll(List<Placement> placements) {
+        List<Placement> sorted = new ArrayList<>(placements);
+        sorted.sort(Comparator.comparingInt(p -> p.template().getType().getLayer()));   // stable, i.e. the order of tiles on the same layer is kept
+        for (Placement placement : sorted) {
+            assign(placement.template(), placement.position(), placement.rotation());
+        }
+    }
+
+    /**
+     * Checks if the passed tile can be added to the plan, see {@link Plan#assign(TileTemplate, Position, TileRotation)} for the rules. The checks only read the bits of the
+     * positions which are covered by the tile from the {@link #layerMasks}, the {@link #movementMask} and the {@link #enterMask}, i.e. the costs depend on the size of the tile
+     * and not on the number of tiles on the plan.
+     *
+     * @param tile the tile that is not part of the plan yet
+     *
+     * @throws IllegalArgumentException if the tile cannot be added
+     */
+    private void validate(TileImpl tile) {
+        int layer = tile.getType().getLayer();
+        FieldMaskImpl occupied = layerMasks[layer];
+        FieldMaskImpl base = layerMasks[BASE_LAYER];
+
+        for (int f = 0; f < tile.getFieldCount(); f++) {
+            int column = tile.getColumn(f);
+            int row = tile.getRow(f);
+
+            if (occupied.isSet(column, row)) {
+                throw new IllegalArgumentException("Tile ::= [" + tile.getGameId() + "] would collide with another tile on layer ::= [" + layer + "] at position ("
+                                                           + column + "|" + row + ")");
+            }
+
+            if (layer > BASE_LAYER && !base.isSet(column, row)) {
+                throw new IllegalArgumentException("Tile ::= [" + tile.getGameId() + "] needs a floor tile at position (" + column + "|" + row + ")");
+            }
+
+            if (tile.getType().isCharacter() && (movementMask.isSet(column, row) || !enterMask.isSet(column, row))) {
+                throw new IllegalArgumentException("Character ::= [" + tile.getGameId() + "] cannot be placed at position (" + column + "|" + row
+                                                           + ") which blocks the movement or cannot be entered");
+            }
+        }
+    }
+
+    @Override
+    public void registerListener(GameEventListener<PlanChangedEvent> listener) {
+        listeners.add(ValidationUtils.requireNonNull(listener, "The listener cannot be null."));
+    }
+
+    @Override
+    public void removeListener(GameEventListener<PlanChangedEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Informs all registered listeners about a change of the plan.
+     *
+     * @param type the type of the change
+     * @param tile the tile that was added or removed
+     */
+    private void fireChange(PlanDeltaService.ChangeType type, TileImpl tile) {
+        if (listeners.isEmpty()) {                                          // avoid the creation of the event while a plan is loaded
+            return;
+        }
+
+        List<Position> positions = new ArrayList<>(tile.getFieldCount());
+        for (int f = 0; f < tile.getFieldCount(); f++) {
+            positions.add(new Position(tile.getColumn(f), tile.getRow(f)));
+        }
+
+        PlanChangedEvent event = new PlanChangedEventImpl(this, type, tile, Collections.unmodifiableList(positions), version);
+        listeners.forEach(l -> l.onEvent(event));
+    }
+
+    /**
+     * Copies the data structures which are shared with a copy of the plan, has to be called before the plan is modified. The spatial index and the masks copy their shared data
+     * on their own.
+     */
+    private void prepareWrite() {
+        if (!shared) {
+            return;
+        }
+
+        tiles = new ArrayList<>(tiles);
+        HashMap<String, List<TileImpl>> byType = new HashMap<>();
+        tilesByType.forEach((key, value) -> byType.put(key, new ArrayList<>(value)));
+        tilesByType = byType;
+        regionVersions = regionVersions.clone();
+        shared = false;
+    }
+
     /**
      * Adds a tile to the {@link #tilesByType} map. If the type of the tile was not part of the map yet, a new map entry is created.
      *
@@ -355,13 +917,23 @@ public class PlanImpl extends AbstractGameResource implements Plan {
 
     @Override
     public boolean remove(Tile tile) {
-        boolean removed = tiles.remove(tile);
-        tilesByType.get(tile.getGameId()).remove(tile);
-        return removed;
+        int position = tiles.indexOf(tile);                                 // the passed tile may be a copy from another plan, i.e. we need the instance of this plan
+
+        if (position < 0) {
+            return false;
+        }
+
+        prepareWrite();
+        TileImpl removed = tiles.remove(position);
+        tilesByType.get(removed.getGameId()).remove(removed);
+        index.remove(removed);
+        updateMasks(removed);
+        fireChange(PlanDeltaService.ChangeType.TILE_REMOVED, removed);
+        return true;
     }
 
     /**
-     * Creates a plan from the passed YAML map. The passed library is used to fetch the templates for the plan by calling the {@link ResourceLibrary#getById(String)} method. If a
+     * Creates a plan from the passed YAML map. The passed library is used to fetch the templates for the plan by calling the {@link GameLibrary#getTileTemplate(String)} method. If a
      * {@link TileTemplate} is not available an {@link IllegalArgumentException} is thrown.
      * <p>
      * Example YAML file:
@@ -396,22 +968,25 @@ public class PlanImpl extends AbstractGameResource implements Plan {
         ValidationUtils.requireNonNull(data, "The data map cannot be null.");
 
         this.size = YAMLUtilities.parseSize(data, "size");
+        initIndex();
+
 
+        List<Placement> placements = new ArrayList<>();
 
         YAMLUtilities.forEach(data, "templates",     // takes the list of YAML objects below the templates section and iterates over it, see forEach method comment
                 tMap -> {
 
                     // load the template which can be reused for all tiles that are handled in the next step, if the template is not available an exception is thrown and
                     // the plan cannot be imported, which is fine
-                    TileTemplate template = library.getById(YAMLUtilities.getMandatory(tMap, "tileNumber"));
+                    TileTemplate template = library.getTileTemplate(YAMLUtilities.getMandatory(tMap, "tileNumber"));
 
-                    // Iterate over all defined positions to assign the template to the plan. We use the assign method here to validate the plan on the fly, i.e. the
-                    // consistency checks are performed automatically.
                     YAMLUtilities.forEach(tMap, "tiles",
-                            t -> this.assign(template, YAMLUtilities.parsePosition(t, "position"), YAMLUtilities.parseRotation(t, "rotation")));
+                            t -> placements.add(new Placement(template, YAMLUtilities.parsePosition(t, "position"), YAMLUtilities.parseRotation(t, "rotation"))));
                 }
         );
 
+        assignAll(placements);
+
     }
 
     /**
@@ -481,19 +1056,45 @@ public class PlanImpl extends AbstractGameResource implements Plan {
     }
 
 
+    /**
+     * Creates a copy of this plan in constant time. Both plans share their data until one of them is modified (copy on write): the spatial index copies only the chunks touched
+     * by the modification, the masks and the tile lists are copied with the first modification. Since tiles and fields are immutable they are never copied.
+     * <p>
+     * Multiple threads may copy the same plan at the same time, e.g. the game sessions that start with a plan of the {@link mro.fantasy.game.plan.PlanLibrary}, as long as the
+     * plan is not modified. The flags that mark the data as shared are volatile and only written by the first copy, further copies do not write to this plan.
+     *
+     * @return the copy with the same version as this plan
+     */
     @Override
     public Plan copy() {
         PlanImpl plan = new PlanImpl();
 
         super.copy(plan);
 
-        plan.size = new Size(this.size.columns(), this.size.rows());
+        plan.size = size;
+        plan.index = index.snapshot();
+
+        plan.tiles = tiles;
+        plan.tilesByType = tilesByType;
+
+        plan.lineOfSightMask = lineOfSightMask.snapshot();
+        plan.staticLineOfSightMask = staticLineOfSightMask.snapshot();
+        plan.characterLineOfSightMask = characterLineOfSightMask.snapshot();
+        plan.movementMask = movementMask.snapshot();
+        plan.enterMask = enterMask.snapshot();
+        plan.coveredMask = coveredMask.snapshot();
+        plan.layerMasks = new FieldMaskImpl[LAYERS];
+        for (int layer = 0; layer < LAYERS; layer++) {
+            plan.layerMasks[layer] = layerMasks[layer].snapshot();
+        }
+        plan.version = version;                                             // an unmodified copy has the same content, i.e. it can share the version
+        plan.regionColumns = regionColumns;
+        plan.regionVersions = regionVersions;
 
-        tiles.stream().map(t -> (TileImpl) t.copy()).forEach(t -> {
-                    plan.tiles.add(t);
-                    plan.addTileByType(t);
-                }
-        );
+        plan.shared = true;
+        if (!shared) {                                                      // a plan that was copied before is not modified by further copies
+            shared = true;
+        }
 
         return plan;
     }
@@ -2,86 +2,70 @@ package mro.fantasy.game.plan.impl;
 
 import mro.fantasy.game.Position;
 import mro.fantasy.game.Size;
+import mro.fantasy.game.engine.GameLibrary;
 import mro.fantasy.game.plan.Field;
+import mro.fantasy.game.plan.FieldType;
 import mro.fantasy.game.plan.Tile;
 import mro.fantasy.game.plan.TileRotation;
 import mro.fantasy.game.plan.TileTemplate;
+import mro.fantasy.game.utils.ValidationUtils;
+import mro.fantasy.game.utils.YAMLUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
- * Implementation of a {@link Tile}.
+ * Implementation of a {@link Tile}. A tile is a lightweight reference to the {@link TileTemplate} it was created from, it only stores its id, the template, the position of the
+ * anchor and the rotation. All other attributes are read from the template and the fields on the plan are calculated from the shared {@link TileShape} of the template. A tile
+ * is immutable, therefore it can be shared by copies of a plan. Use {@link #fromYAML(GameLibrary, Map)} to create a tile from the YAML data of a plan.
  *
  * @author Michael Rodenbuecher
  * @since 2022-07-31
  */
-public class TileImpl extends TileTemplateImpl implements Tile {
+public final class TileImpl implements Tile {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(TileImpl.class);
 
     /**
      * The id of this tile.
      *
-     * @see #getGameId()
+     * @see #getId()
      */
-    private String id;
+    private final String id;
 
     /**
-     * The position of this template on the plan.
-     *
-     * @see #getPosition()
+     * The template of this tile.
      */
-    private Position position;
+    private final TileTemplate template;
 
     /**
-     * The orientation of this tile.
+     * The position of the anchor of this tile on the plan.
      *
-     * @see #getRotation()
+     * @see #getPosition()
      */
-    private TileRotation orientation;
-
+    private final Position position;
 
     /**
-     * Creates a new tile from a template
+     * The rotation of this tile.
      *
-     * @param template    the template to assign
-     * @param position    the position where the anchor field of the template is positioned
-     * @param orientation the orientation of the tile
+     * @see #getRotation()
      */
-    public TileImpl(TileTemplate template, Position position, TileRotation orientation) {
-        this.id = UUID.randomUUID().toString();
-        this.type = template.getType();
-        this.name = template.getName();
-        this.description = template.getDescription();
-        this.size = new Size(template.getSize().columns(), template.getSize().rows());
-        this.gameId = template.getGameId();
-        this.audioBundleName = template.getAudioBundle();
-        this.audioKey = template.getAudioKey();
-        this.position = new Position(position.column(), position.row());
-        this.orientation = orientation;
-        template.getFields().stream().forEach(f -> this.fields.add((FieldImpl) f.copy()));
-    }
-
-    @Override
-    public String getId() {
-        return id;
-    }
-
-    @Override
-    public Position getPosition() {
-        return position;
-    }
-
-    @Override
-    public TileRotation getRotation() {
-        return orientation;
-    }
-
+    private final TileRotation rotation;
 
     /**
-     * This method changes the fields of the tile relative to the position. Assuming we have the following tile and assign it to {@link Position} (1|2) of the plan with {@link
+     * Creates a new tile from a template. The fields of the template are not copied, the positions of the fields on the plan are calculated from the position of the anchor and
+     * the {@link TileShape} of the template for the rotation. Assuming we have the following tile and assign it to {@link Position} (1|2) of the plan with {@link
      * TileRotation#DEGREE_0}
      * <pre>{@code
      *   ┌─────────┬─────────┬─────────┬─────────┐   ┌─────────┬─────────┐
@@ -154,63 +138,235 @@ public class TileImpl extends TileTemplateImpl implements Tile {
      *   │         │         │         │         │
      *   └─────────┴─────────┴─────────┴─────────┘
      * }</pre>
+     *
+     * @param template    the template to assign
+     * @param position    the position where the anchor field of the template is positioned
+     * @param orientation the orientation of the tile
      */
-    protected void shiftAndRotate() {
-        List<FieldImpl> templateFields = new ArrayList<>(this.fields);
-        this.fields.clear();
+    public TileImpl(TileTemplate template, Position position, TileRotation orientation) {
+        this(UUID.randomUUID().toString(), template, position, orientation);
+    }
 
-        templateFields.forEach(f -> {
-            switch (orientation) {
-                case DEGREE_0:
-                    this.fields.add(f.shift(position.column() + f.getPosition().column(), position.row() + f.getPosition().row()));
-                    break;
-                case DEGREE_90:
-                    this.fields.add(f.shift(position.column() + f.getPosition().row(), position.row() - f.getPosition().column()));
-                    break;
-                case DEGREE_180:
-                    this.fields.add(f.shift(position.column() - f.getPosition().column(), position.row() - f.getPosition().row()));
-                    break;
-                case DEGREE_270:
-                    this.fields.add(f.shift(position.column() - f.getPosition().row(), position.row() + f.getPosition().column()));
-                    break;
-            }
-        });
+    /**
+     * Creates a new tile.
+     *
+     * @param id       the id of the tile
+     * @param template the template of the tile, a tile is replaced by its template
+     * @param position the position of the anchor
+     * @param rotation the rotation of the tile
+     */
+    private TileImpl(String id, TileTemplate template, Position position, TileRotation rotation) {
+        ValidationUtils.requireNonNull(template, "The template cannot be null.");
+        this.id = id;
+        this.template = template instanceof TileImpl tile ? tile.template : template;  // a tile passed as template is placed with the fields of its template
+        this.position = ValidationUtils.requireNonNull(position, "The position cannot be null.");
+        this.rotation = ValidationUtils.requireNonNull(rotation, "The rotation cannot be null.");
     }
 
     /**
-     * Checks if this tile has a {@link Field} in the {@link #fields} list that matches the passed position.
+     * Creates a tile from a YAML map. The map contains the game id of the template and the placement of the tile, i.e. the same entries as the tiles of a plan. The id is optional,
+     * if it is missing a new id is generated. All other attributes are read from the template.
+     * <p>
+     * <b>Example map entry:</b>
+     * <pre>{@code
+     * tileNumber: BGT001
+     * id: 7d0f7a0e-3b5c-4a4e-9a43-0c0f5b1d2a11
+     * position: (0|2)
+     * rotation: 90°
+     * }</pre>
+     *
+     * @param library the game library to resolve the template of the tile
+     * @param data    the map with the data
      *
-     * @param position the position to check
+     * @return the tile
      *
-     * @return {@code true} if the tile has a field with the given position, {@code false} otherwise.
+     * @throws IllegalArgumentException if data is missing or invalid or the template does not exist
      */
-    protected boolean hasFieldPosition(Position position) {
-        return fields
-                .stream()
-                .filter(f -> f.getPosition().equals(position))
-                .collect(Collectors.toList())
-                .size() != 0;
+    public static TileImpl fromYAML(GameLibrary library, Map<String, Object> data) {
+        ValidationUtils.requireNonNull(library, "The library cannot be null.");
+        ValidationUtils.requireNonNull(data, "The data map cannot be null.");
+
+        TileTemplate template = library.getTileTemplate(YAMLUtilities.getMandatory(data, "tileNumber"));
+        String id = YAMLUtilities.getOptional(data, "id");
+
+        return new TileImpl(id != null ? id : UUID.randomUUID().toString(), template, YAMLUtilities.parsePosition(data, "position"),
+                YAMLUtilities.parseRotation(data, "rotation"));
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public Position getPosition() {
+        return position;
+    }
+
+    @Override
+    public TileRotation getRotation() {
+        return rotation;
+    }
+
+    @Override
+    public FieldType getType() {
+        return template.getType();
     }
 
+    @Override
+    public Size getSize() {
+        return template.getSize();
+    }
+
+    @Override
+    public String getName() {
+        return template.getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return template.getDescription();
+    }
+
+    @Override
+    public String getGameId() {
+        return template.getGameId();
+    }
+
+    @Override
+    public String getAudioBundle() {
+        return template.getAudioBundle();
+    }
+
+    @Override
+    public String getAudioKey() {
+        return template.getAudioKey();
+    }
+
+    /**
+     * A tile is immutable and cannot be loaded after it was created, use {@link #fromYAML(GameLibrary, Map)} instead.
+     *
+     * @param library the game library
+     * @param data    the map with the data
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void loadFromYAML(GameLibrary library, Map<String, Object> data) {
+        throw new UnsupportedOperationException("The tile ::= [" + id + "] is immutable, use TileImpl.fromYAML to create a tile from YAML data.");
+    }
+
+    /**
+     * Returns the fields of the tile in the coordinate system of the plan. The fields are created with every call, use {@link #forEachField(Consumer)} if the position of the
+     * fields on the plan is not needed.
+     *
+     * @return the fields
+     */
+    @Override
+    public Collection<Field> getFields() {
+        TileShape shape = getShape();
+        List<Field> result = new ArrayList<>(shape.size());
+        for (int i = 0; i < shape.size(); i++) {
+            result.add(new PlacedField(shape.getField(i), new Position(position.column() + shape.getColumn(i), position.row() + shape.getRow(i))));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Passes the shared fields of the template to the consumer, no fields are created. The {@link Field#getPosition()} of these fields is the position inside the template, use
+     * {@link #getFields()} for the positions on the plan.
+     *
+     * @param consumer the consumer
+     */
+    @Override
+    public void forEachField(Consumer<? super Field> consumer) {
+        TileShape shape = getShape();
+        for (int i = 0; i < shape.size(); i++) {
+            consumer.accept(shape.getField(i));
+        }
+    }
+
+    /**
+     * Returns the shape of the template for the rotation of this tile. The shapes of a {@link TileTemplateImpl} are shared, i.e. no shape is created.
+     *
+     * @return the shape
+     */
+    private TileShape getShape() {
+        return TileShape.of(template, rotation);
+    }
+
+    /**
+     * Returns the template of the tile.
+     *
+     * @return the template
+     */
+    TileTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * Returns the number of fields of the tile.
+     *
+     * @return the number of fields
+     */
+    int getFieldCount() {
+        return getShape().size();
+    }
+
+    /**
+     * Returns the field of the template with the passed index.
+     *
+     * @param index the index of the field, between {@code 0} and {@link #getFieldCount()} (exclusive)
+     *
+     * @return the field in the coordinate system of the template
+     */
+    Field getTemplateField(int index) {
+        return getShape().getField(index);
+    }
+
+    /**
+     * Returns the column of the field with the passed index on the plan.
+     *
+     * @param index the index of the field, between {@code 0} and {@link #getFieldCount()} (exclusive)
+     *
+     * @return the column
+     */
+    int getColumn(int index) {
+        return position.column() + getShape().getColumn(index);
+    }
+
+    /**
+     * Returns the row of the field with the passed index on the plan.
+     *
+     * @param index the index of the field, between {@code 0} and {@link #getFieldCount()} (exclusive)
+     *
+     * @return the row
+     */
+    int getRow(int index) {
+        return position.row() + getShape().getRow(index);
+    }
+
+    /**
+     * Creates a copy of this tile with the same id. Since a tile is immutable the copy shares the template with this tile.
+     *
+     * @return the copy
+     */
     @Override
     public Tile copy() {
-        TileImpl tile = new TileImpl(this, position, orientation);
-        tile.id = this.id; // needed because the ID is generated in the constructor.
-        return tile;
+        return new TileImpl(id, template, position, rotation);
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
-        if (!super.equals(o)) return false;
         TileImpl tile = (TileImpl) o;
-        return Objects.equals(id, tile.id);
+        return Objects.equals(getGameId(), tile.getGameId()) && Objects.equals(id, tile.id);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), id);
+        return Objects.hash(getGameId(), id);
     }
 
     @Override
@@ -218,17 +374,17 @@ public class TileImpl extends TileTemplateImpl implements Tile {
 
         if (LOG.isTraceEnabled()) {
             return "TileImpl{" +
-                           "name='" + name + '\'' +
-                           ", gameId='" + gameId + '\'' +
+                           "name='" + getName() + '\'' +
+                           ", gameId='" + getGameId() + '\'' +
                            ", id='" + id + '\'' +
                            ", position=" + position +
-                           ", orientation=" + orientation +
-                           ", type=" + type +
-                           ", size=" + size +
-                           ", fields=" + fields +
+                           ", orientation=" + getRotation() +
+                           ", type=" + getType() +
+                           ", size=" + getSize() +
+                           ", fields=" + getFields() +
                            '}';
         } else {
-            return "{ gameId='" + gameId + '\'' +
+            return "{ gameId='" + getGameId() + '\'' +
                            ", id='" + id + '\'' +
                            ", position=" + position +
                            '}';
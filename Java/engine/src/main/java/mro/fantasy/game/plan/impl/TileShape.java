@@ -0,0 +1,147 @@
+package mro.fantasy.game.plan.impl;
+
+import mro.fantasy.game.plan.Field;
+import mro.fantasy.game.plan.TileRotation;
+import mro.fantasy.game.plan.TileTemplate;
+
+/**
+ * Precalculated offsets of the fields of a {@link TileTemplate} relative to its anchor for one {@link TileRotation}. All tiles that are created from the same template with the
+ * same rotation share one shape, i.e. a placed tile only needs its anchor position to calculate the positions of its fields on the plan:
+ * <pre>{@code
+ *   plan column = anchor column + column offset
+ *   plan row    = anchor row    + row offset
+ * }</pre>
+ * The offsets are calculated once per rotation with the following formulas for a field at the template position (c|r):
+ * <pre>{@code
+ *     0° -> ( c |  r)
+ *    90° -> ( r | -c)
+ *   180° -> (-c | -r)
+ *   270° -> (-r |  c)
+ * }</pre>
+ * The fields of the shape are the fields of the template, which are immutable and therefore shared by all tiles.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+final class TileShape {
+
+    /**
+     * The rotation of the shape.
+     */
+    private final TileRotation rotation;
+
+    /**
+     * The fields of the template in the coordinate system of the template.
+     */
+    private final Field[] fields;
+
+    /**
+     * The column offset of every field relative to the anchor.
+     */
+    private final int[] columns;
+
+    /**
+     * The row offset of every field relative to the anchor.
+     */
+    private final int[] rows;
+
+    /**
+     * Creates the shape of the passed template.
+     *
+     * @param template the template
+     * @param rotation the rotation
+     */
+    TileShape(TileTemplate template, TileRotation rotation) {
+        this.rotation = rotation;
+        this.fields = template.getFields().toArray(new Field[0]);
+        this.columns = new int[fields.length];
+        this.rows = new int[fields.length];
+
+        for (int i = 0; i < fields.length; i++) {
+            int c = fields[i].getPosition().column();
+            int r = fields[i].getPosition().row();
+
+            columns[i] = switch (rotation) {
+                case DEGREE_0 -> c;
+                case DEGREE_90 -> r;
+                case DEGREE_180 -> -c;
+                case DEGREE_270 -> -r;
+            };
+
+            rows[i] = switch (rotation) {
+                case DEGREE_0 -> r;
+                case DEGREE_90 -> -c;
+                case DEGREE_180 -> -r;
+                case DEGREE_270 -> c;
+            };
+        }
+    }
+
+    /**
+     * Returns the shape of the passed template. The shapes of a {@link TileTemplateImpl} are created once and stored in the template, the shapes of other implementations are
+     * created with every call.
+     *
+     * @param template the template
+     * @param rotation the rotation
+     *
+     * @return the shape
+     */
+    static TileShape of(TileTemplate template, TileRotation rotation) {
+        if (template instanceof TileTemplateImpl impl) {
+            return impl.getShape(rotation);
+        }
+        return new TileShape(template, rotation);
+    }
+
+    /**
+     * Returns the rotation of the shape.
+     *
+     * @return the rotation
+     */
+    TileRotation getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Returns the number of fields.
+     *
+     * @return the number of fields
+     */
+    int size() {
+        return fields.length;
+    }
+
+    /**
+     * Returns the field of the template with the passed index.
+     *
+     * @param index the index
+     *
+     * @return the field in the coordinate system of the template
+     */
+    Field getField(int index) {
+        return fields[index];
+    }
+
+    /**
+     * Returns the column offset of the field with the passed index relative to the anchor.
+     *
+     * @param index the index
+     *
+     * @return the offset
+     */
+    int getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * Returns the row offset of the field with the passed index relative to the anchor.
+     *
+     * @param index the index
+     *
+     * @return the offset
+     */
+    int getRow(int index) {
+        return rows[index];
+    }
+
+}
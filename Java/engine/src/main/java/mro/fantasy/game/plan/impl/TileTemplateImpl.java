@@ -6,6 +6,7 @@ import mro.fantasy.game.communication.impl.AbstractAudioGameResource;
 import mro.fantasy.game.engine.GameLibrary;
 import mro.fantasy.game.plan.Field;
 import mro.fantasy.game.plan.FieldType;
+import mro.fantasy.game.plan.TileRotation;
 import mro.fantasy.game.plan.TileTemplate;
 import mro.fantasy.game.resources.GameResource;
 import mro.fantasy.game.utils.ValidationUtils;
@@ -14,6 +15,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -50,6 +52,13 @@ public class TileTemplateImpl extends AbstractAudioGameResource implements TileT
      */
     protected List<FieldImpl> fields = new ArrayList<>();
 
+    /**
+     * The shapes of the template by the ordinal of the rotation, created on demand.
+     *
+     * @see #getShape(TileRotation)
+     */
+    private final TileShape[] shapes = new TileShape[TileRotation.values().length];
+
     /**
      * Default constructor.
      */
@@ -84,6 +93,30 @@ public class TileTemplateImpl extends AbstractAudioGameResource implements TileT
         return Collections.unmodifiableCollection(fields);
     }
 
+    @Override
+    public void forEachField(Consumer<? super Field> consumer) {
+        for (int i = 0; i < fields.size(); i++) {                           // index based loop to avoid the creation of an iterator
+            consumer.accept(fields.get(i));
+        }
+    }
+
+    /**
+     * Returns the shape of the template for the passed rotation. The shape is calculated with the first call and shared by all tiles that are created from this template with the
+     * same rotation afterwards. Since the shape is immutable, concurrent calls may calculate it twice but always return an equal shape.
+     *
+     * @param rotation the rotation
+     *
+     * @return the shape
+     */
+    TileShape getShape(TileRotation rotation) {
+        TileShape shape = shapes[rotation.ordinal()];
+        if (shape == null) {
+            shape = new TileShape(this, rotation);
+            shapes[rotation.ordinal()] = shape;
+        }
+        return shape;
+    }
+
     @Override
     public String toString() {
         return "type=" + type +
@@ -180,18 +213,19 @@ public class TileTemplateImpl extends AbstractAudioGameResource implements TileT
                                                                        this.fields.add(FieldImpl.fromYAMLMap(f, this.type))              // a new field instance that is added the new tile.
         );
 
-        // afterwards we need to check the consistency, i.e. if we have the correct number of fields in the expected positons.
+        // afterwards we need to check the consistency, i.e. every position within the size of the tile template has to be covered by exactly one field. A field outside the
+        // size, two fields at the same position or a missing field result in an exception.
 
-        List<Field> tmpList = new ArrayList<>(this.fields);                                     // we create a copy of the field list and remove every field from the list
-        for (int col = 0; col < this.size.columns(); col++) {                                   // by iterating over the columns and rows which are defined by the size
-            for (int row = 0; row < this.size.rows(); row++) {                                  // of the tile template.
-                final int x = col;                                                              // If the list is empty afterwards we are sure that every possible position
-                final int y = row;                                                              // in the template has a field assigned and the exact number of fields
-                tmpList.removeIf(f -> f.getPosition().equals(new Position(x, y)));              // were provided. Otherwise an exception is thrown.
+        boolean[] covered = new boolean[this.size.columns() * this.size.rows()];
+        for (Field f : this.fields) {
+            Position p = f.getPosition();
+            if (p.column() < 0 || p.column() >= this.size.columns() || p.row() < 0 || p.row() >= this.size.rows() || covered[p.row() * this.size.columns() + p.column()]) {
+                throw new IllegalArgumentException("The passed field configuration does not match the size of the tile template");
             }
+            covered[p.row() * this.size.columns() + p.column()] = true;
         }
 
-        if (!tmpList.isEmpty())
+        if (this.fields.size() != covered.length)
             throw new IllegalArgumentException("The passed field configuration does not match the size of the tile template");
 
         if (this.fields.stream().filter(f -> f.isAnchor()).collect(Collectors.toList()).size() != 1)
@@ -0,0 +1,28 @@
+package mro.fantasy.game.resources;
+
+/**
+ * Listener that is informed by a {@link ResourceBundleProvider} if one of its bundles was changed after the resources were loaded, e.g. because the underlying file was edited.
+ *
+ * @param <T> the type of the bundle
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+@FunctionalInterface
+public interface ResourceBundleListener<T extends ResourceBundle<?>> {
+
+    /**
+     * Called if a bundle was added, changed or removed. The new bundle is created but its resources are not loaded yet, i.e. a library has to call the
+     * {@link ResourceBundle#loadResources(java.util.function.Function)} method. The listener loads and checks the new bundle but does not replace the old one, which is done by
+     * the returned action after all listeners of the provider accepted the new bundle. If the listener throws an exception, the provider keeps the old bundle and the actions
+     * of the other listeners are not executed. The returned action must not fail since the actions of the other listeners may already be executed, i.e. everything that can fail
+     * has to be done by this method.
+     *
+     * @param oldBundle the bundle that is replaced or {@code null} if the bundle was added
+     * @param newBundle the new bundle or {@code null} if the bundle was removed
+     *
+     * @return the action that replaces the old bundle by the new one
+     */
+    Runnable bundleChanged(T oldBundle, T newBundle);
+
+}
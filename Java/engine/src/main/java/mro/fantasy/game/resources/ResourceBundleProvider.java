@@ -30,4 +30,14 @@ public interface ResourceBundleProvider<R extends GameResource, T extends Resour
      */
     void loadResources();
 
+    /**
+     * Registers a listener that is informed if a bundle of the provider is changed after the {@link #loadResources()} method was called. Since most providers never change their
+     * bundles, the default implementation ignores the listener.
+     *
+     * @param listener the listener
+     */
+    default void addBundleListener(ResourceBundleListener<T> listener) {
+        // the bundles of the provider never change
+    }
+
 }
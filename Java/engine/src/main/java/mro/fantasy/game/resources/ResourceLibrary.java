@@ -1,5 +1,8 @@
 package mro.fantasy.game.resources;
 
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
  * A collection of {@link GameResource}s from multiple {@link ResourceBundle}s. Actually a library just collects all data in a single facade implementation to allow easy access to
  * all game related data.
@@ -9,5 +12,34 @@ package mro.fantasy.game.resources;
  */
 public interface ResourceLibrary<T extends GameResource> extends ResourceBundle<T> {
 
+    /**
+     * Returns the unique IDs of all resources of the library. In contrast to {@link #getAll()} a library that creates its resources on demand does not create them to return the
+     * IDs.
+     *
+     * @return the IDs
+     */
+    default Set<String> getIds() {
+        return getAll().stream().map(GameResource::getGameId).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns if the library creates its resources on demand in {@link #getById(String)}, i.e. the resources should not be requested with {@link #getAll()} and two requests may
+     * return different instances of a resource.
+     *
+     * @return {@code true} if the resources are created on demand, the default implementation returns {@code false}
+     */
+    default boolean createsResourcesOnDemand() {
+        return false;
+    }
+
+    /**
+     * Registers a listener that is called after a bundle of the library was reloaded, i.e. after resources were added, changed or removed. Since most libraries never change their
+     * resources, the default implementation ignores the listener.
+     *
+     * @param listener the listener
+     */
+    default void addReloadListener(Runnable listener) {
+        // the resources of the library never change
+    }
 
 }
@@ -75,6 +75,8 @@ public class ClasspathResourceBundleProvider<R extends GameResource, T extends R
     @Override
     public void loadResources() {
 
+        long start = System.currentTimeMillis();
+
         PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
         Resource[] resources;
 
@@ -85,31 +87,45 @@ public class ClasspathResourceBundleProvider<R extends GameResource, T extends R
             return;
         }
 
+        long scanned = System.currentTimeMillis();
+
         LOG.info("ClasspathResourceBundleProvider: Found ::= [{}] potential YAML files in path ::= [{}]", resources.length, directory);
 
         this.resourceFileContent = Arrays                                                                 // try to create tile bundles for every YAML file
                 .stream(resources)
-                .map(res -> {
-                    try {
-                        LOG.info("Try to create resource bundle from :.= [{}]", res.getURL().getFile());
-                        return builder.apply(res);
-                    } catch (Exception e) {
-                        if (LOG.isTraceEnabled()) {                                                       // on TRACE we will print the complete stacktrace but for all other
-                            LOG.warn("Could not load resource bundle: ", e);                              // log levels, only the message is shown in a warning.
-                        } else {
-                            LOG.warn("Could not create resource bundle (enable TRACE for more information): {}", e.getMessage());
-                        }
-                        return null;
-                    }
-                })
+                .map(this::createBundle)
                 .filter(Objects::nonNull)                                                                // in case of an exception the YAML file is ignored
                 .toList();
 
+        LOG.info("ClasspathResourceBundleProvider: Loaded ::= [{}] bundles from path ::= [{}] in ::= [{}] ms (scan ::= [{}] ms, create ::= [{}] ms)", resourceFileContent.size(),
+                directory, System.currentTimeMillis() - start, scanned - start, System.currentTimeMillis() - scanned);
+
         LOG.info("ClasspathResourceBundleProvider: Initialization of resource provider for directory ::= [{}] DONE", directory);
         initialized = true;
 
     }
 
+    /**
+     * Creates the bundle for a single YAML file.
+     *
+     * @param res the YAML file
+     *
+     * @return the bundle or {@code null} if the file cannot be parsed
+     */
+    private T createBundle(Resource res) {
+        try {
+            LOG.info("Try to create resource bundle from ::= [{}]", res.getURL().getFile());
+            return builder.apply(res);
+        } catch (Exception e) {
+            if (LOG.isTraceEnabled()) {                                                                   // on TRACE we will print the complete stacktrace but for all other
+                LOG.warn("Could not load resource bundle: ", e);                                          // log levels, only the message is shown in a warning.
+            } else {
+                LOG.warn("Could not create resource bundle (enable TRACE for more information): {}", e.getMessage());
+            }
+            return null;
+        }
+    }
+
     @Override
     public List<T> getResourceBundles() {
         if (!initialized) {
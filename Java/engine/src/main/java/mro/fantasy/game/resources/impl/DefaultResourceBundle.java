@@ -2,18 +2,20 @@ package mro.fantasy.game.resources.impl;
 
 import mro.fantasy.game.resources.GameResource;
 import mro.fantasy.game.resources.ResourceBundle;
+import mro.fantasy.game.utils.YAMLStreamReader;
 import mro.fantasy.game.utils.YAMLUtilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Default implementation of a resource bundle that takes a {@link Resource} and tries to parse it.
@@ -43,6 +45,11 @@ public final class DefaultResourceBundle<T extends GameResource> implements Reso
      */
     private final Resource inputResource;
 
+    /**
+     * The bundle of the {@link ResourceIndex} that contains the data for the bundle, if the bundle is not loaded from the YAML file.
+     */
+    private final ResourceIndex.Bundle indexedBundle;
+
     /**
      * Initializes the bundle from the passed  {@link Resource}. A resource bundle has always the structure:
      * <p>
@@ -59,28 +66,68 @@ public final class DefaultResourceBundle<T extends GameResource> implements Reso
      */
     public DefaultResourceBundle(Resource res) {
         this.inputResource = res;
+        this.indexedBundle = null;
     }
 
+    /**
+     * Initializes the bundle from the passed bundle of the {@link ResourceIndex}, i.e. the data of the bundle was already parsed and validated when the index was created.
+     *
+     * @param bundle the bundle of the index
+     */
+    public DefaultResourceBundle(ResourceIndex.Bundle bundle) {
+        this.inputResource = null;
+        this.indexedBundle = bundle;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if the YAML file cannot be read or a resource exists multiple times in the bundle
+     */
     @Override
     public void loadResources(Function<Map<String, Object>, T> builder) {
         try {
-            var yaml = new Yaml();
-            Map<String, Object> map = yaml.load(inputResource.getInputStream());
-            var yamlResources = (List<Map<String, Object>>) map.get("resources");
+            Map<String, T> loaded = new HashMap<>();
 
-            this.resources = yamlResources
-                    .stream()                                                       // iterate over all Resource entries in the list
-                    .map(builder)                                                   // convert the YAML map to a Java class and convert it
-                    .collect(Collectors.toMap(GameResource::getGameId, r -> r));    // and create the resource map
+            Consumer<Map<String, Object>> consumer = entry -> {
+                T resource = builder.apply(entry);                          // convert the YAML map to a Java class as soon as the entry was parsed
+                if (loaded.putIfAbsent(resource.getGameId(), resource) != null) {
+                    throw new IllegalStateException("Duplicate resource ::= [" + resource.getGameId() + "] in the bundle");
+                }
+            };
 
+            Map<String, Object> map = read(consumer);
+
+            this.resources = loaded;
             this.name = YAMLUtilities.getMandatory(map, "bundleName");
 
-            LOG.info("Created resource bundle ::= [{}] with ::= [{}] resource entries", this.name,yamlResources.size());
+            LOG.info("Created resource bundle ::= [{}] with ::= [{}] resource entries", this.name, loaded.size());
 
             this.resources.values().forEach(r -> LOG.info("    - {} {}", r.getGameId(), r.getName()));
 
-        } catch (IOException e) {
-            LOG.warn("Cannot load resource bundle from resource ::= [{}]: ", resources, e);
+        } catch (IOException e) {                                           // an empty bundle would remove the resources of a reloaded bundle
+            throw new IllegalStateException("Cannot load resource bundle from resource ::= [" + (inputResource != null ? inputResource : indexedBundle) + "]", e);
+        }
+    }
+
+    /**
+     * Reads the YAML maps of the resources from the index or the YAML file and passes them one by one to the consumer without creating the resources, e.g. to keep only a compact
+     * form of large resources that are created on demand. The resources of the bundle are not changed.
+     *
+     * @param consumer the consumer for the YAML map of every resource
+     *
+     * @return the data of the bundle without the resources, i.e. the {@code bundleName}
+     *
+     * @throws IOException              if the YAML file cannot be read
+     * @throws IllegalArgumentException if the data cannot be parsed
+     */
+    public Map<String, Object> read(Consumer<Map<String, Object>> consumer) throws IOException {
+        if (indexedBundle != null) {
+            return indexedBundle.read(consumer);
+        }
+
+        try (InputStream inputStream = inputResource.getInputStream()) {
+            return YAMLStreamReader.read(inputStream, "resources", consumer);
         }
     }
 
@@ -4,14 +4,19 @@ import mro.fantasy.game.resources.GameResource;
 import mro.fantasy.game.resources.ResourceBundle;
 import mro.fantasy.game.resources.ResourceBundleProvider;
 import mro.fantasy.game.resources.ResourceLibrary;
+import mro.fantasy.game.utils.ParallelUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -35,9 +40,37 @@ public class DefaultResourceLibrary<T extends GameResource> implements ResourceL
     private List<ResourceBundleProvider<T, ResourceBundle<T>>> resourceProvider;
 
     /**
-     * A map with all resources in all bundles. Key is the unique {@link GameResource#getGameId()} of the resource.
+     * A map with all resources in all bundles. Key is the unique {@link GameResource#getGameId()} of the resource. The map is never modified but replaced if a bundle is reloaded,
+     * i.e. readers are never blocked by a reload.
      */
-    private Map<String, T> resources;
+    private volatile Map<String, T> resources;
+
+    /**
+     * The function that was passed to {@link #loadResources(Function)} to load the resources of reloaded bundles.
+     */
+    private Function<Map<String, Object>, T> builder;
+
+    /**
+     * The listeners that are called after a bundle was reloaded.
+     */
+    private final List<Runnable> reloadListener = new CopyOnWriteArrayList<>();
+
+    /**
+     * If the library was registered as listener at the providers.
+     */
+    private boolean observed;
+
+    /**
+     * If the bundles of the library are loaded concurrently.
+     */
+    @Value("${game.resources.parallel.enabled:true}")
+    private boolean parallel = true;
+
+    /**
+     * The maximum number of threads to load the bundles concurrently.
+     */
+    @Value("${game.resources.parallel.threads:4}")
+    private int threads = 4;
 
     @Override
     public void loadResources(Function<Map<String, Object>, T> builder) {
@@ -46,19 +79,133 @@ public class DefaultResourceLibrary<T extends GameResource> implements ResourceL
             return;
         }
 
-        this.resourceProvider.forEach(p -> p.loadResources());
+        long start = System.currentTimeMillis();
 
-        this.resources = resourceProvider.stream()                                      // iterate over all resource provider
-                .map(ResourceBundleProvider::getResourceBundles)                        // fetch all available resources bundles from that provider
+        this.builder = builder;
+        List<ResourceBundle<T>> bundles = loadBundles();
+
+        long provided = System.currentTimeMillis();
+
+        this.resources = ParallelUtils.map(getName(), bundles, bundle -> {             // load the resources of the bundles concurrently, the builder
+                    bundle.loadResources(builder);                                      // has to be thread safe for this
+                    return bundle.getAll();
+                }, getThreads())
+                .stream()
                 .flatMap(Collection::stream)
-                .flatMap(bundle -> {                                                    // load the resources
-                    bundle.loadResources(builder);
-                    return bundle.getAll().stream();
-                })
                 .collect(Collectors.toMap(                                              // add a new map entry with the id to
                         GameResource::getGameId, res -> res));                          // the resource map to allow efficient access to single resources
 
-        LOG.debug("Created new library with ::= [{}] resources from ::= [{}] resource providers", resources.size(), resourceProvider.size());
+        LOG.info("Created new library ::= [{}] with ::= [{}] resources from ::= [{}] resource providers in ::= [{}] ms (providers ::= [{}] ms, bundles ::= [{}] ms)", getName(),
+                resources.size(), resourceProvider.size(), System.currentTimeMillis() - start, provided - start, System.currentTimeMillis() - provided);
+    }
+
+    /**
+     * Loads all resource providers and returns their bundles without loading the resources of the bundles. Subclasses can use the method to handle the resources of the bundles
+     * differently than the {@link #loadResources(Function)} method.
+     *
+     * @return the bundles of all providers
+     */
+    protected List<ResourceBundle<T>> loadBundles() {
+        if (resourceProvider == null) {
+            return Collections.emptyList();
+        }
+
+        this.resourceProvider.forEach(p -> p.loadResources());
+
+        if (!observed) {
+            this.resourceProvider.forEach(p -> p.addBundleListener(this::reload));
+            observed = true;
+        }
+
+        return resourceProvider.stream()                                                // iterate over all resource provider
+                .map(ResourceBundleProvider::getResourceBundles)                        // fetch all available resources bundles from that provider
+                .flatMap(Collection::stream)
+                .toList();
+    }
+
+    /**
+     * Loads the resources of a bundle that was changed by a provider after the resources were loaded and checks them against the other bundles of the library. The resources of
+     * the new bundle are loaded with the builder of the last {@link #loadResources(Function)} call, the resources of the other bundles are not loaded again. The resources of the
+     * library are not changed until the returned action is executed.
+     *
+     * @param oldBundle the bundle that is replaced or {@code null} if the bundle was added
+     * @param newBundle the new bundle or {@code null} if the bundle was removed
+     *
+     * @return the action that replaces the resources of the old bundle by the resources of the new bundle
+     *
+     * @throws IllegalStateException if the new bundle cannot be loaded or a resource of the new bundle exists in another bundle of the library
+     */
+    protected synchronized Runnable reload(ResourceBundle<T> oldBundle, ResourceBundle<T> newBundle) {
+        long start = System.currentTimeMillis();
+
+        if (newBundle == null) {
+            return () -> replace(oldBundle, null, Collections.emptyList(), start);
+        }
+
+        newBundle.loadResources(builder);
+        List<T> loaded = newBundle.getAll();
+
+        Map<String, T> current = resources == null ? Collections.emptyMap() : resources;
+        Set<String> replaced = oldBundle == null ? Collections.emptySet() : oldBundle.getAll().stream().map(GameResource::getGameId).collect(Collectors.toSet());
+        for (T resource : loaded) {
+            if (current.containsKey(resource.getGameId()) && !replaced.contains(resource.getGameId())) {
+                throw new IllegalStateException("The reloaded resource ::= [" + resource.getGameId() + "] exists in another bundle of the library ::= [" + getName() + "]");
+            }
+        }
+
+        return () -> replace(oldBundle, newBundle, loaded, start);
+    }
+
+    /**
+     * Replaces the resources of a bundle that was checked by {@link #reload(ResourceBundle, ResourceBundle)}. A new resource map is created, which replaces the current one.
+     *
+     * @param oldBundle the bundle that is replaced or {@code null} if the bundle was added
+     * @param newBundle the new bundle or {@code null} if the bundle was removed
+     * @param loaded    the resources of the new bundle
+     * @param start     the time when the reload was started
+     */
+    private synchronized void replace(ResourceBundle<T> oldBundle, ResourceBundle<T> newBundle, List<T> loaded, long start) {
+        Map<String, T> updated = resources == null ? new HashMap<>() : new HashMap<>(resources);
+
+        if (oldBundle != null) {
+            oldBundle.getAll().forEach(r -> updated.remove(r.getGameId()));
+        }
+        loaded.forEach(r -> updated.put(r.getGameId(), r));
+
+        this.resources = updated;                                           // never modified again, i.e. readers see the old or the new map
+
+        LOG.info("Reloaded bundle ::= [{}] of library ::= [{}] with ::= [{}] resources in ::= [{}] ms", newBundle != null ? newBundle.getName() : oldBundle.getName(), getName(),
+                updated.size(), System.currentTimeMillis() - start);
+
+        notifyReloadListener();
+    }
+
+    /**
+     * Calls the listeners that were registered with {@link #addReloadListener(Runnable)} after a bundle was reloaded. The bundle is already replaced, i.e. a failing listener is
+     * logged and does not prevent the other listeners from being called.
+     */
+    protected void notifyReloadListener() {
+        for (Runnable l : reloadListener) {
+            try {
+                l.run();
+            } catch (RuntimeException e) {
+                LOG.error("Reload listener of library ::= [{}] failed: ", getName(), e);
+            }
+        }
+    }
+
+    @Override
+    public void addReloadListener(Runnable listener) {
+        reloadListener.add(listener);
+    }
+
+    /**
+     * Returns the maximum number of threads to load the bundles of the library.
+     *
+     * @return the number of threads, {@code 1} if the parallel loading is disabled
+     */
+    protected int getThreads() {
+        return parallel ? threads : 1;
     }
 
     @Override
@@ -0,0 +1,317 @@
+package mro.fantasy.game.resources.impl;
+
+import mro.fantasy.game.resources.GameResource;
+import mro.fantasy.game.resources.ResourceBundle;
+import mro.fantasy.game.resources.ResourceBundleListener;
+import mro.fantasy.game.resources.ResourceBundleProvider;
+import mro.fantasy.game.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Provider that loads the YAML files of a directory in the file system and watches the directory for changes during the content development. If a YAML file is created, changed or
+ * deleted, only this file is parsed again and the registered {@link ResourceBundleListener}s, i.e. the libraries of the provider, replace the bundle without a restart of the
+ * application:
+ * <pre>{@code
+ *     @Bean
+ *     public FileSystemResourceBundleProvider<TileTemplate, ResourceBundle<TileTemplate>> getTileProvider() {
+ *         return FileSystemResourceBundleProvider.forDefaultResourceBundle(Path.of("../base-game-resources/src/main/resources/tiles"));
+ *     }
+ * }</pre>
+ * The directory is watched by a daemon thread that is started by the {@link #loadResources()} method and stopped by the {@link #close()} method.
+ *
+ * @param <T> the type of the content
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public class FileSystemResourceBundleProvider<R extends GameResource, T extends ResourceBundle<R>> implements ResourceBundleProvider<R, T>, AutoCloseable {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(FileSystemResourceBundleProvider.class);
+
+    /**
+     * The directory with the YAML files.
+     */
+    private final Path directory;
+
+    /**
+     * The function that is used to build a bundle from a YAML file.
+     */
+    private final Function<Resource, T> builder;
+
+    /**
+     * The bundles by their YAML file. The map is never modified but replaced if a file was changed.
+     */
+    private volatile Map<Path, T> bundles;
+
+    /**
+     * The listeners that are informed about changed bundles.
+     */
+    private final List<ResourceBundleListener<T>> listener = new CopyOnWriteArrayList<>();
+
+    /**
+     * The service to watch the directory or {@code null} if the directory is not watched.
+     */
+    private WatchService watchService;
+
+    /**
+     * If the directory is watched for changed YAML files.
+     */
+    @Value("${game.resources.reload.enabled:true}")
+    private boolean reload = true;
+
+    /**
+     * The milliseconds to wait for further events after a file was changed, since an editor usually creates multiple events when a file is saved.
+     */
+    @Value("${game.resources.reload.delay.ms:250}")
+    private long delay = 250;
+
+    /**
+     * Creates a new provider for the passed directory.
+     *
+     * @param directory the directory with the YAML files
+     * @param builder   the function that is used to build a bundle from a YAML file
+     */
+    public FileSystemResourceBundleProvider(Path directory, Function<Resource, T> builder) {
+        ValidationUtils.requireNonNull(directory, "The directory cannot be null.");
+        ValidationUtils.requireNonNull(builder, "The builder cannot be null.");
+        this.directory = directory.toAbsolutePath().normalize();
+        this.builder = builder;
+    }
+
+    /**
+     * Creates a new {@link FileSystemResourceBundleProvider} that creates {@link DefaultResourceBundle}s for the YAML files of the passed directory.
+     *
+     * @param directory the directory with the YAML files
+     *
+     * @return the provider
+     */
+    public static FileSystemResourceBundleProvider forDefaultResourceBundle(Path directory) {
+        return new FileSystemResourceBundleProvider(directory, res -> new DefaultResourceBundle((Resource) res));
+    }
+
+    @Override
+    public synchronized void loadResources() {
+        long start = System.currentTimeMillis();
+
+        Map<Path, T> loaded = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(this::isBundle).forEach(file -> loaded.put(file, createBundle(file)));
+        } catch (IOException e) {
+            LOG.error("Could not list the bundles of directory ::= [{}]: ", directory, e);
+        }
+        loaded.values().removeIf(Objects::isNull);                          // in case of an exception the YAML file is ignored
+
+        this.bundles = loaded;
+
+        LOG.info("FileSystemResourceBundleProvider: Loaded ::= [{}] bundles from directory ::= [{}] in ::= [{}] ms", loaded.size(), directory,
+                System.currentTimeMillis() - start);
+
+        if (reload && watchService == null) {
+            startWatching();
+        }
+    }
+
+    /**
+     * Starts the thread that watches the directory.
+     */
+    private void startWatching() {
+        WatchService service;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            LOG.warn("Cannot watch the directory ::= [{}], changed bundles are not reloaded: ", directory, e);
+            return;
+        }
+        watchService = service;
+
+        Thread thread = new Thread(() -> watch(service), "reload-" + directory.getFileName());
+        thread.setDaemon(true);                                             // never block the shutdown of the JVM
+        thread.start();
+
+        LOG.info("FileSystemResourceBundleProvider: Watching directory ::= [{}] for changed bundles", directory);
+    }
+
+    /**
+     * Waits for changed files and reloads their bundles until the watch service is closed.
+     *
+     * @param service the watch service of the directory
+     */
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Set<Path> changed = new TreeSet<>();
+
+                while (key != null) {                                       // collect the events of the next milliseconds to parse a saved file only once
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path file && isBundle(directory.resolve(file))) {
+                            changed.add(directory.resolve(file));
+                        }
+                    }
+                    key.reset();
+                    key = service.poll(delay, TimeUnit.MILLISECONDS);
+                }
+
+                for (Path file : changed) {
+                    try {
+                        reload(file);
+                    } catch (RuntimeException e) {                          // keep watching, the next change of the file may fix the problem
+                        LOG.error("Could not reload resource bundle ::= [{}]: ", file, e);
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            LOG.debug("Stopped watching directory ::= [{}]", directory);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Parses a changed YAML file again and informs the listeners. The old bundle is only replaced if the file can be parsed and all listeners accepted the new bundle, i.e. the
+     * actions returned by the listeners are executed after the last listener checked the new bundle. Otherwise, the old bundle is kept by all listeners. Once the new bundle
+     * was accepted every action is executed, i.e. an action that fails in spite of the contract of {@link ResourceBundleListener} is logged and the other listeners still switch
+     * to the new bundle.
+     *
+     * @param file the YAML file
+     */
+    private synchronized void reload(Path file) {
+        T oldBundle = bundles.get(file);
+        T newBundle = null;
+
+        if (Files.exists(file)) {
+            newBundle = createBundle(file);
+            if (newBundle == null) {
+                return;
+            }
+        }
+
+        if (oldBundle == null && newBundle == null) {
+            return;
+        }
+
+        List<Runnable> actions = new ArrayList<>(listener.size());
+        try {
+            for (ResourceBundleListener<T> l : listener) {
+                actions.add(l.bundleChanged(oldBundle, newBundle));
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Could not reload resource bundle ::= [{}], the old bundle is kept: {}", file, e.getMessage());
+            return;
+        }
+
+        for (Runnable action : actions) {                                   // all listeners accepted the new bundle
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOG.error("Could not replace resource bundle ::= [{}] of a listener: ", file, e);
+            }
+        }
+
+        Map<Path, T> updated = new TreeMap<>(bundles);
+        if (newBundle != null) {
+            updated.put(file, newBundle);
+        } else {
+            updated.remove(file);
+        }
+        this.bundles = updated;
+
+        LOG.info("FileSystemResourceBundleProvider: Reloaded resource bundle ::= [{}]", file);
+    }
+
+    /**
+     * Checks if the passed file is a YAML file, i.e. a potential bundle.
+     *
+     * @param file the file
+     *
+     * @return {@code true} if the file is a YAML file
+     */
+    private boolean isBundle(Path file) {
+        return file.getFileName().toString().endsWith(".yaml") && !Files.isDirectory(file);
+    }
+
+    /**
+     * Creates the bundle for a single YAML file. The file is read once, i.e. the bundle is created from the content in memory and all listeners load the same content even if
+     * the file is saved again, and a file that cannot be read is rejected before a bundle is created.
+     *
+     * @param file the YAML file
+     *
+     * @return the bundle or {@code null} if the file cannot be read or parsed
+     */
+    private T createBundle(Path file) {
+        try {
+            return builder.apply(new ByteArrayResource(Files.readAllBytes(file), file.toString()) {
+                @Override
+                public String getFilename() {                               // e.g. the audio bundles derive their name from the file
+                    return file.getFileName().toString();
+                }
+            });
+        } catch (Exception e) {
+            LOG.warn("Could not create resource bundle ::= [{}]: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public List<T> getResourceBundles() {
+        Map<Path, T> current = bundles;
+
+        if (current == null) {
+            throw new IllegalStateException("FileSystemResourceBundleProvider for directory ::= [" + directory + "] was not initialized by calling the loadResources() method.");
+        }
+
+        return List.copyOf(current.values());
+    }
+
+    @Override
+    public void addBundleListener(ResourceBundleListener<T> listener) {
+        this.listener.add(listener);
+    }
+
+    /**
+     * Stops watching the directory.
+     */
+    @Override
+    public synchronized void close() {
+        if (watchService == null) {
+            return;
+        }
+
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOG.debug("Cannot close the watch service of directory ::= [{}]: ", directory, e);
+        }
+        watchService = null;
+    }
+
+}
@@ -0,0 +1,111 @@
+package mro.fantasy.game.resources.impl;
+
+import mro.fantasy.game.resources.GameResource;
+import mro.fantasy.game.resources.ResourceBundle;
+import mro.fantasy.game.resources.ResourceBundleProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Provider that loads the bundles of a directory from the {@link ResourceIndex} in the classpath. In contrast to the {@link ClasspathResourceBundleProvider} the classpath is not
+ * scanned for YAML files and the files are not parsed, since the index contains the already validated data of every bundle. If the classpath has no index, the index does not
+ * contain the directory, one of the YAML files was changed after the index was created or the directory contains a YAML file which is not part of the index, the provider
+ * falls back to a {@link ClasspathResourceBundleProvider} for the directory.
+ * <pre>{@code
+ *     @Bean
+ *     public IndexedResourceBundleProvider<TileTemplate, ResourceBundle<TileTemplate>> getTileProvider() {
+ *         return IndexedResourceBundleProvider.forDefaultResourceBundle("tiles");
+ *     }
+ * }</pre>
+ *
+ * @param <T> the type of the content
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public class IndexedResourceBundleProvider<R extends GameResource, T extends ResourceBundle<R>> implements ResourceBundleProvider<R, T> {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(IndexedResourceBundleProvider.class);
+
+    /**
+     * The directory in the classpath.
+     */
+    private final String directory;
+
+    /**
+     * The function that is used to build a bundle from the index.
+     */
+    private final Function<ResourceIndex.Bundle, T> indexBuilder;
+
+    /**
+     * The provider to load the YAML files if the index cannot be used.
+     */
+    private final ClasspathResourceBundleProvider<R, T> fallback;
+
+    /**
+     * The bundles of the directory.
+     */
+    private List<T> resourceFileContent;
+
+    /**
+     * Creates a new provider for the passed directory.
+     *
+     * @param directory    the directory in the classpath
+     * @param indexBuilder the function that is used to build a bundle from the index
+     * @param builder      the function that is used to build a bundle from a YAML file if the index cannot be used
+     */
+    public IndexedResourceBundleProvider(String directory, Function<ResourceIndex.Bundle, T> indexBuilder, Function<Resource, T> builder) {
+        this.directory = directory;
+        this.indexBuilder = indexBuilder;
+        this.fallback = new ClasspathResourceBundleProvider<>(directory, builder);
+    }
+
+    /**
+     * Creates a new {@link IndexedResourceBundleProvider} that creates {@link DefaultResourceBundle}s for the passed directory.
+     *
+     * @param directory the directory in the classpath
+     * @param <R>       the type of the resources
+     *
+     * @return the provider
+     */
+    public static <R extends GameResource> IndexedResourceBundleProvider<R, ResourceBundle<R>> forDefaultResourceBundle(String directory) {
+        return new IndexedResourceBundleProvider<>(directory, DefaultResourceBundle<R>::new, DefaultResourceBundle<R>::new);
+    }
+
+    @Override
+    public void loadResources() {
+        long start = System.currentTimeMillis();
+
+        ResourceIndex index = ResourceIndex.fromClasspath();
+        List<ResourceIndex.Bundle> bundles = index == null ? null : index.getBundles(directory);
+
+        if (bundles == null) {
+            fallback.loadResources();
+            this.resourceFileContent = fallback.getResourceBundles();
+            return;
+        }
+
+        this.resourceFileContent = bundles.stream().map(indexBuilder).toList();
+
+        LOG.info("IndexedResourceBundleProvider: Loaded ::= [{}] bundles for directory ::= [{}] from the resource index in ::= [{}] ms", resourceFileContent.size(), directory,
+                System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public List<T> getResourceBundles() {
+        if (resourceFileContent == null) {
+            throw new IllegalStateException("IndexedResourceBundleProvider for directory ::= [" + directory + "] was not initialized by calling the loadResources() method.");
+        }
+
+        return Collections.unmodifiableList(resourceFileContent);
+    }
+
+}
@@ -0,0 +1,570 @@
+package mro.fantasy.game.resources.impl;
+
+import mro.fantasy.game.utils.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Binary index of the resource bundles of a resource JAR, which is created during the build by the {@link ResourceIndexWriter}. The index contains the already parsed and
+ * validated YAML data of every bundle, i.e. the {@link IndexedResourceBundleProvider} neither has to scan the classpath for YAML files nor to parse them. All values are big
+ * endian:
+ * <pre>{@code
+ *   ┌──────────────────┬─────────┬───────────────────────────────────────────────────────────┐
+ *   │ magic            │ int     │ 0x46475249 ("FGRI")                                       │
+ *   │ version          │ short   │ {@link #VERSION}                                          │
+ *   │ count            │ int     │ number of bundles                                         │
+ *   ├──────────────────┼─────────┼───────────────────────────────────────────────────────────┤
+ *   │ Bundle (count times)                                                                   │
+ *   ├──────────────────┼─────────┼───────────────────────────────────────────────────────────┤
+ *   │ directory        │ string  │ the directory in the classpath, e.g. tiles                │
+ *   │ path             │ string  │ the path of the YAML file in the classpath                │
+ *   │ length           │ int     │ the length of the YAML file in bytes                      │
+ *   │ checksum         │ long    │ the CRC32 checksum of the YAML file                       │
+ *   │ modified         │ long    │ the last modification time of the YAML file in ms         │
+ *   │ header           │ value   │ the map of the YAML file without the resources            │
+ *   │ entries          │ int     │ number of resources                                       │
+ *   │ size             │ int     │ the number of bytes of the resources                      │
+ *   │ resources        │ value[] │ the map of every resource                                 │
+ *   └──────────────────┴─────────┴───────────────────────────────────────────────────────────┘
+ * }</pre>
+ * A value starts with a byte for its type followed by the data: a string is stored as its length in bytes as {@code int} followed by the UTF-8 bytes, a list as the number of
+ * elements followed by the values and a map as the number of entries followed by the key as string and the value of every entry.
+ * <p>
+ * The YAML files in the classpath are compared with the index before it is used without reading them: the length and the checksum with the entry of a JAR file and the length
+ * and the modification time with a file of a directory. If a file was changed after the index was created or a directory in the classpath contains a YAML file which is not part
+ * of the index, e.g. because it was added later or is part of another JAR without an index, the index is stale and the provider falls back to the YAML files.
+ * <p>
+ * Every JAR and every directory of the classpath can contain its own index, {@link #fromClasspath()} combines all of them.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public final class ResourceIndex {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(ResourceIndex.class);
+
+    /**
+     * The name of the index in the root of the classpath.
+     */
+    public static final String NAME = "resource-index.fgri";
+
+    /**
+     * The first four bytes of the index.
+     */
+    static final int MAGIC = 0x46475249;
+
+    /**
+     * The version of the format.
+     */
+    static final short VERSION = 2;
+
+    /**
+     * Type of a {@code null} value.
+     */
+    static final byte TYPE_NULL = 0;
+
+    /**
+     * Type of a string.
+     */
+    static final byte TYPE_STRING = 1;
+
+    /**
+     * Type of an integer.
+     */
+    static final byte TYPE_INT = 2;
+
+    /**
+     * Type of a long.
+     */
+    static final byte TYPE_LONG = 3;
+
+    /**
+     * Type of a double.
+     */
+    static final byte TYPE_DOUBLE = 4;
+
+    /**
+     * Type of a boolean.
+     */
+    static final byte TYPE_BOOLEAN = 5;
+
+    /**
+     * Type of a list.
+     */
+    static final byte TYPE_LIST = 6;
+
+    /**
+     * Type of a map.
+     */
+    static final byte TYPE_MAP = 7;
+
+    /**
+     * The combined indexes from the classpath, loaded with the first call of {@link #fromClasspath()}.
+     */
+    private static ResourceIndex classpathIndex;
+
+    /**
+     * Indicator if the index was already searched in the classpath.
+     */
+    private static boolean classpathIndexLoaded;
+
+    /**
+     * The bundles of the index.
+     */
+    private final List<Bundle> bundles;
+
+    /**
+     * A bundle of the index. The header of the bundle is read with the index, the resources are read when {@link #read(Consumer)} is called.
+     */
+    public static final class Bundle {
+
+        /**
+         * The directory in the classpath.
+         */
+        private final String directory;
+
+        /**
+         * The path of the YAML file in the classpath.
+         */
+        private final String path;
+
+        /**
+         * The length of the YAML file when the index was created.
+         */
+        private final int length;
+
+        /**
+         * The checksum of the YAML file when the index was created.
+         */
+        private final long checksum;
+
+        /**
+         * The last modification time of the YAML file in milliseconds when the index was created.
+         */
+        private final long modified;
+
+        /**
+         * The map of the YAML file without the resources.
+         */
+        private final Map<String, Object> header;
+
+        /**
+         * The number of resources.
+         */
+        private final int entries;
+
+        /**
+         * The buffer with the resources.
+         */
+        private final ByteBuffer data;
+
+        /**
+         * Creates a new bundle.
+         *
+         * @param directory the directory in the classpath
+         * @param path      the path of the YAML file in the classpath
+         * @param length    the length of the YAML file when the index was created
+         * @param checksum  the checksum of the YAML file when the index was created
+         * @param modified  the last modification time of the YAML file in milliseconds when the index was created
+         * @param header    the map of the YAML file without the resources
+         * @param entries   the number of resources
+         * @param data      the buffer with the resources
+         */
+        private Bundle(String directory, String path, int length, long checksum, long modified, Map<String, Object> header, int entries, ByteBuffer data) {
+            this.directory = directory;
+            this.path = path;
+            this.length = length;
+            this.checksum = checksum;
+            this.modified = modified;
+            this.header = header;
+            this.entries = entries;
+            this.data = data;
+        }
+
+        /**
+         * Returns the directory of the bundle in the classpath.
+         *
+         * @return the directory, e.g. {@code tiles}
+         */
+        public String getDirectory() {
+            return directory;
+        }
+
+        /**
+         * Returns the path of the YAML file in the classpath.
+         *
+         * @return the path, e.g. {@code tiles/bg_tiles.yaml}
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the name of the YAML file without the directory.
+         *
+         * @return the file name, e.g. {@code bg_tiles.yaml}
+         */
+        public String getFilename() {
+            return path.substring(path.lastIndexOf('/') + 1);
+        }
+
+        /**
+         * Passes the resources of the bundle one after another to the consumer. The method has the same contract as {@link mro.fantasy.game.utils.YAMLStreamReader#read}, i.e.
+         * bundles can be loaded from the index and from the YAML file in the same way.
+         *
+         * @param consumer the consumer for the YAML map of every resource
+         *
+         * @return the map of the YAML file without the resources
+         */
+        public Map<String, Object> read(Consumer<Map<String, Object>> consumer) {
+            ByteBuffer buffer = data.duplicate();                           // every call reads with its own position
+            for (int i = 0; i < entries; i++) {
+                consumer.accept(readMapValue(buffer));
+            }
+            return new LinkedHashMap<>(header);
+        }
+
+        /**
+         * Checks if the YAML file in the classpath was changed after the index was created. The file is only read if it is neither an entry of a JAR file nor a file of a
+         * directory.
+         *
+         * @return {@code true} if the file was changed or does not exist
+         */
+        public boolean isStale() {
+            URL url = ResourceIndex.class.getResource("/" + path);
+            if (url == null) {
+                return true;
+            }
+
+            try {
+                URLConnection connection = url.openConnection();
+                if (connection instanceof JarURLConnection jar) {           // the size and the CRC32 checksum are part of the JAR entry
+                    JarEntry entry = jar.getJarEntry();
+                    return entry == null || entry.getSize() != length || entry.getCrc() != checksum;
+                }
+                if ("file".equals(url.getProtocol())) {
+                    Path file = Path.of(url.toURI());
+                    return Files.size(file) != length || Files.getLastModifiedTime(file).toMillis() != modified;
+                }
+                try (InputStream in = connection.getInputStream()) {
+                    byte[] content = in.readAllBytes();
+                    return content.length != length || checksum(content) != checksum;
+                }
+            } catch (IOException | URISyntaxException e) {
+                LOG.warn("Cannot read resource ::= [{}] to check the index: ", path, e);
+                return true;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return path;
+        }
+    }
+
+    /**
+     * Creates a new index.
+     *
+     * @param bundles the bundles
+     */
+    private ResourceIndex(List<Bundle> bundles) {
+        this.bundles = bundles;
+    }
+
+    /**
+     * Returns the combination of all indexes in the roots of the classpath, i.e. the indexes of all JARs and directories of the classpath. The indexes are read once and shared
+     * by all providers. An index that cannot be read is ignored, the YAML files it describes are not listed and therefore loaded from the files.
+     *
+     * @return the index or {@code null} if the classpath does not contain a valid index
+     */
+    public static synchronized ResourceIndex fromClasspath() {
+        if (!classpathIndexLoaded) {
+            classpathIndexLoaded = true;
+
+            List<Bundle> combined = new ArrayList<>();
+            int indexes = 0;
+
+            try {
+                Enumeration<URL> urls = ResourceIndex.class.getClassLoader().getResources(NAME);
+                while (urls.hasMoreElements()) {
+                    URL url = urls.nextElement();
+                    try (InputStream in = url.openStream()) {
+                        combined.addAll(read(ByteBuffer.wrap(in.readAllBytes())).getBundles());
+                        indexes++;
+                    } catch (IOException | IllegalArgumentException e) {
+                        LOG.warn("Cannot read the resource index ::= [{}], its resources are loaded from the YAML files: {}", url, e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                LOG.warn("Cannot search the resource indexes ::= [{}] in the classpath, the resources are loaded from the YAML files: {}", NAME, e.getMessage());
+            }
+
+            if (indexes == 0) {
+                LOG.info("No resource index ::= [{}] found in the classpath, the resources are loaded from the YAML files", NAME);
+            } else {
+                LOG.debug("Combined ::= [{}] resource indexes with ::= [{}] bundles", indexes, combined.size());
+                classpathIndex = new ResourceIndex(Collections.unmodifiableList(combined));
+            }
+        }
+        return classpathIndex;
+    }
+
+    /**
+     * Reads an index from the passed buffer.
+     *
+     * @param buffer the buffer
+     *
+     * @return the index
+     *
+     * @throws IllegalArgumentException if the buffer contains no valid index
+     */
+    public static ResourceIndex read(ByteBuffer buffer) {
+        ValidationUtils.requireNonNull(buffer, "The buffer cannot be null.");
+
+        try {
+            ValidationUtils.requireTrue(buffer.getInt() == MAGIC, "The data is no resource index.");
+
+            short version = buffer.getShort();
+            ValidationUtils.requireTrue(version == VERSION, "Unsupported version ::= [" + version + "] of the resource index.");
+
+            int count = buffer.getInt();
+            List<Bundle> bundles = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                String directory = getString(buffer);
+                String path = getString(buffer);
+                int length = buffer.getInt();
+                long checksum = buffer.getLong();
+                long modified = buffer.getLong();
+                Map<String, Object> header = readMapValue(buffer);
+                int entries = buffer.getInt();
+                int size = buffer.getInt();
+
+                ByteBuffer data = buffer.slice(buffer.position(), size);       // the resources are decoded when the bundle is loaded
+                buffer.position(buffer.position() + size);
+
+                bundles.add(new Bundle(directory, path, length, checksum, modified, header, entries, data));
+            }
+
+            LOG.debug("Read resource index with ::= [{}] bundles", count);
+
+            return new ResourceIndex(Collections.unmodifiableList(bundles));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("The resource index is corrupt.", e);
+        }
+    }
+
+    /**
+     * Returns the bundles of a directory if none of them is stale and the index lists all YAML files of the directory.
+     *
+     * @param directory the directory in the classpath, e.g. {@code tiles}
+     *
+     * @return the bundles or {@code null} if the directory is not part of the index, one of the YAML files was changed after the index was created or the directory contains a
+     * YAML file which is not part of the index
+     */
+    public List<Bundle> getBundles(String directory) {
+        List<Bundle> result = bundles.stream().filter(b -> b.getDirectory().equals(directory)).toList();
+
+        if (result.isEmpty()) {
+            LOG.info("The resource index does not contain the directory ::= [{}]", directory);
+            return null;
+        }
+
+        for (Bundle bundle : result) {
+            if (bundle.isStale()) {
+                LOG.warn("The resource index is stale for ::= [{}], the directory ::= [{}] is loaded from the YAML files", bundle.getPath(), directory);
+                return null;
+            }
+        }
+
+        Set<String> listed = result.stream().map(Bundle::getPath).collect(Collectors.toSet());
+        String unlisted = findUnlistedFile(directory, listed);
+        if (unlisted != null) {
+            LOG.warn("The resource index does not list ::= [{}], the directory ::= [{}] is loaded from the YAML files", unlisted, directory);
+            return null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Searches the YAML files of a directory in all JARs and directories of the classpath for a file that is not listed in the index. Only the names of the files are compared,
+     * the files are not read. Like the {@link ClasspathResourceBundleProvider} only the files directly inside the directory are checked.
+     *
+     * @param directory the directory in the classpath
+     * @param listed    the paths of the YAML files of the directory in the index
+     *
+     * @return the path of the first file that is not listed, the directory if the classpath cannot be searched or {@code null} if all files are listed
+     */
+    private static String findUnlistedFile(String directory, Set<String> listed) {
+        String prefix = directory + "/";
+
+        try {
+            Enumeration<URL> roots = ResourceIndex.class.getClassLoader().getResources(directory);
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                URLConnection connection = root.openConnection();
+
+                if (connection instanceof JarURLConnection jar) {           // the entries of the shared JAR file, it must not be closed
+                    Enumeration<JarEntry> entries = jar.getJarFile().entries();
+                    while (entries.hasMoreElements()) {
+                        String name = entries.nextElement().getName();
+                        if (name.startsWith(prefix) && name.endsWith(".yaml") && name.indexOf('/', prefix.length()) < 0 && !listed.contains(name)) {
+                            return name;
+                        }
+                    }
+                } else if ("file".equals(root.getProtocol())) {
+                    try (Stream<Path> files = Files.list(Path.of(root.toURI()))) {
+                        Optional<String> name = files.map(file -> prefix + file.getFileName()).filter(n -> n.endsWith(".yaml") && !listed.contains(n)).findFirst();
+                        if (name.isPresent()) {
+                            return name.get();
+                        }
+                    }
+                } else {
+                    LOG.debug("Cannot list the YAML files of ::= [{}] to check the index", root);
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            LOG.warn("Cannot list the YAML files of the directory ::= [{}] to check the index: ", directory, e);
+            return directory;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns all bundles of the index.
+     *
+     * @return the bundles
+     */
+    public List<Bundle> getBundles() {
+        return bundles;
+    }
+
+    /**
+     * Calculates the checksum of a YAML file.
+     *
+     * @param content the content of the file
+     *
+     * @return the checksum
+     */
+    static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    /**
+     * Reads a string from the buffer.
+     *
+     * @param buffer the buffer
+     *
+     * @return the string
+     */
+    static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a value from the buffer.
+     *
+     * @param buffer the buffer
+     *
+     * @return the value, i.e. a map, a list or a scalar value
+     *
+     * @throws IllegalArgumentException if the type of the value is unknown
+     */
+    static Object readValue(ByteBuffer buffer) {
+        byte type = buffer.get();
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_STRING -> getString(buffer);
+            case TYPE_INT -> buffer.getInt();
+            case TYPE_LONG -> buffer.getLong();
+            case TYPE_DOUBLE -> buffer.getDouble();
+            case TYPE_BOOLEAN -> buffer.get() != 0;
+            case TYPE_LIST -> readList(buffer);
+            case TYPE_MAP -> readMap(buffer);
+            default -> throw new IllegalArgumentException("Unknown value type ::= [" + type + "] in the resource index.");
+        };
+    }
+
+    /**
+     * Reads a value from the buffer which has to be a map, e.g. the header or a resource of a bundle.
+     *
+     * @param buffer the buffer
+     *
+     * @return the map
+     *
+     * @throws IllegalArgumentException if the value is no map
+     */
+    private static Map<String, Object> readMapValue(ByteBuffer buffer) {
+        byte type = buffer.get();
+        ValidationUtils.requireTrue(type == TYPE_MAP, "Expected a map instead of the value type ::= [" + type + "] in the resource index.");
+        return readMap(buffer);
+    }
+
+    /**
+     * Reads the elements of a list from the buffer.
+     *
+     * @param buffer the buffer
+     *
+     * @return the list
+     */
+    private static List<Object> readList(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(readValue(buffer));
+        }
+        return list;
+    }
+
+    /**
+     * Reads the entries of a map from the buffer.
+     *
+     * @param buffer the buffer
+     *
+     * @return the map
+     */
+    private static Map<String, Object> readMap(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        Map<String, Object> map = new LinkedHashMap<>();                   // keep the order of the YAML file like the YAML parser
+        for (int i = 0; i < size; i++) {
+            String key = getString(buffer);
+            map.put(key, readValue(buffer));
+        }
+        return map;
+    }
+
+}
@@ -0,0 +1,235 @@
+package mro.fantasy.game.resources.impl;
+
+import mro.fantasy.game.utils.ValidationUtils;
+import mro.fantasy.game.utils.YAMLStreamReader;
+import mro.fantasy.game.utils.YAMLUtilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Creates the {@link ResourceIndex} of a resource module during the build. The YAML files of the passed directories are parsed and validated once, i.e. the build fails if a
+ * bundle is invalid instead of the game during the startup. The writer is executed by every build of the resource module after the resources were copied. The arguments are
+ * the root directory of the resources, the file of the index and the directories to index, e.g.
+ * <pre>{@code
+ *   ResourceIndexWriter target/classes target/classes/resource-index.fgri tiles plan mp3
+ * }</pre>
+ * The copied resources are indexed instead of the sources, since their modification time is compared with the files of the classpath, see {@link ResourceIndex}.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public final class ResourceIndexWriter {
+
+    /**
+     * Logger
+     */
+    private static final Logger LOG = LoggerFactory.getLogger(ResourceIndexWriter.class);
+
+    /**
+     * The key of the resources in a bundle.
+     */
+    private static final String STR_RESOURCES = "resources";
+
+    /**
+     * Utility class.
+     */
+    private ResourceIndexWriter() {
+
+    }
+
+    /**
+     * Creates the index of a resource module.
+     *
+     * @param args the root directory of the resources, the file of the index and the directories to index
+     *
+     * @throws IOException              if a file cannot be read or written
+     * @throws IllegalArgumentException if a bundle is invalid
+     */
+    public static void main(String[] args) throws IOException {
+        ValidationUtils.requireTrue(args.length >= 3, "Usage: ResourceIndexWriter {resource root} {index file} {directory}...");
+
+        Path root = Path.of(args[0]);
+        Path target = Path.of(args[1]);
+
+        byte[] index = write(root, List.of(args).subList(2, args.length));
+
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        Files.write(target, index);
+
+        LOG.info("Wrote resource index ::= [{}] with ::= [{}] bytes", target, index.length);
+    }
+
+    /**
+     * Creates the index for the YAML files of the passed directories.
+     *
+     * @param root        the root directory of the resources, i.e. the root of the classpath
+     * @param directories the directories relative to the root
+     *
+     * @return the index
+     *
+     * @throws IOException              if a file cannot be read
+     * @throws IllegalArgumentException if a bundle is invalid
+     */
+    public static byte[] write(Path root, List<String> directories) throws IOException {
+        ValidationUtils.requireNonNull(root, "The root directory cannot be null.");
+        ValidationUtils.requireNonNull(directories, "The directories cannot be null.");
+
+        List<Path> files = new ArrayList<>();
+        for (String directory : directories) {
+            Path dir = root.resolve(directory);
+            if (!Files.isDirectory(dir)) {
+                LOG.warn("The directory ::= [{}] does not exist and is not indexed", dir);
+                continue;
+            }
+            try (Stream<Path> list = Files.list(dir)) {                     // the same files as the pattern {directory}/*.yaml of the classpath provider
+                list.filter(p -> p.getFileName().toString().endsWith(".yaml")).sorted().forEach(files::add);
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(ResourceIndex.MAGIC);
+        out.writeShort(ResourceIndex.VERSION);
+        out.writeInt(files.size());
+
+        for (Path file : files) {
+            writeBundle(out, root, file);
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Parses, validates and writes a single bundle.
+     *
+     * @param out  the output
+     * @param root the root directory of the resources
+     * @param file the YAML file of the bundle
+     *
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the bundle is invalid
+     */
+    private static void writeBundle(DataOutputStream out, Path root, Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        String path = root.relativize(file).toString().replace('\\', '/');
+
+        ByteArrayOutputStream entryBytes = new ByteArrayOutputStream();
+        DataOutputStream entries = new DataOutputStream(entryBytes);
+        Set<Object> ids = new HashSet<>();
+        int[] count = new int[1];
+
+        Map<String, Object> header;
+        try {
+            header = YAMLStreamReader.read(new ByteArrayInputStream(content), STR_RESOURCES, entry -> {
+                ValidationUtils.requireTrue(((Object) entry) instanceof Map, "The resource ::= [" + entry + "] is no map.");
+
+                Object id = entry.containsKey("id") ? entry.get("id") : entry.get("key");           // the unique key of game and of audio resources
+                ValidationUtils.requireTrue(id == null || ids.add(id), "Duplicate resource ::= [" + id + "]");
+
+                writeValue(entries, entry);
+                count[0]++;
+            });
+            YAMLUtilities.getMandatory(header, "bundleName");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid resource bundle ::= [" + path + "]: " + e.getMessage(), e);
+        }
+
+        entries.flush();
+
+        writeString(out, path.substring(0, path.lastIndexOf('/')));
+        writeString(out, path);
+        out.writeInt(content.length);
+        out.writeLong(ResourceIndex.checksum(content));
+        out.writeLong(Files.getLastModifiedTime(file).toMillis());
+        writeValue(out, header);
+        out.writeInt(count[0]);
+        out.writeInt(entryBytes.size());
+        entryBytes.writeTo(out);
+
+        LOG.info("Indexed resource bundle ::= [{}] with ::= [{}] resources", path, count[0]);
+    }
+
+    /**
+     * Writes a string.
+     *
+     * @param out   the output
+     * @param value the string
+     */
+    private static void writeString(DataOutputStream out, String value) {
+        try {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write to memory", e);    // a ByteArrayOutputStream does not throw
+        }
+    }
+
+    /**
+     * Writes a value of a YAML map.
+     *
+     * @param out   the output
+     * @param value the value
+     *
+     * @throws IllegalArgumentException if the type of the value is not supported by the index, e.g. a date
+     */
+    private static void writeValue(DataOutputStream out, Object value) {
+        try {
+            if (value == null) {
+                out.writeByte(ResourceIndex.TYPE_NULL);
+            } else if (value instanceof String s) {
+                out.writeByte(ResourceIndex.TYPE_STRING);
+                writeString(out, s);
+            } else if (value instanceof Integer i) {
+                out.writeByte(ResourceIndex.TYPE_INT);
+                out.writeInt(i);
+            } else if (value instanceof Long l) {
+                out.writeByte(ResourceIndex.TYPE_LONG);
+                out.writeLong(l);
+            } else if (value instanceof Double d) {
+                out.writeByte(ResourceIndex.TYPE_DOUBLE);
+                out.writeDouble(d);
+            } else if (value instanceof Boolean b) {
+                out.writeByte(ResourceIndex.TYPE_BOOLEAN);
+                out.writeBoolean(b);
+            } else if (value instanceof List<?> list) {
+                out.writeByte(ResourceIndex.TYPE_LIST);
+                out.writeInt(list.size());
+                for (Object element : list) {
+                    writeValue(out, element);
+                }
+            } else if (value instanceof Map<?, ?> map) {
+                out.writeByte(ResourceIndex.TYPE_MAP);
+                out.writeInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    ValidationUtils.requireTrue(entry.getKey() instanceof String, "The key ::= [" + entry.getKey() + "] is no string.");
+                    writeString(out, (String) entry.getKey());
+                    writeValue(out, entry.getValue());
+                }
+            } else {
+                throw new IllegalArgumentException("The value ::= [" + value + "] of type ::= [" + value.getClass().getSimpleName() + "] cannot be indexed.");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write to memory", e);
+        }
+    }
+
+}
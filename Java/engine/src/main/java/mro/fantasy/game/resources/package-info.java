@@ -37,6 +37,15 @@
  * }</pre>
  * The default implementation will scan the root of all JAR files in the classpath and check the 'tiles' folder for files with the YAML extension. If these files are found a
  * resource bundle is created from the YAML file.
+ * <p>
+ * To reduce the startup time a resource module can contain a {@link mro.fantasy.game.resources.impl.ResourceIndex} with the already parsed and validated data of all bundles,
+ * which is created during the build by the {@link mro.fantasy.game.resources.impl.ResourceIndexWriter}. The
+ * {@link mro.fantasy.game.resources.impl.IndexedResourceBundleProvider} loads the bundles of a directory from this index and falls back to the YAML files if the index is
+ * missing or stale.
+ * <p>
+ * During the content development the {@link mro.fantasy.game.resources.impl.FileSystemResourceBundleProvider} loads the YAML files from a directory of the file system and
+ * watches it. If a file is saved, only this bundle is parsed again and replaced in the libraries and the index of the {@link mro.fantasy.game.engine.GameLibrary}. Resources that
+ * refer to a reloaded resource, e.g. the plans that use a reloaded tile template, keep the old instance until their own bundle is reloaded.
  *
  * <h2>Concrete Libraries and the GameLibrary</h2>
  * Since resources can depend on each other the process of loading them has to have a certain order. Within a YAML file resources can refer to other resources by the unique
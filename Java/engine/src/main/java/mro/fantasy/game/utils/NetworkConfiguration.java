@@ -44,6 +44,25 @@ public class NetworkConfiguration {
     @Value("${game.device.event.udp.buffer.bytes}")
     private int eventUDPBufferBytes;
 
+    /**
+     * If the {@link UDPDeviceEventServiceImpl} receives the events with a {@link java.nio.channels.DatagramChannel} and pooled direct buffers instead of a
+     * {@link java.net.DatagramSocket}.
+     */
+    @Value("${game.device.event.udp.nio.enabled:false}")
+    private boolean eventUDPNIO = false;
+
+    /**
+     * Size of the receive buffer of the operating system for the UDP events, {@code 0} to use the default of the operating system.
+     */
+    @Value("${game.device.event.udp.receive.buffer.bytes:0}")
+    private int eventUDPReceiveBufferBytes = 0;
+
+    /**
+     * Number of direct buffers the {@link UDPDeviceEventServiceImpl} keeps to receive UDP events in the NIO mode.
+     */
+    @Value("${game.device.event.udp.buffer.pool.size:32}")
+    private int eventUDPBufferPoolSize = 32;
+
     /**
      * Converted {@link #serverIPAddress} representation.
      */
@@ -131,4 +150,31 @@ public class NetworkConfiguration {
     public int getEventUDPBufferBytes() {
         return eventUDPBufferBytes;
     }
+
+    /**
+     * Returns if the {@link UDPDeviceEventServiceImpl} receives the events with a {@link java.nio.channels.DatagramChannel} and pooled direct buffers.
+     *
+     * @return {@code true} if the NIO mode is enabled
+     */
+    public boolean isEventUDPNIO() {
+        return eventUDPNIO;
+    }
+
+    /**
+     * Returns the size of the receive buffer of the operating system for the UDP events.
+     *
+     * @return the size in bytes, {@code 0} to use the default of the operating system
+     */
+    public int getEventUDPReceiveBufferBytes() {
+        return eventUDPReceiveBufferBytes;
+    }
+
+    /**
+     * Returns the number of direct buffers to receive UDP events in the NIO mode.
+     *
+     * @return the number of buffers
+     */
+    public int getEventUDPBufferPoolSize() {
+        return eventUDPBufferPoolSize;
+    }
 }
@@ -0,0 +1,86 @@
+package mro.fantasy.game.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Utility class to execute independent tasks of the game initialization, like the parsing of resource bundles, concurrently on a bounded number of threads.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public final class ParallelUtils {
+
+    /**
+     * Utility class.
+     */
+    private ParallelUtils() {
+
+    }
+
+    /**
+     * Applies the function to every input element and returns the results in the order of the input. The elements are processed concurrently by a pool with at most {@code
+     * threads} threads that exists only for the duration of the call. If only one thread is allowed or there is only a single element, the elements are processed by the calling
+     * thread.
+     *
+     * @param name     the name prefix of the threads
+     * @param input    the input elements
+     * @param function the function, which has to be thread safe
+     * @param threads  the maximum number of threads
+     * @param <I>      the type of the input
+     * @param <O>      the type of the result
+     *
+     * @return the results in the order of the input
+     *
+     * @throws RuntimeException      the exception of the function for the first element that failed
+     * @throws IllegalStateException if the calling thread was interrupted
+     */
+    public static <I, O> List<O> map(String name, List<I> input, Function<I, O> function, int threads) {
+        ValidationUtils.requireNonNull(input, "The input cannot be null.");
+        ValidationUtils.requireNonNull(function, "The function cannot be null.");
+
+        int poolSize = Math.min(threads, input.size());
+
+        if (poolSize <= 1) {
+            return input.stream().map(function).toList();
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);                                         // never block the shutdown of the JVM
+            return thread;
+        });
+
+        try {
+            List<Future<O>> futures = new ArrayList<>(input.size());
+            input.forEach(i -> futures.add(executor.submit(() -> function.apply(i))));
+
+            List<O> result = new ArrayList<>(input.size());
+            for (Future<O> future : futures) {
+                result.add(future.get());
+            }
+            return result;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {              // keep the exception of the function, e.g. an IllegalArgumentException of the parser
+                throw re;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Task ::= [" + name + "] failed: ", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Task ::= [" + name + "] was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,211 @@
+package mro.fantasy.game.utils;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads YAML documents with a large list of entries without creating the object tree of the complete document. The document is processed with the event API of SnakeYAML, only
+ * the entry of the list that is currently processed is composed to a YAML map and passed to the consumer, i.e. the memory that is needed to read the document depends on the size
+ * of a single entry and not on the number of entries. All resource bundles follow this structure:
+ * <pre>{@code
+ * bundleName: Base Game
+ * resources:
+ *   - ...
+ *   - ...
+ * }</pre>
+ * The entries are converted with the same rules as {@link org.yaml.snakeyaml.Yaml#load(InputStream)}, i.e. numbers and booleans have the same types. Since every entry is composed
+ * on its own, anchors cannot be referenced from other entries.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+public final class YAMLStreamReader {
+
+    /**
+     * Utility class.
+     */
+    private YAMLStreamReader() {
+
+    }
+
+    /**
+     * Reads a YAML document that has a map as root element. The entries of the list with the passed key are passed one after another to the consumer, all other values of the root
+     * map are returned once the document was read completely.
+     *
+     * @param inputStream the stream with the YAML document, the stream is not closed
+     * @param listKey     the key of the list in the root map, e.g. {@code resources}
+     * @param consumer    the consumer for the entries of the list
+     *
+     * @return the root map without the list
+     *
+     * @throws IllegalArgumentException if the root element is no map or the list is missing
+     */
+    public static Map<String, Object> read(InputStream inputStream, String listKey, Consumer<Map<String, Object>> consumer) {
+        ValidationUtils.requireNonNull(inputStream, "The input stream cannot be null.");
+        ValidationUtils.requireNonNull(listKey, "The list key cannot be null.");
+        ValidationUtils.requireNonNull(consumer, "The consumer cannot be null.");
+
+        Parser parser = new ParserImpl(new StreamReader(new UnicodeReader(inputStream)));
+        NodeReader reader = new NodeReader(parser);
+        Map<String, Object> header = new LinkedHashMap<>();
+        boolean listFound = false;
+
+        expect(parser, Event.ID.StreamStart);
+        expect(parser, Event.ID.DocumentStart);
+        expect(parser, Event.ID.MappingStart);
+
+        while (!parser.checkEvent(Event.ID.MappingEnd)) {
+            ValidationUtils.requireTrue(parser.checkEvent(Event.ID.Scalar), "The keys of the root map have to be scalars.");
+            String key = ((ScalarEvent) parser.getEvent()).getValue();
+
+            if (!key.equals(listKey)) {
+                header.put(key, reader.read());
+                continue;
+            }
+
+            expect(parser, Event.ID.SequenceStart);
+            while (!parser.checkEvent(Event.ID.SequenceEnd)) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> entry = (Map<String, Object>) reader.read();
+                consumer.accept(entry);                                     // the entry is no longer referenced after the consumer returns
+            }
+            parser.getEvent();
+            listFound = true;
+        }
+
+        ValidationUtils.requireTrue(listFound, "The key ::= [" + listKey + "] is not present in the map");
+
+        return header;
+    }
+
+    /**
+     * Consumes the next event from the parser.
+     *
+     * @param parser the parser
+     * @param id     the expected type of the event
+     *
+     * @throws IllegalArgumentException if the next event is of a different type
+     */
+    private static void expect(Parser parser, Event.ID id) {
+        ValidationUtils.requireTrue(parser.checkEvent(id), "Expected ::= [" + id + "] but found ::= [" + parser.peekEvent() + "]");
+        parser.getEvent();
+    }
+
+    /**
+     * Composes the next node of the underlying parser and converts it to a Java object. To reuse the composer of SnakeYAML the events of the node are wrapped into a document of
+     * its own, i.e. from the perspective of the composer every node is a single document.
+     */
+    private static final class NodeReader extends SafeConstructor implements Parser {
+
+        /**
+         * The parser of the complete document.
+         */
+        private final Parser parser;
+
+        /**
+         * The number of events that were passed to the composer for the current node, {@code -1} if the node is complete.
+         */
+        private int event;
+
+        /**
+         * The nesting level of collections in the current node.
+         */
+        private int depth;
+
+        /**
+         * The next event for the composer.
+         */
+        private Event next;
+
+        /**
+         * Creates a new reader.
+         *
+         * @param parser the parser of the complete document
+         */
+        private NodeReader(Parser parser) {
+            super(new LoaderOptions());
+            this.parser = parser;
+            this.composer = new Composer(this, new Resolver(), loadingConfig);
+        }
+
+        /**
+         * Reads the next node.
+         *
+         * @return the Java object, i.e. a map, a list or a scalar value
+         */
+        private Object read() {
+            this.event = 0;
+            this.depth = 0;
+            this.next = null;
+
+            Node node = composer.getSingleNode();
+            return node == null ? null : constructDocument(node);
+        }
+
+        @Override
+        public boolean checkEvent(Event.ID choice) {
+            return peekEvent().is(choice);
+        }
+
+        @Override
+        public Event peekEvent() {
+            if (next == null) {
+                next = switch (event) {
+                    case 0 -> new StreamStartEvent(null, null);
+                    case 1 -> new DocumentStartEvent(null, null, false, null, Collections.emptyMap());
+                    case -1 -> new DocumentEndEvent(null, null, false);
+                    case -2 -> new StreamEndEvent(null, null);
+                    default -> parser.peekEvent();
+                };
+            }
+            return next;
+        }
+
+        @Override
+        public Event getEvent() {
+            Event current = peekEvent();
+            next = null;
+
+            if (event < 0) {                                                // end of the wrapped document
+                event--;
+                return current;
+            }
+
+            if (event > 1) {                                                // an event of the node, which is consumed from the parser
+                parser.getEvent();
+                if (current.is(Event.ID.MappingStart) || current.is(Event.ID.SequenceStart)) {
+                    depth++;
+                } else if (current.is(Event.ID.MappingEnd) || current.is(Event.ID.SequenceEnd)) {
+                    depth--;
+                }
+                if (depth == 0) {                                           // the node is complete
+                    event = -1;
+                    return current;
+                }
+            }
+
+            event++;
+            return current;
+        }
+    }
+
+}
@@ -120,7 +120,7 @@ public final class YAMLUtilities {
     }
 
     /**
-     * Tries to create a new position from the passed YAML entry that hat to follow the syntax (x|y)
+     * Tries to create a new position from the passed YAML entry that hat to follow the syntax (x|y), both coordinates can have up to four digits.
      *
      * @param map the map that should contain the key.
      * @param key the key to fetch from the data map
@@ -131,7 +131,7 @@ public final class YAMLUtilities {
      */
     public static Position parsePosition(Map<String, Object> map, String key) {
         String data = getMandatory(map, key);
-        ValidationUtils.requireTrue(data.matches("\\(\\d{1,2}\\|\\d{1,2}\\)"), "The key ::= [" + key + "] does not have the format (x|y)");
+        ValidationUtils.requireTrue(data.matches("\\(\\d{1,4}\\|\\d{1,4}\\)"), "The key ::= [" + key + "] does not have the format (x|y)");
 
         String[] coordinates = data.split("\\|");
 
@@ -140,7 +140,7 @@ public final class YAMLUtilities {
 
 
     /**
-     * Tries to create a new size from the passed YAML entry that hat to follow the syntax (x|y)
+     * Tries to create a new size from the passed YAML entry that hat to follow the syntax {columns}x{rows}, both values can have up to four digits.
      *
      * @param map the map that should contain the key.
      * @param key the key to fetch from the data map
@@ -151,7 +151,7 @@ public final class YAMLUtilities {
      */
     public static Size parseSize(Map<String, Object> map, String key) {
         String data = getMandatory(map, key);
-        ValidationUtils.requireTrue(data.matches("\\d{1,2}x\\d{1,2}"), "The key ::= [" + key + "] does not have the format {columns}x{rows}");
+        ValidationUtils.requireTrue(data.matches("\\d{1,4}x\\d{1,4}"), "The key ::= [" + key + "] does not have the format {columns}x{rows}");
 
         String[] coordinates = data.split("x");
 
@@ -0,0 +1,177 @@
+package mro.fantasy.game.engine.services.los;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.engine.GameLibrary;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.PlanLibrary;
+import mro.fantasy.game.plan.TileLibrary;
+import mro.fantasy.game.plan.impl.PlanImpl;
+import mro.fantasy.game.plan.impl.TileTemplateImpl;
+import mro.fantasy.game.resources.impl.ClasspathResourceBundleProvider;
+import mro.fantasy.game.resources.impl.DefaultResourceLibrary;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the {@link FieldOfView} based {@link LineOfSightCalculator} with the results of the float line calculator it replaced. The baseline in {@code los/fov-baseline.txt}
+ * was recorded with the old calculator for every covered origin of the plans in {@code bg_001.yaml} and the limits 0 to 12. These plans have no fields that block the line of
+ * sight, so both calculators must return the same fields.
+ * <p>
+ * On plans with fields that block the line of sight the results differ on purpose: the Bresenham lines of the {@link FieldOfView} pass diagonally between two fields where the
+ * float lines touched a corner of a blocking field. The expected masks of the plan {@code LOS001} pin this behaviour.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+class FieldOfViewEquivalenceTest {
+
+    /**
+     * The library with the tiles and plans of the test resources.
+     */
+    private static GameLibrary library;
+
+    @BeforeAll
+    static void loadLibrary() {
+        library = new GameLibrary();
+
+        TileLibrary tileLibrary = new TileLibrary();
+        PlanLibrary planLibrary = new PlanLibrary();
+        ReflectionTestUtils.setField(tileLibrary, DefaultResourceLibrary.class, "resourceProvider", List.of(ClasspathResourceBundleProvider.forDefaultResourceBundle("los/tiles")), List.class);
+        ReflectionTestUtils.setField(planLibrary, DefaultResourceLibrary.class, "resourceProvider", List.of(ClasspathResourceBundleProvider.forDefaultResourceBundle("los/plan")), List.class);
+        ReflectionTestUtils.setField(library, "tileLibrary", tileLibrary);
+        ReflectionTestUtils.setField(library, "planLibrary", planLibrary);
+        ReflectionTestUtils.setField(library, "libraries", List.of(tileLibrary, planLibrary));
+
+        tileLibrary.loadResources(data -> new TileTemplateImpl(library, data));
+        planLibrary.loadResources(data -> new PlanImpl(library, data));
+    }
+
+    @Test
+    void visibleFieldsEqualFloatLineBaseline() throws IOException {
+        LineOfSightCalculator calculator = new LineOfSightCalculator();
+        int compared = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Objects.requireNonNull(getClass().getResourceAsStream("/los/fov-baseline.txt")),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] token = line.split(" ");
+                Plan plan = library.getPlanLibrary().getById(token[0]);
+                Position origin = new Position(Integer.parseInt(token[1]), Integer.parseInt(token[2]));
+                int limit = Integer.parseInt(token[3]);
+
+                Set<Position> expected = decode(plan, new BigInteger(token[4], 16));
+                Set<Position> actual = new HashSet<>(calculator.getVisibleFields(plan, origin, limit));
+
+                assertThat(actual).as("%s from %s with limit %d", token[0], origin, limit).isEqualTo(expected);
+                compared++;
+            }
+        }
+
+        assertThat(compared).isEqualTo(13 * (72 + 4));                      // BG001 covers 72 fields, BG002 covers 4 fields
+    }
+
+    @Test
+    void blockersHideFieldsOfBresenhamLines() {
+        Plan plan = library.getPlanLibrary().getById("LOS001");
+        LineOfSightCalculator calculator = new LineOfSightCalculator();
+
+        assertVisible(plan, calculator.getVisibleFields(plan, new Position(0, 0), 12),
+                "O+++++++",
+                "++++++++",
+                "++++++++",
+                "+++#+#.+",
+                "++++.+..",
+                "+++#+..+",
+                "+++.....",
+                "++++.+..");
+
+        assertVisible(plan, calculator.getVisibleFields(plan, new Position(4, 4), 12),
+                "...+++..",
+                "...+++..",
+                "....+...",
+                "++.#+#.+",
+                "++++O+++",
+                "++.#++++",
+                "....++++",
+                "...+++++");
+    }
+
+    @Test
+    void bresenhamLinesPassBetweenDiagonalBlockers() {
+        Plan plan = library.getPlanLibrary().getById("LOS001");
+        LineOfSightCalculator calculator = new LineOfSightCalculator();
+
+        List<Position> visible = calculator.getVisibleFields(plan, new Position(0, 0), 5);
+
+        assertThat(visible).contains(new Position(4, 3), new Position(3, 4));  // hidden by the corner of (3|3) for the float lines
+        assertThat(visible).doesNotContain(new Position(3, 3));              // a blocking field is never visible itself
+    }
+
+    /**
+     * Checks the visible fields against a map of the plan, the first string is the row 0.
+     *
+     * @param plan    the plan
+     * @param visible the visible fields
+     * @param rows    the expected map, {@code O} is the origin, {@code +} a visible field, {@code #} a field that blocks the line of sight and {@code .} a hidden field
+     */
+    private static void assertVisible(Plan plan, List<Position> visible, String... rows) {
+        String[] actual = new String[rows.length];
+
+        for (int row = 0; row < rows.length; row++) {
+            StringBuilder builder = new StringBuilder();
+            for (int column = 0; column < rows[row].length(); column++) {
+                Position position = new Position(column, row);
+                if (rows[row].charAt(column) == 'O') {
+                    builder.append('O');
+                } else if (plan.blocksLineOfSight(position)) {
+                    builder.append('#');
+                } else {
+                    builder.append(visible.contains(position) ? '+' : '.');
+                }
+            }
+            actual[row] = builder.toString();
+        }
+
+        assertThat(actual).containsExactly(rows);
+    }
+
+    /**
+     * Converts a bitmap of the baseline to the positions of the plan.
+     *
+     * @param plan   the plan
+     * @param bitmap the bitmap with the index {@code row * columns + column}
+     *
+     * @return the positions
+     */
+    private static Set<Position> decode(Plan plan, BigInteger bitmap) {
+        Set<Position> result = new HashSet<>();
+        int columns = plan.getSize().columns();
+
+        for (int index = 0; index < bitmap.bitLength(); index++) {
+            if (bitmap.testBit(index)) {
+                result.add(new Position(index % columns, index / columns));
+            }
+        }
+
+        return result;
+    }
+
+}
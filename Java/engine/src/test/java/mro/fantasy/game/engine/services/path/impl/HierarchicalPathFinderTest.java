@@ -0,0 +1,216 @@
+package mro.fantasy.game.engine.services.path.impl;
+
+import mro.fantasy.game.Position;
+import mro.fantasy.game.engine.GameLibrary;
+import mro.fantasy.game.plan.FieldMask;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.PlanLibrary;
+import mro.fantasy.game.plan.Tile;
+import mro.fantasy.game.plan.TileLibrary;
+import mro.fantasy.game.plan.TileRotation;
+import mro.fantasy.game.plan.impl.PlanImpl;
+import mro.fantasy.game.plan.impl.TileTemplateImpl;
+import mro.fantasy.game.resources.impl.ClasspathResourceBundleProvider;
+import mro.fantasy.game.resources.impl.DefaultResourceLibrary;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the paths of the {@link HierarchicalPathFinder} against the movement rules and the shortest paths of the {@link PathServiceImpl} on random plans. A found path has to
+ * <ul>
+ *     <li>start next to the start and end on the destination with single steps,</li>
+ *     <li>only visit positions that do not block the movement,</li>
+ *     <li>not exceed the budget and</li>
+ *     <li>be at least as long as the shortest path.</li>
+ * </ul>
+ * The checks are repeated after tiles were assigned to and removed from the plan, so that the rebuild of the changed clusters is covered as well.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+class HierarchicalPathFinderTest {
+
+    /**
+     * The number of columns of the random plans.
+     */
+    private static final int COLUMNS = 24;
+
+    /**
+     * The number of rows of the random plans.
+     */
+    private static final int ROWS = 20;
+
+    /**
+     * The number of columns and rows of a cluster, smaller than the plan so that most paths cross several clusters.
+     */
+    private static final int CLUSTER_SIZE = 5;
+
+    /**
+     * The number of requests per check.
+     */
+    private static final int REQUESTS = 400;
+
+    /**
+     * The library with the tiles of the test resources.
+     */
+    private static GameLibrary library;
+
+    @BeforeAll
+    static void loadLibrary() {
+        library = new GameLibrary();
+
+        TileLibrary tileLibrary = new TileLibrary();
+        PlanLibrary planLibrary = new PlanLibrary();
+        ReflectionTestUtils.setField(tileLibrary, DefaultResourceLibrary.class, "resourceProvider", List.of(ClasspathResourceBundleProvider.forDefaultResourceBundle("los/tiles")), List.class);
+        ReflectionTestUtils.setField(planLibrary, DefaultResourceLibrary.class, "resourceProvider", List.of(ClasspathResourceBundleProvider.forDefaultResourceBundle("los/plan")), List.class);
+        ReflectionTestUtils.setField(library, "tileLibrary", tileLibrary);
+        ReflectionTestUtils.setField(library, "planLibrary", planLibrary);
+        ReflectionTestUtils.setField(library, "libraries", List.of(tileLibrary, planLibrary));
+
+        tileLibrary.loadResources(data -> new TileTemplateImpl(library, data));
+        planLibrary.loadResources(data -> new PlanImpl(library, data));
+    }
+
+    @Test
+    void pathsFollowMovementRulesOnRandomPlans() {
+        for (long seed = 1; seed <= 5; seed++) {
+            Random random = new Random(seed);
+            Plan plan = createPlan(random, 0.3);
+
+            try (HierarchicalPathFinder finder = new HierarchicalPathFinder(plan, CLUSTER_SIZE)) {
+                assertPaths(finder, random);
+            }
+        }
+    }
+
+    @Test
+    void pathsFollowMovementRulesAfterModifications() {
+        for (long seed = 1; seed <= 5; seed++) {
+            Random random = new Random(seed);
+            Plan plan = createPlan(random, 0.2);
+
+            try (HierarchicalPathFinder finder = new HierarchicalPathFinder(plan, CLUSTER_SIZE)) {
+                assertPaths(finder, random);                                // builds the abstract graph of all clusters
+
+                List<Tile> assigned = new ArrayList<>();
+                for (int round = 0; round < 5; round++) {
+                    for (int i = 0; i < 15; i++) {
+                        Tile tile = assign(plan, random);
+                        if (tile != null) {
+                            assigned.add(tile);
+                        }
+                    }
+                    for (int i = 0; i < 5 && !assigned.isEmpty(); i++) {
+                        assertThat(plan.remove(assigned.remove(random.nextInt(assigned.size())))).isTrue();
+                    }
+
+                    assertPaths(finder, random);                            // only the changed clusters are rebuilt
+                }
+            }
+        }
+    }
+
+    /**
+     * Requests random paths from the finder and checks them.
+     *
+     * @param finder the finder
+     * @param random the random generator
+     */
+    private static void assertPaths(HierarchicalPathFinder finder, Random random) {
+        Plan plan = finder.getPlan();
+        FieldMask movement = plan.getMovementMask();
+        PathServiceImpl service = new PathServiceImpl();
+
+        int[] shortest = new int[2 * COLUMNS * ROWS];
+        int[] path = new int[2 * COLUMNS * ROWS];
+        int found = 0;
+
+        for (int request = 0; request < REQUESTS; request++) {
+            int start = random.nextInt(COLUMNS * ROWS);
+            int destination = random.nextInt(COLUMNS * ROWS);
+            int distance = MovementRules.manhattan(start % COLUMNS, start / COLUMNS, destination % COLUMNS, destination / COLUMNS);
+            int budget = distance + random.nextInt(2 * distance + 2);
+
+            int expected = service.findPath(plan, start, destination, budget, shortest);
+            int steps = finder.findPath(start, destination, budget, path);
+            String description = "path from " + start + " to " + destination + " with budget " + budget;
+
+            if (steps < 0) {
+                continue;                                                   // the finder is not exact, a path close to the budget can be missed
+            }
+
+            found++;
+            assertThat(steps).as(description).isLessThanOrEqualTo(budget);
+            assertThat(expected).as(description).isGreaterThanOrEqualTo(0);
+            assertThat(steps).as(description).isGreaterThanOrEqualTo(expected);
+
+            int previous = start;
+            for (int i = 0; i < steps; i++) {
+                int position = path[i];
+                assertThat(MovementRules.manhattan(previous % COLUMNS, previous / COLUMNS, position % COLUMNS, position / COLUMNS)).as(description + ", step " + i).isEqualTo(1);
+                assertThat(MovementRules.isBlocked(movement, position % COLUMNS, position / COLUMNS)).as(description + ", step " + i).isFalse();
+                previous = position;
+            }
+            assertThat(previous).as(description).isEqualTo(destination);
+        }
+
+        assertThat(found).isGreaterThan(REQUESTS / 4);                      // most random requests have a path, i.e. the checks were not skipped
+    }
+
+    /**
+     * Creates a plan with floor tiles on all positions and random tiles that block the movement.
+     *
+     * @param random  the random generator
+     * @param density the share of the positions with a tile that blocks the movement
+     *
+     * @return the plan
+     */
+    private static Plan createPlan(Random random, double density) {
+        List<Map<String, Object>> floors = new ArrayList<>();
+        for (int row = 0; row < ROWS; row += 2) {
+            for (int column = 0; column < COLUMNS; column += 2) {
+                floors.add(Map.of("position", "(" + column + "|" + row + ")", "rotation", "0°"));
+            }
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", "PATH" + random.nextInt(1000));
+        data.put("size", COLUMNS + "x" + ROWS);
+        data.put("templates", List.of(Map.of("tileNumber", "BGT001", "tiles", floors)));
+
+        Plan plan = new PlanImpl(library, data);
+        for (int i = 0; i < density * COLUMNS * ROWS; i++) {
+            assign(plan, random);
+        }
+        return plan;
+    }
+
+    /**
+     * Assigns a random tile that blocks the movement to a random position of the plan.
+     *
+     * @param plan   the plan
+     * @param random the random generator
+     *
+     * @return the tile or {@code null} if the tile could not be assigned to the position
+     */
+    private static Tile assign(Plan plan, Random random) {
+        String tileNumber = random.nextInt(4) == 0 ? "BGT003" : "BGT004";   // weapon rack 2x1 or chest 1x1
+        TileRotation rotation = random.nextBoolean() ? TileRotation.DEGREE_0 : TileRotation.DEGREE_90;
+
+        try {
+            return plan.assign(library.getTileTemplate(tileNumber), new Position(random.nextInt(COLUMNS), random.nextInt(ROWS)), rotation);
+        } catch (IllegalArgumentException e) {
+            return null;                                                    // outside the plan or on another tile that blocks the movement
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+package mro.fantasy.game.plan.impl;
+
+import mro.fantasy.game.engine.GameLibrary;
+import mro.fantasy.game.plan.Plan;
+import mro.fantasy.game.plan.PlanLibrary;
+import mro.fantasy.game.plan.Tile;
+import mro.fantasy.game.plan.TileLibrary;
+import mro.fantasy.game.plan.TileTemplate;
+import mro.fantasy.game.resources.impl.ClasspathResourceBundleProvider;
+import mro.fantasy.game.resources.impl.DefaultResourceLibrary;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Writes the plans of the test resources with the {@link CompiledPlanWriter} and reads them with the {@link CompiledPlanReader}. The read plan has to have the same tiles and
+ * masks as the written one. Stored masks are only used if the templates were not changed after the plan was compiled, invalid data is rejected by the reader.
+ *
+ * @author Michael Rodenbuecher
+ * @since 2026-10-16
+ */
+class CompiledPlanTest {
+
+    /**
+     * The library with the tiles and plans of the test resources.
+     */
+    private static GameLibrary library;
+
+    @BeforeAll
+    static void loadLibrary() {
+        library = new GameLibrary();
+
+        TileLibrary tileLibrary = new TileLibrary();
+        PlanLibrary planLibrary = new PlanLibrary();
+        ReflectionTestUtils.setField(tileLibrary, DefaultResourceLibrary.class, "resourceProvider", List.of(ClasspathResourceBundleProvider.forDefaultResourceBundle("los/tiles")), List.class);
+        ReflectionTestUtils.setField(planLibrary, DefaultResourceLibrary.class, "resourceProvider", List.of(ClasspathResourceBundleProvider.forDefaultResourceBundle("los/plan")), List.class);
+        ReflectionTestUtils.setField(library, "tileLibrary", tileLibrary);
+        ReflectionTestUtils.setField(library, "planLibrary", planLibrary);
+        ReflectionTestUtils.setField(library, "libraries", List.of(tileLibrary, planLibrary));
+
+        tileLibrary.loadResources(data -> new TileTemplateImpl(library, data));
+        planLibrary.loadResources(data -> new PlanImpl(library, data));
+    }
+
+    @Test
+    void readPlanEqualsWrittenPlan() {
+        for (String id : List.of("BG001", "BG002", "LOS001")) {
+            PlanImpl plan = (PlanImpl) library.getPlanLibrary().getById(id);
+
+            for (boolean masks : new boolean[]{true, false}) {
+                PlanImpl read = (PlanImpl) CompiledPlanReader.read(library, ByteBuffer.wrap(CompiledPlanWriter.write(plan, masks)));
+
+                assertThat(read.getGameId()).isEqualTo(plan.getGameId());
+                assertThat(read.getName()).isEqualTo(plan.getName());
+                assertThat(read.getDescription()).isEqualTo(plan.getDescription());
+                assertThat(read.getSize()).isEqualTo(plan.getSize());
+                assertThat(placements(read)).as("tiles of %s, masks %s", id, masks).isEqualTo(placements(plan));
+                assertThat(read.getCompiledMasks()).as("masks of %s, masks %s", id, masks).isEqualTo(plan.getCompiledMasks());
+            }
+        }
+    }
+
+    @Test
+    void masksAreCalculatedAgainIfTemplatesChanged() {
+        PlanImpl plan = (PlanImpl) library.getPlanLibrary().getById("LOS001");
+        Function<String, TileTemplate> changed = id -> library.getTileTemplate(id.equals("BGT001") ? "BGT099" : id);  // every floor gets a flame pillar
+
+        PlanImpl stored = (PlanImpl) CompiledPlanReader.read(changed, ByteBuffer.wrap(CompiledPlanWriter.write(plan, true)));
+        PlanImpl calculated = (PlanImpl) CompiledPlanReader.read(changed, ByteBuffer.wrap(CompiledPlanWriter.write(plan, false)));
+
+        assertThat(stored.getCompiledMasks()).isEqualTo(calculated.getCompiledMasks());
+        assertThat(stored.getLineOfSightMask()).isNotEqualTo(plan.getLineOfSightMask());
+    }
+
+    @Test
+    void truncatedPlanIsRejected() {
+        byte[] data = CompiledPlanWriter.write((PlanImpl) library.getPlanLibrary().getById("LOS001"), true);
+
+        for (int length = 0; length < data.length; length++) {
+            ByteBuffer truncated = ByteBuffer.wrap(data, 0, length);
+            assertThatThrownBy(() -> CompiledPlanReader.read(library, truncated)).as("length %d", length).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void invalidTemplateIndexIsRejected() {
+        byte[] data = CompiledPlanWriter.write((PlanImpl) library.getPlanLibrary().getById("LOS001"), true);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        buffer.position(4 + 2 + 2 + 4 + 4 + 8);                             // magic, version, flags, size and fingerprint
+        for (int i = 0; i < 3; i++) {                                       // id, name and description
+            CompiledPlanFormat.getString(buffer);
+        }
+        int templates = buffer.getInt();
+        for (int i = 0; i < templates; i++) {
+            CompiledPlanFormat.getString(buffer);
+        }
+        buffer.getInt();                                                    // the number of tiles
+        buffer.putShort(buffer.position(), (short) templates);              // the index of the first tile is the first index after the table
+
+        assertThatThrownBy(() -> CompiledPlanReader.read(library, ByteBuffer.wrap(data)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid template index ::= [" + templates + "]");
+    }
+
+    @Test
+    void missingTemplateIsRejected() {
+        byte[] data = CompiledPlanWriter.write((PlanImpl) library.getPlanLibrary().getById("LOS001"), true);
+        Function<String, TileTemplate> missing = id -> id.equals("BGT099") ? null : library.getTileTemplate(id);
+
+        assertThatThrownBy(() -> CompiledPlanReader.read(missing, ByteBuffer.wrap(data)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("BGT099");
+    }
+
+    /**
+     * Returns the game id, position and rotation of all tiles of the plan. The ids of the tiles are not part of a compiled plan and the tiles are grouped by their template.
+     *
+     * @param plan the plan
+     *
+     * @return the sorted placements
+     */
+    private static List<String> placements(Plan plan) {
+        return plan.getTiles().stream().map(CompiledPlanTest::placement).sorted().toList();
+    }
+
+    /**
+     * Returns the game id, position and rotation of a tile.
+     *
+     * @param tile the tile
+     *
+     * @return the placement
+     */
+    private static String placement(Tile tile) {
+        return tile.getGameId() + " " + tile.getPosition() + " " + tile.getRotation();
+    }
+
+}